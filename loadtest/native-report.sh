@@ -0,0 +1,72 @@
+#!/usr/bin/env bash
+#
+# Compares the JVM and native builds of the application: time to first request, resident memory
+# after startup and after load (peak), and steady-state throughput / p99 latency under the load
+# generator's default traffic mix. Writes target/native-report/report.md.
+#
+# Build both first, with the PostgreSQL database from the README running:
+#   ./mvnw package -DskipTests                # target/quarkus-app/quarkus-run.jar
+#   ./mvnw package -Dnative -DskipTests       # target/*-runner
+#
+# Usage: loadtest/native-report.sh [load seconds]  (default 60; THREADS=16 by default)
+
+set -euo pipefail
+
+DURATION="${1:-60}"
+THREADS="${THREADS:-16}"
+PORT="${PORT:-8080}"
+BASE_URL="http://localhost:${PORT}"
+OUT=target/native-report
+
+cd "$(dirname "$0")/.."
+mkdir -p "${OUT}"
+mvn -q -f loadtest/pom.xml compile
+
+now_ms() {
+  echo $(($(date +%s%N) / 1000000))
+}
+
+rss_mb() {
+  awk -v field="$2" '$1 == field":" { printf "%.0f", $2 / 1024 }' "/proc/$1/status"
+}
+
+# Prints one markdown table row for the application started by "$@"
+measure() {
+  local mode="$1"
+  shift
+  local start pid startup idle_rss peak_rss result
+  start=$(now_ms)
+  QUARKUS_HTTP_PORT="${PORT}" "$@" > "${OUT}/${mode}.log" 2>&1 &
+  pid=$!
+  until curl -sf -o /dev/null "${BASE_URL}/warehouse"; do
+    kill -0 "${pid}" 2> /dev/null || { echo "${mode} exited, see ${OUT}/${mode}.log" >&2; exit 1; }
+    sleep 0.005
+  done
+  startup=$(($(now_ms) - start))
+  sleep 2
+  idle_rss=$(rss_mb "${pid}" VmRSS)
+
+  mvn -q -f loadtest/pom.xml exec:java -Dexec.args="baseUrl=${BASE_URL} threads=${THREADS} \
+    duration=${DURATION} warmup=10 output=${OUT}/${mode}" > "${OUT}/${mode}-load.txt"
+  peak_rss=$(rss_mb "${pid}" VmHWM)
+  # TOTAL row of the load generator: requests, req/s, errors, error%, p50, p99, p999, max
+  result=$(awk '$1 == "TOTAL" { printf "%s | %s | %s", $3, $4, $7 }' "${OUT}/${mode}-load.txt")
+
+  kill "${pid}"
+  wait "${pid}" 2> /dev/null || true
+  echo "| ${mode} | ${startup} | ${idle_rss} | ${peak_rss} | ${result} |"
+}
+
+{
+  echo "# JVM vs native ($(date -u +%Y-%m-%dT%H:%MZ), ${THREADS} threads, ${DURATION}s load)"
+  echo
+  echo "| build | first request ms | RSS idle MB | RSS peak MB | req/s | errors | p99 ms |"
+  echo "|---|---|---|---|---|---|---|"
+  if [[ -f target/quarkus-app/quarkus-run.jar ]]; then
+    measure jvm java -jar target/quarkus-app/quarkus-run.jar
+  fi
+  native_runner=$(find target -maxdepth 1 -name '*-runner' -type f -perm -u+x | head -n 1)
+  if [[ -n "${native_runner}" ]]; then
+    measure native "${native_runner}"
+  fi
+} | tee "${OUT}/report.md"
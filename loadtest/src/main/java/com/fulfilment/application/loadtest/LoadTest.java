@@ -0,0 +1,212 @@
+package com.fulfilment.application.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a weighted mix of warehouse, store and product requests against a running application
+ * and reports throughput, error rate and latency percentiles per operation.
+ *
+ * Options are given as {@code key=value} arguments or {@code -Dkey=value} system properties:
+ *
+ * <ul>
+ *   <li>{@code baseUrl} - application under test (default {@code http://localhost:8080})
+ *   <li>{@code threads} - concurrent clients (default 16)
+ *   <li>{@code duration} / {@code warmup} - measured and discarded seconds (default 60 / 10)
+ *   <li>{@code rate} - total target requests per second; 0 runs closed-loop (default 0). With a
+ *       target rate, latency is measured from the intended send time, so queueing delay caused by a
+ *       slow server is not hidden (coordinated omission).
+ *   <li>{@code mix} - operation weights (default {@value TrafficMix#DEFAULT})
+ *   <li>{@code warehouses} / {@code stores} - entities created up front for the write operations
+ *   <li>{@code output} - directory for the HdrHistogram {@code .hgrm} files
+ * </ul>
+ */
+public final class LoadTest {
+
+  private final URI baseUri;
+  private final int threads;
+  private final Duration duration;
+  private final Duration warmup;
+  private final double rate;
+  private final TrafficMix mix;
+  private final int warehouses;
+  private final int stores;
+  private final Path output;
+
+  private LoadTest(Map<String, String> options) {
+    this.baseUri = URI.create(option(options, "baseUrl", "http://localhost:8080"));
+    this.threads = Integer.parseInt(option(options, "threads", "16"));
+    this.duration = Duration.ofSeconds(Long.parseLong(option(options, "duration", "60")));
+    this.warmup = Duration.ofSeconds(Long.parseLong(option(options, "warmup", "10")));
+    this.rate = Double.parseDouble(option(options, "rate", "0"));
+    this.mix = TrafficMix.parse(option(options, "mix", TrafficMix.DEFAULT));
+    this.warehouses = Integer.parseInt(option(options, "warehouses", "100"));
+    this.stores = Integer.parseInt(option(options, "stores", "20"));
+    this.output = Path.of(option(options, "output", "target/loadtest-results"));
+  }
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      String[] keyValue = arg.replaceFirst("^--", "").split("=", 2);
+      if (keyValue.length == 2) {
+        options.put(keyValue[0], keyValue[1]);
+      }
+    }
+    new LoadTest(options).run();
+  }
+
+  private void run() throws Exception {
+    HttpClient client =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newFixedThreadPool(Math.max(2, threads / 4)))
+            .build();
+    Workload workload = new Workload(baseUri, client, Duration.ofSeconds(30));
+
+    System.out.printf(
+        "Preparing %d warehouses and %d stores on %s%n", warehouses, stores, baseUri);
+    workload.prepare(warehouses, stores);
+
+    System.out.printf(
+        "Running %s (+%s warmup) with %d threads, rate=%s, mix=%s%n",
+        duration, warmup, threads, rate > 0 ? rate + "/s" : "closed-loop", mix);
+
+    long startNanos = System.nanoTime();
+    long measureFromNanos = startNanos + warmup.toNanos();
+    long endNanos = measureFromNanos + duration.toNanos();
+    long intervalNanos = rate > 0 ? (long) (threads * 1_000_000_000L / rate) : 0;
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    List<Future<Map<Operation, OperationStats>>> futures = new ArrayList<>();
+    for (int i = 0; i < threads; i++) {
+      // Stagger the paced clients so they do not all fire on the same tick
+      long firstSendNanos = startNanos + (intervalNanos * i) / threads;
+      futures.add(
+          executor.submit(
+              () -> drive(workload, firstSendNanos, intervalNanos, measureFromNanos, endNanos)));
+    }
+
+    Map<Operation, OperationStats> total = new EnumMap<>(Operation.class);
+    for (Future<Map<Operation, OperationStats>> future : futures) {
+      future
+          .get()
+          .forEach((op, stats) -> total.computeIfAbsent(op, k -> new OperationStats()).add(stats));
+    }
+    executor.shutdown();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+
+    report(total, (endNanos - measureFromNanos) / 1e9);
+  }
+
+  private Map<Operation, OperationStats> drive(
+      Workload workload,
+      long firstSendNanos,
+      long intervalNanos,
+      long measureFromNanos,
+      long endNanos)
+      throws InterruptedException {
+    Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long nextSendNanos = firstSendNanos;
+
+    while (System.nanoTime() < endNanos) {
+      Operation operation = mix.pick(random);
+      Operation.Call call = operation.call(workload);
+
+      long intendedStartNanos;
+      if (intervalNanos > 0) {
+        intendedStartNanos = nextSendNanos;
+        nextSendNanos += intervalNanos;
+        long waitNanos = intendedStartNanos - System.nanoTime();
+        if (waitNanos > 0) {
+          LockSupport.parkNanos(waitNanos);
+        }
+      } else {
+        intendedStartNanos = System.nanoTime();
+      }
+
+      boolean success;
+      try {
+        int status = workload.send(call.request());
+        success = status >= 200 && status < 300;
+      } catch (IOException e) {
+        success = false;
+      }
+      long finishedNanos = System.nanoTime();
+
+      if (success) {
+        call.onSuccess().run();
+      }
+      if (intendedStartNanos >= measureFromNanos && finishedNanos <= endNanos) {
+        stats
+            .computeIfAbsent(operation, k -> new OperationStats())
+            .record(finishedNanos - intendedStartNanos, success);
+      }
+    }
+    return stats;
+  }
+
+  private void report(Map<Operation, OperationStats> total, double seconds) throws IOException {
+    Files.createDirectories(output);
+    OperationStats all = new OperationStats();
+
+    PrintStream out = System.out;
+    out.printf(
+        "%n%-18s %10s %10s %8s %10s %10s %10s %10s %10s%n",
+        "operation", "requests", "req/s", "errors", "error%", "p50 ms", "p99 ms", "p999 ms",
+        "max ms");
+    for (Map.Entry<Operation, OperationStats> entry : total.entrySet()) {
+      printRow(out, entry.getKey().key, entry.getValue(), seconds);
+      writeHistogram(entry.getKey().key, entry.getValue());
+      all.add(entry.getValue());
+    }
+    printRow(out, "TOTAL", all, seconds);
+    writeHistogram("all", all);
+    out.printf("%nHdrHistogram percentile distributions written to %s%n", output.toAbsolutePath());
+  }
+
+  private static void printRow(PrintStream out, String name, OperationStats stats, double seconds) {
+    long count = stats.count();
+    out.printf(
+        "%-18s %10d %10.1f %8d %9.2f%% %10.2f %10.2f %10.2f %10.2f%n",
+        name,
+        count,
+        count / seconds,
+        stats.errors,
+        count == 0 ? 0.0 : stats.errors * 100.0 / count,
+        stats.latencyMicros.getValueAtPercentile(50) / 1000.0,
+        stats.latencyMicros.getValueAtPercentile(99) / 1000.0,
+        stats.latencyMicros.getValueAtPercentile(99.9) / 1000.0,
+        stats.latencyMicros.getMaxValue() / 1000.0);
+  }
+
+  private void writeHistogram(String name, OperationStats stats) throws IOException {
+    Path file = output.resolve(name + ".hgrm");
+    try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+      // Values are recorded in microseconds; the distribution is written in milliseconds
+      stats.latencyMicros.outputPercentileDistribution(out, 1000.0);
+    }
+  }
+
+  private static String option(Map<String, String> options, String key, String defaultValue) {
+    return options.getOrDefault(key, System.getProperty(key, defaultValue));
+  }
+}
@@ -0,0 +1,96 @@
+package com.fulfilment.application.loadtest;
+
+import java.net.http.HttpRequest;
+
+/** The request types of the production traffic mix. */
+enum Operation {
+  WAREHOUSE_GET("warehouse.get") {
+    @Override
+    Call call(Workload workload) {
+      return Call.of(workload.get("/warehouse/" + workload.anyWarehouseCode()));
+    }
+  },
+
+  WAREHOUSE_LIST("warehouse.list") {
+    @Override
+    Call call(Workload workload) {
+      return Call.of(workload.get("/warehouse"));
+    }
+  },
+
+  WAREHOUSE_CREATE("warehouse.create") {
+    @Override
+    Call call(Workload workload) {
+      String code = workload.newWarehouseCode();
+      return new Call(
+          workload.post("/warehouse", Workload.warehouseJson(code, "AMSTERDAM-001", 20, 5)),
+          () -> workload.warehouseCreated(code));
+    }
+  },
+
+  WAREHOUSE_REPLACE("warehouse.replace") {
+    @Override
+    Call call(Workload workload) {
+      String code = workload.ownWarehouseCode();
+      String body = Workload.warehouseJson(code, "AMSTERDAM-001", 30, 10);
+      return Call.of(workload.post("/warehouse/" + code + "/replacement", body));
+    }
+  },
+
+  WAREHOUSE_ARCHIVE("warehouse.archive") {
+    @Override
+    Call call(Workload workload) {
+      return Call.of(workload.delete("/warehouse/" + workload.takeOwnWarehouseCode()));
+    }
+  },
+
+  STORE_UPDATE("store.update") {
+    @Override
+    Call call(Workload workload) {
+      Workload.StoreRef store = workload.anyStore();
+      return Call.of(
+          workload.put(
+              "/store/" + store.id(),
+              "{\"name\":\"" + store.name() + "\",\"quantityProductsInStock\":"
+                  + workload.random().nextInt(1000) + "}"));
+    }
+  },
+
+  PRODUCT_LIST("product.list") {
+    @Override
+    Call call(Workload workload) {
+      return Call.of(workload.get("/product"));
+    }
+  },
+
+  PRODUCT_GET("product.get") {
+    @Override
+    Call call(Workload workload) {
+      return Call.of(workload.get("/product/" + workload.anyProductId()));
+    }
+  };
+
+  final String key;
+
+  Operation(String key) {
+    this.key = key;
+  }
+
+  abstract Call call(Workload workload);
+
+  /** A prepared request plus what to do with the workload state once it succeeded. */
+  record Call(HttpRequest request, Runnable onSuccess) {
+    static Call of(HttpRequest request) {
+      return new Call(request, () -> {});
+    }
+  }
+
+  static Operation byKey(String key) {
+    for (Operation operation : values()) {
+      if (operation.key.equals(key)) {
+        return operation;
+      }
+    }
+    throw new IllegalArgumentException("Unknown operation '" + key + "'");
+  }
+}
@@ -0,0 +1,26 @@
+package com.fulfilment.application.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+/** Latency histogram (in microseconds) and error count of one operation, owned by one thread. */
+final class OperationStats {
+
+  final Histogram latencyMicros = new Histogram(3);
+  long errors;
+
+  void record(long latencyNanos, boolean success) {
+    latencyMicros.recordValue(Math.max(1, latencyNanos / 1_000));
+    if (!success) {
+      errors++;
+    }
+  }
+
+  void add(OperationStats other) {
+    latencyMicros.add(other.latencyMicros);
+    errors += other.errors;
+  }
+
+  long count() {
+    return latencyMicros.getTotalCount();
+  }
+}
@@ -0,0 +1,130 @@
+package com.fulfilment.application.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares the two ways of reconciling the stock of many stores: one {@code PUT /store/{id}} per
+ * store (from {@code threads} concurrent clients) and {@code PATCH /store/batch} with {@code
+ * batchSize} updates per request. Prints stores updated per second for each.
+ *
+ * Options as for {@link LoadTest}: {@code baseUrl}, {@code stores} (default 2000), {@code threads}
+ * (default 16), {@code batchSize} (default 1000) and {@code rounds} (default 3, the first is
+ * discarded as warmup).
+ *
+ * <pre>
+ * mvn -f loadtest/pom.xml compile exec:java \
+ *   -Dexec.mainClass=com.fulfilment.application.loadtest.StoreBatchBenchmark \
+ *   -Dexec.args="stores=5000 batchSize=1000"
+ * </pre>
+ */
+public final class StoreBatchBenchmark {
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      String[] keyValue = arg.replaceFirst("^--", "").split("=", 2);
+      if (keyValue.length == 2) {
+        options.put(keyValue[0], keyValue[1]);
+      }
+    }
+    URI baseUri = URI.create(option(options, "baseUrl", "http://localhost:8080"));
+    int storeCount = Integer.parseInt(option(options, "stores", "2000"));
+    int threads = Integer.parseInt(option(options, "threads", "16"));
+    int batchSize = Integer.parseInt(option(options, "batchSize", "1000"));
+    int rounds = Integer.parseInt(option(options, "rounds", "3"));
+
+    HttpClient client =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    Workload workload = new Workload(baseUri, client, Duration.ofMinutes(2));
+    System.out.printf("Preparing %d stores on %s%n", storeCount, baseUri);
+    workload.prepare(0, storeCount);
+    List<Workload.StoreRef> stores = workload.stores();
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      for (int round = 0; round < rounds; round++) {
+        String label = round == 0 ? " (warmup)" : "";
+        double perStore = putEach(workload, stores, executor, round);
+        double batched = patchBatches(workload, stores, batchSize, round);
+        System.out.printf(
+            "round %d%s: PUT per store %10.1f stores/s | PATCH batch of %d %10.1f stores/s%n",
+            round, label, perStore, batchSize, batched);
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private static double putEach(
+      Workload workload, List<Workload.StoreRef> stores, ExecutorService executor, int round)
+      throws Exception {
+    AtomicInteger failed = new AtomicInteger();
+    long start = System.nanoTime();
+    List<Future<?>> calls = new ArrayList<>(stores.size());
+    for (Workload.StoreRef store : stores) {
+      HttpRequest request =
+          workload.put(
+              "/store/" + store.id(),
+              "{\"name\":\"" + store.name() + "\",\"quantityProductsInStock\":" + round + "}");
+      calls.add(
+          executor.submit(
+              () -> {
+                if (workload.send(request) / 100 != 2) {
+                  failed.incrementAndGet();
+                }
+                return null;
+              }));
+    }
+    for (Future<?> call : calls) {
+      call.get();
+    }
+    return rate(stores.size(), start, failed.get());
+  }
+
+  private static double patchBatches(
+      Workload workload, List<Workload.StoreRef> stores, int batchSize, int round)
+      throws Exception {
+    int failed = 0;
+    long start = System.nanoTime();
+    for (int from = 0; from < stores.size(); from += batchSize) {
+      StringBuilder body = new StringBuilder("[");
+      for (int i = from; i < Math.min(from + batchSize, stores.size()); i++) {
+        body.append(i == from ? "" : ",")
+            .append("{\"id\":")
+            .append(stores.get(i).id())
+            .append(",\"quantityProductsInStock\":")
+            .append(round + 1000)
+            .append('}');
+      }
+      if (workload.send(workload.patch("/store/batch", body.append(']').toString())) / 100 != 2) {
+        failed += Math.min(batchSize, stores.size() - from);
+      }
+    }
+    return rate(stores.size(), start, failed);
+  }
+
+  private static double rate(int stores, long startNanos, int failed) {
+    if (failed > 0) {
+      System.out.printf("  %d of %d store updates failed%n", failed, stores);
+    }
+    return (stores - failed) / ((System.nanoTime() - startNanos) / 1e9);
+  }
+
+  private static String option(Map<String, String> options, String key, String defaultValue) {
+    return options.getOrDefault(key, System.getProperty(key, defaultValue));
+  }
+}
@@ -0,0 +1,80 @@
+package com.fulfilment.application.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/** Weighted choice between operations, parsed from {@code warehouse.get=30,product.list=20,...}. */
+final class TrafficMix {
+
+  static final String DEFAULT =
+      "warehouse.get=30,warehouse.list=10,warehouse.create=5,warehouse.replace=5,"
+          + "warehouse.archive=2,store.update=8,product.list=20,product.get=20";
+
+  private final Operation[] operations;
+  private final int[] cumulativeWeights;
+  private final int totalWeight;
+  private final Map<Operation, Integer> weights;
+
+  private TrafficMix(Map<Operation, Integer> weights) {
+    this.weights = weights;
+    this.operations = new Operation[weights.size()];
+    this.cumulativeWeights = new int[weights.size()];
+    int total = 0;
+    int i = 0;
+    for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+      total += entry.getValue();
+      operations[i] = entry.getKey();
+      cumulativeWeights[i] = total;
+      i++;
+    }
+    this.totalWeight = total;
+  }
+
+  static TrafficMix parse(String spec) {
+    Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+    for (String part : spec.split(",")) {
+      if (part.isBlank()) {
+        continue;
+      }
+      String[] keyValue = part.split("=", 2);
+      if (keyValue.length != 2) {
+        throw new IllegalArgumentException("Expected <operation>=<weight> but got '" + part + "'");
+      }
+      int weight = Integer.parseInt(keyValue[1].trim());
+      if (weight < 0) {
+        throw new IllegalArgumentException("Negative weight for " + keyValue[0]);
+      }
+      if (weight > 0) {
+        weights.put(Operation.byKey(keyValue[0].trim()), weight);
+      }
+    }
+    if (weights.isEmpty()) {
+      throw new IllegalArgumentException("Traffic mix '" + spec + "' has no operations");
+    }
+    return new TrafficMix(weights);
+  }
+
+  Operation pick(ThreadLocalRandom random) {
+    int value = random.nextInt(totalWeight);
+    for (int i = 0; i < cumulativeWeights.length; i++) {
+      if (value < cumulativeWeights[i]) {
+        return operations[i];
+      }
+    }
+    return operations[operations.length - 1];
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    weights.forEach(
+        (operation, weight) -> {
+          if (sb.length() > 0) {
+            sb.append(',');
+          }
+          sb.append(operation.key).append('=').append(weight);
+        });
+    return sb.toString();
+  }
+}
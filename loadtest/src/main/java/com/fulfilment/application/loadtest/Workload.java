@@ -0,0 +1,169 @@
+package com.fulfilment.application.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Shared state of a load test run: the target application, the warehouses and stores this run
+ * owns, and builders for the HTTP requests.
+ *
+ * Every run uses its own code prefix, so runs against the same database do not collide.
+ */
+final class Workload {
+
+  private static final List<String> SEED_WAREHOUSE_CODES =
+      List.of("MWH.001", "MWH.012", "MWH.023");
+  private static final Pattern ID_PATTERN = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+  record StoreRef(long id, String name) {}
+
+  private final URI baseUri;
+  private final HttpClient client;
+  private final Duration requestTimeout;
+  private final String runId = Long.toString(System.currentTimeMillis(), 36).toUpperCase();
+  private final AtomicLong sequence = new AtomicLong();
+
+  private final ConcurrentLinkedDeque<String> ownWarehouseCodes = new ConcurrentLinkedDeque<>();
+  private final List<StoreRef> stores = new CopyOnWriteArrayList<>();
+  private final List<Long> productIds = new CopyOnWriteArrayList<>();
+
+  Workload(URI baseUri, HttpClient client, Duration requestTimeout) {
+    this.baseUri = baseUri;
+    this.client = client;
+    this.requestTimeout = requestTimeout;
+  }
+
+  /** Creates the warehouses and stores the write operations work on. */
+  void prepare(int warehouses, int storeCount) throws IOException, InterruptedException {
+    for (int i = 0; i < warehouses; i++) {
+      String code = newWarehouseCode();
+      int status = send(post("/warehouse", warehouseJson(code, "AMSTERDAM-001", 20, 5)));
+      if (status / 100 == 2) {
+        ownWarehouseCodes.add(code);
+      }
+    }
+
+    for (int i = 0; i < storeCount; i++) {
+      String name = "LT-" + runId + "-S" + i;
+      var response =
+          client.send(
+              post("/store", "{\"name\":\"" + name + "\",\"quantityProductsInStock\":0}"),
+              BodyHandlers.ofString());
+      Matcher matcher = ID_PATTERN.matcher(response.body());
+      if (response.statusCode() / 100 == 2 && matcher.find()) {
+        stores.add(new StoreRef(Long.parseLong(matcher.group(1)), name));
+      }
+    }
+
+    var products = client.send(get("/product"), BodyHandlers.ofString());
+    Matcher matcher = ID_PATTERN.matcher(products.body());
+    while (matcher.find()) {
+      productIds.add(Long.parseLong(matcher.group(1)));
+    }
+
+    if (stores.isEmpty() || productIds.isEmpty()) {
+      throw new IllegalStateException(
+          "Could not prepare the workload: " + stores.size() + " stores, "
+              + productIds.size() + " products available at " + baseUri);
+    }
+  }
+
+  int send(HttpRequest request) throws IOException, InterruptedException {
+    return client.send(request, BodyHandlers.discarding()).statusCode();
+  }
+
+  ThreadLocalRandom random() {
+    return ThreadLocalRandom.current();
+  }
+
+  String newWarehouseCode() {
+    return "LT-" + runId + "-" + sequence.incrementAndGet();
+  }
+
+  void warehouseCreated(String code) {
+    ownWarehouseCodes.add(code);
+  }
+
+  String anyWarehouseCode() {
+    String own = random().nextBoolean() ? ownWarehouseCodes.peekLast() : null;
+    if (own != null) {
+      return own;
+    }
+    return SEED_WAREHOUSE_CODES.get(random().nextInt(SEED_WAREHOUSE_CODES.size()));
+  }
+
+  String ownWarehouseCode() {
+    String code = ownWarehouseCodes.peekFirst();
+    return code != null ? code : newWarehouseCode();
+  }
+
+  /** Removes a warehouse from the pool so it is archived only once. */
+  String takeOwnWarehouseCode() {
+    String code = ownWarehouseCodes.pollFirst();
+    return code != null ? code : newWarehouseCode();
+  }
+
+  StoreRef anyStore() {
+    return stores.get(random().nextInt(stores.size()));
+  }
+
+  long anyProductId() {
+    return productIds.get(random().nextInt(productIds.size()));
+  }
+
+  HttpRequest get(String path) {
+    return builder(path).GET().build();
+  }
+
+  HttpRequest delete(String path) {
+    return builder(path).DELETE().build();
+  }
+
+  HttpRequest post(String path, String json) {
+    return builder(path)
+        .header("Content-Type", "application/json")
+        .POST(BodyPublishers.ofString(json))
+        .build();
+  }
+
+  HttpRequest put(String path, String json) {
+    return builder(path)
+        .header("Content-Type", "application/json")
+        .PUT(BodyPublishers.ofString(json))
+        .build();
+  }
+
+  HttpRequest patch(String path, String json) {
+    return builder(path)
+        .header("Content-Type", "application/json")
+        .method("PATCH", BodyPublishers.ofString(json))
+        .build();
+  }
+
+  List<StoreRef> stores() {
+    return stores;
+  }
+
+  static String warehouseJson(String code, String location, int capacity, int stock) {
+    return "{\"businessUnitCode\":\"" + code + "\",\"location\":\"" + location
+        + "\",\"capacity\":" + capacity + ",\"stock\":" + stock + "}";
+  }
+
+  private HttpRequest.Builder builder(String path) {
+    return HttpRequest.newBuilder(baseUri.resolve(path))
+        .timeout(requestTimeout)
+        .header("Accept", "application/json");
+  }
+}
@@ -0,0 +1,69 @@
+#!/usr/bin/env bash
+#
+# Measures how long the packaged application takes from process start until it serves its first
+# request (GET /warehouse, which needs the database), for the JVM jar and the native executable.
+#
+# Build first (against the PostgreSQL database from the README):
+#   ./mvnw package -DskipTests                # target/quarkus-app/quarkus-run.jar
+#   ./mvnw package -Dnative -DskipTests       # target/*-runner
+#
+# Usage: loadtest/startup-benchmark.sh [runs]  (default 10 runs per mode)
+
+set -euo pipefail
+
+RUNS="${1:-10}"
+PORT="${PORT:-8080}"
+URL="http://localhost:${PORT}/warehouse"
+
+cd "$(dirname "$0")/.."
+
+now_ms() {
+  echo $(($(date +%s%N) / 1000000))
+}
+
+# Prints the milliseconds until the first successful response of one run of "$@"
+time_to_first_request() {
+  local start pid elapsed
+  start=$(now_ms)
+  QUARKUS_HTTP_PORT="${PORT}" "$@" > /dev/null 2>&1 &
+  pid=$!
+  until curl -sf -o /dev/null "${URL}"; do
+    if ! kill -0 "${pid}" 2> /dev/null; then
+      echo "Application exited before serving ${URL}" >&2
+      return 1
+    fi
+    sleep 0.005
+  done
+  elapsed=$(($(now_ms) - start))
+  kill "${pid}"
+  wait "${pid}" 2> /dev/null || true
+  echo "${elapsed}"
+}
+
+benchmark() {
+  local label="$1"
+  shift
+  local samples=()
+  for ((i = 0; i < RUNS; i++)); do
+    samples+=("$(time_to_first_request "$@")")
+  done
+  printf '%s\n' "${samples[@]}" | sort -n | awk -v label="${label}" '
+    { values[NR] = $1 }
+    END {
+      printf "%-8s runs=%d  min=%dms  median=%dms  max=%dms\n",
+        label, NR, values[1], values[int((NR + 1) / 2)], values[NR]
+    }'
+}
+
+if [[ -f target/quarkus-app/quarkus-run.jar ]]; then
+  benchmark jvm java -jar target/quarkus-app/quarkus-run.jar
+else
+  echo "jvm      skipped: target/quarkus-app/quarkus-run.jar not found"
+fi
+
+native_runner=$(find target -maxdepth 1 -name '*-runner' -type f -perm -u+x 2> /dev/null | head -n 1)
+if [[ -n "${native_runner}" ]]; then
+  benchmark native "${native_runner}"
+else
+  echo "native   skipped: no native executable in target/"
+fi
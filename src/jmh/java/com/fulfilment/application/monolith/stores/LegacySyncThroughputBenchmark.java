@@ -0,0 +1,88 @@
+package com.fulfilment.application.monolith.stores;
+
+import io.vertx.core.Vertx;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Store changes per second that the sync workers can push through each transport. JMH threads
+ * play the sync workers (16 by default; change with {@code -t}); the HTTP transport talks to a
+ * {@link LegacyStandInServer} with the given per-request latency.
+ *
+ * <p>Compare pool sizes and pipelining limits at the latency measured against the real legacy
+ * system, e.g. {@code ./mvnw -Pbenchmark test-compile exec:exec
+ * -Djmh.args="LegacySyncThroughput -p latencyMillis=20"}, then set {@code legacy-sync.workers}
+ * and {@code legacy-sync.http.*} accordingly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class LegacySyncThroughputBenchmark {
+
+  @Param({"0", "5"})
+  public int latencyMillis;
+
+  @Param({"1", "4", "16"})
+  public int poolSize;
+
+  @Param({"1", "8"})
+  public int pipeliningLimit;
+
+  private final AtomicLong ids = new AtomicLong();
+  private Vertx vertx;
+  private LegacyStandInServer server;
+  private HttpLegacyStoreTransport httpTransport;
+  private Path file;
+  private FileLegacyStoreTransport fileTransport;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    vertx = Vertx.vertx();
+    server = new LegacyStandInServer(Duration.ofMillis(latencyMillis), 0.0).start();
+    httpTransport =
+        new HttpLegacyStoreTransport(
+            vertx, server.uri(), poolSize, pipeliningLimit, Duration.ofSeconds(30));
+    file = Files.createTempFile("legacy-sync-benchmark", ".log");
+    fileTransport = new FileLegacyStoreTransport(file, false);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    httpTransport.close();
+    fileTransport.close();
+    Files.deleteIfExists(file);
+    server.close();
+    vertx.close().toCompletionStage().toCompletableFuture().get();
+  }
+
+  @Benchmark
+  public void http() {
+    httpTransport.send(LegacySyncTask.Operation.UPDATE, nextStore());
+  }
+
+  @Benchmark
+  public void fileAppend() {
+    fileTransport.send(LegacySyncTask.Operation.UPDATE, nextStore());
+  }
+
+  private StoreSnapshot nextStore() {
+    long id = ids.incrementAndGet();
+    return new StoreSnapshot(id, "BENCH-" + id, (int) id, 1, Instant.now());
+  }
+}
@@ -0,0 +1,91 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse;
+import com.warehouse.api.beans.Warehouse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Serializes the {@code GET /warehouse} response from loaded entities to a discarding stream,
+ * once the way the resource used to (entity to domain model to API bean, then Jackson) and once
+ * the current way (entity to API bean, then {@link WarehouseJsonWriter}).
+ *
+ * <p>Run with {@code ./mvnw -Pbenchmark test-compile exec:exec}; add {@code -Djmh.args="-prof gc"}
+ * to see the allocation rate per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WarehouseSerializationBenchmark {
+
+  @Param({"1", "100", "1000"})
+  public int warehouses;
+
+  private final WarehouseJsonWriter writer = new WarehouseJsonWriter();
+  private final ObjectWriter jackson = new ObjectMapper().writer();
+  private List<DbWarehouse> entities;
+  private OutputStream out;
+
+  @Setup
+  public void setUp(Blackhole blackhole) {
+    entities = new ArrayList<>();
+    for (int i = 0; i < warehouses; i++) {
+      DbWarehouse entity = new DbWarehouse();
+      entity.id = (long) i;
+      entity.businessUnitCode = "MWH." + i;
+      entity.location = "AMSTERDAM-001";
+      entity.capacity = 100 + i;
+      entity.stock = i;
+      entity.createdAt = LocalDateTime.now();
+      entities.add(entity);
+    }
+    out = new OutputStream() {
+      @Override
+      public void write(int b) {
+        blackhole.consume(b);
+      }
+
+      @Override
+      public void write(byte[] bytes, int offset, int length) {
+        blackhole.consume(bytes);
+      }
+    };
+  }
+
+  @Benchmark
+  public void domainCopyAndJackson() throws IOException {
+    List<Warehouse> response = new ArrayList<>(entities.size());
+    for (DbWarehouse entity : entities) {
+      var domain = entity.toWarehouse();
+      var bean = new Warehouse();
+      bean.setBusinessUnitCode(domain.businessUnitCode);
+      bean.setLocation(domain.location);
+      bean.setCapacity(domain.capacity);
+      bean.setStock(domain.stock);
+      response.add(bean);
+    }
+    jackson.writeValue(out, response);
+  }
+
+  @Benchmark
+  public void directWriter() throws IOException {
+    List<Warehouse> response =
+        entities.stream().map(WarehouseResourceImpl::toWarehouseResponse).toList();
+    writer.writeTo(response, List.class, null, null, null, null, out);
+  }
+}
@@ -0,0 +1,133 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseUnit;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Validates a new warehouse against its location in memory, the store and location lookup being
+ * stubs: once the way {@link CreateWarehouseUseCase} used to (mutable model with boxed capacity
+ * and stock) and once the current way (built {@link WarehouseUnit}, primitive checks).
+ *
+ * <p>Run with {@code ./mvnw -Pbenchmark test-compile exec:exec}; add {@code -Djmh.args="-prof gc"}
+ * to see the allocation rate per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CreateWarehouseBenchmark {
+
+  /** Large enough for capacity and stock outside the Integer cache, as real ones typically are. */
+  private static final Location LOCATION = new Location("BENCH-001", 5, 1000);
+
+  private final CreateWarehouseUseCase useCase =
+      new CreateWarehouseUseCase(new DiscardingStore(), identifier -> LOCATION);
+
+  private int capacity = 900;
+  private int stock = 800;
+
+  @Benchmark
+  public Warehouse boxedModel() {
+    var warehouse = new Warehouse();
+    warehouse.businessUnitCode = "MWH.BENCH";
+    warehouse.location = "BENCH-001";
+    warehouse.capacity = capacity;
+    warehouse.stock = stock;
+
+    // The former checks of CreateWarehouseUseCase, unboxing on every comparison
+    if (warehouse.capacity > LOCATION.maxCapacity()) {
+      throw new IllegalArgumentException("Warehouse capacity exceeds location max capacity");
+    }
+    if (warehouse.stock > warehouse.capacity) {
+      throw new IllegalArgumentException("Warehouse stock exceeds warehouse capacity");
+    }
+    warehouse.createdAt = LocalDateTime.now();
+    return warehouse;
+  }
+
+  @Benchmark
+  public WarehouseUnit primitiveUnit() {
+    return useCase.create(
+        WarehouseUnit.builder()
+            .businessUnitCode("MWH.BENCH")
+            .location("BENCH-001")
+            .capacity(capacity)
+            .stock(stock)
+            .build());
+  }
+
+  /** Knows no warehouses and keeps none. */
+  private static final class DiscardingStore implements WarehouseStore {
+
+    @Override
+    public List<Warehouse> getAll() {
+      return List.of();
+    }
+
+    @Override
+    public List<Warehouse> getAllActive() {
+      return List.of();
+    }
+
+    @Override
+    public void create(WarehouseUnit warehouse) {}
+
+    @Override
+    public void update(Warehouse warehouse) {}
+
+    @Override
+    public boolean replaceActive(WarehouseUnit successor, LocalDateTime archivedAt) {
+      return false;
+    }
+
+    @Override
+    public void remove(Warehouse warehouse) {}
+
+    @Override
+    public Warehouse findByBusinessUnitCode(String buCode) {
+      return null;
+    }
+
+    @Override
+    public Warehouse findActiveByBusinessUnitCode(String buCode) {
+      return null;
+    }
+
+    @Override
+    public List<Warehouse> findByBusinessUnitCodes(Collection<String> buCodes) {
+      return List.of();
+    }
+
+    @Override
+    public List<String> findActiveBusinessUnitCodesByLocation(String location) {
+      return List.of();
+    }
+
+    @Override
+    public Map<String, Boolean> findBusinessUnitCodeStates() {
+      return Map.of();
+    }
+
+    @Override
+    public int archiveAll(Collection<String> buCodes, LocalDateTime archivedAt) {
+      return 0;
+    }
+
+    @Override
+    public int purgeArchivedBefore(LocalDateTime cutoff, int limit) {
+      return 0;
+    }
+  }
+}
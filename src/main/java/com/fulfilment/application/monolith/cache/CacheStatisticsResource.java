@@ -0,0 +1,80 @@
+package com.fulfilment.application.monolith.cache;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import java.util.Map;
+import java.util.TreeMap;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Exposes Hibernate second-level, query and natural-id cache statistics so that cache sizing and
+ * TTLs configured in application.properties can be checked against real traffic. Statistics are
+ * only collected in dev and test ({@code enabled} is false otherwise); the endpoint is read-only.
+ */
+@Path("cache/statistics")
+@ApplicationScoped
+@Produces("application/json")
+public class CacheStatisticsResource {
+
+  @Inject SessionFactory sessionFactory;
+
+  @GET
+  public CacheStatistics get() {
+    Statistics statistics = sessionFactory.getStatistics();
+
+    Map<String, RegionStatistics> regions = new TreeMap<>();
+    for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+      CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+      if (region != null) {
+        regions.put(
+            regionName,
+            new RegionStatistics(
+                region.getHitCount(),
+                region.getMissCount(),
+                region.getPutCount(),
+                region.getElementCountInMemory()));
+      }
+    }
+
+    return new CacheStatistics(
+        statistics.isStatisticsEnabled(),
+        statistics.getPrepareStatementCount(),
+        statistics.getQueryExecutionCount(),
+        statistics.getQueryCacheHitCount(),
+        statistics.getQueryCacheMissCount(),
+        statistics.getQueryCachePutCount(),
+        statistics.getSecondLevelCacheHitCount(),
+        statistics.getSecondLevelCacheMissCount(),
+        statistics.getSecondLevelCachePutCount(),
+        statistics.getNaturalIdCacheHitCount(),
+        statistics.getNaturalIdCacheMissCount(),
+        statistics.getNaturalIdCachePutCount(),
+        regions);
+  }
+
+  @RegisterForReflection
+  public record CacheStatistics(
+      boolean enabled,
+      long prepareStatementCount,
+      long queryExecutionCount,
+      long queryCacheHitCount,
+      long queryCacheMissCount,
+      long queryCachePutCount,
+      long secondLevelCacheHitCount,
+      long secondLevelCacheMissCount,
+      long secondLevelCachePutCount,
+      long naturalIdCacheHitCount,
+      long naturalIdCacheMissCount,
+      long naturalIdCachePutCount,
+      Map<String, RegionStatistics> regions) {}
+
+  @RegisterForReflection
+  public record RegionStatistics(
+      long hitCount, long missCount, long putCount, long elementCountInMemory) {}
+}
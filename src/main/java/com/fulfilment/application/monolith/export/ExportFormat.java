@@ -0,0 +1,25 @@
+package com.fulfilment.application.monolith.export;
+
+import java.util.Locale;
+
+enum ExportFormat {
+  NDJSON("application/x-ndjson"),
+  CSV("text/csv");
+
+  final String mediaType;
+
+  ExportFormat(String mediaType) {
+    this.mediaType = mediaType;
+  }
+
+  static ExportFormat parse(String value) {
+    if (value == null || value.isBlank()) {
+      return NDJSON;
+    }
+    try {
+      return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unsupported export format '" + value + "'");
+    }
+  }
+}
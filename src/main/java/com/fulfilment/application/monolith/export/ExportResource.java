@@ -0,0 +1,210 @@
+package com.fulfilment.application.monolith.export;
+
+import com.fulfilment.application.monolith.export.RowWriter.Column;
+import com.fulfilment.application.monolith.export.RowWriter.ColumnType;
+import io.agroal.api.AgroalDataSource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Streaming exports of warehouses, stores and products for reporting jobs.
+ *
+ * Rows are read through a forward-only, read-only JDBC cursor with a fixed fetch size and written
+ * to the response as they arrive, so memory use does not depend on the table size. Use
+ * {@code ?format=csv} for CSV (default is NDJSON) and send {@code Accept-Encoding: gzip} to get a
+ * gzip-compressed body. Responses always carry {@code Vary: Accept-Encoding}, so caches keep the
+ * compressed and plain bodies apart.
+ */
+@Path("export")
+@ApplicationScoped
+public class ExportResource {
+
+  private static final Logger LOGGER = Logger.getLogger(ExportResource.class.getName());
+
+  private static final String WAREHOUSE_QUERY =
+      "SELECT businessUnitCode, location, capacity, stock, createdAt, archivedAt "
+          + "FROM warehouse ORDER BY id";
+  private static final List<Column> WAREHOUSE_COLUMNS =
+      List.of(
+          new Column("businessUnitCode", ColumnType.TEXT),
+          new Column("location", ColumnType.TEXT),
+          new Column("capacity", ColumnType.NUMBER),
+          new Column("stock", ColumnType.NUMBER),
+          new Column("createdAt", ColumnType.TIMESTAMP),
+          new Column("archivedAt", ColumnType.TIMESTAMP));
+
+  private static final String STORE_QUERY =
+      "SELECT id, name, quantityProductsInStock FROM store ORDER BY id";
+  private static final List<Column> STORE_COLUMNS =
+      List.of(
+          new Column("id", ColumnType.NUMBER),
+          new Column("name", ColumnType.TEXT),
+          new Column("quantityProductsInStock", ColumnType.NUMBER));
+
+  private static final String PRODUCT_QUERY =
+      "SELECT id, name, description, price, stock FROM product ORDER BY id";
+  private static final List<Column> PRODUCT_COLUMNS =
+      List.of(
+          new Column("id", ColumnType.NUMBER),
+          new Column("name", ColumnType.TEXT),
+          new Column("description", ColumnType.TEXT),
+          new Column("price", ColumnType.NUMBER),
+          new Column("stock", ColumnType.NUMBER));
+
+  @Inject AgroalDataSource dataSource;
+
+  @ConfigProperty(name = "export.fetch-size", defaultValue = "500")
+  int fetchSize;
+
+  @GET
+  @Path("warehouses")
+  public Response warehouses(
+      @QueryParam("format") String format, @HeaderParam("Accept-Encoding") String acceptEncoding) {
+    return export(WAREHOUSE_QUERY, WAREHOUSE_COLUMNS, format, acceptEncoding);
+  }
+
+  @GET
+  @Path("stores")
+  public Response stores(
+      @QueryParam("format") String format, @HeaderParam("Accept-Encoding") String acceptEncoding) {
+    return export(STORE_QUERY, STORE_COLUMNS, format, acceptEncoding);
+  }
+
+  @GET
+  @Path("products")
+  public Response products(
+      @QueryParam("format") String format, @HeaderParam("Accept-Encoding") String acceptEncoding) {
+    return export(PRODUCT_QUERY, PRODUCT_COLUMNS, format, acceptEncoding);
+  }
+
+  private Response export(
+      String query, List<Column> columns, String formatParam, String acceptEncoding) {
+    ExportFormat format;
+    try {
+      format = ExportFormat.parse(formatParam);
+    } catch (IllegalArgumentException e) {
+      throw new WebApplicationException(e.getMessage(), 400);
+    }
+    boolean gzip = acceptsGzip(acceptEncoding);
+
+    StreamingOutput body = output -> stream(query, columns, format, gzip, output);
+
+    Response.ResponseBuilder response =
+        Response.ok(body)
+            .type(format.mediaType + ";charset=UTF-8")
+            .header("Vary", "Accept-Encoding");
+    if (gzip) {
+      response.header("Content-Encoding", "gzip");
+    }
+    return response.build();
+  }
+
+  /**
+   * Whether an {@code Accept-Encoding} header allows gzip: {@code gzip} or its alias
+   * {@code x-gzip} with a non-zero q-value, or else {@code *} with a non-zero q-value. An explicit
+   * {@code gzip;q=0} refuses it even if {@code *} is accepted.
+   */
+  static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    Boolean gzip = null;
+    boolean any = false;
+    for (String element : acceptEncoding.split(",")) {
+      String[] parts = element.split(";");
+      String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+      boolean accepted = qValue(parts) > 0;
+      if (coding.equals("gzip") || coding.equals("x-gzip")) {
+        gzip = gzip == Boolean.TRUE || accepted;
+      } else if (coding.equals("*")) {
+        any = accepted;
+      }
+    }
+    return gzip != null ? gzip : any;
+  }
+
+  /** The {@code q} parameter of one Accept-Encoding element; 1 if absent, 0 if malformed. */
+  private static double qValue(String[] parts) {
+    for (int i = 1; i < parts.length; i++) {
+      String parameter = parts[i].trim();
+      if (parameter.length() >= 2 && parameter.substring(0, 2).equalsIgnoreCase("q=")) {
+        try {
+          return Double.parseDouble(parameter.substring(2).trim());
+        } catch (NumberFormatException e) {
+          return 0;
+        }
+      }
+    }
+    return 1;
+  }
+
+  private void stream(
+      String query, List<Column> columns, ExportFormat format, boolean gzip, OutputStream output)
+      throws IOException {
+    // syncFlush so that flushing the writer pushes the first rows out immediately
+    OutputStream target = gzip ? new GZIPOutputStream(output, 8192, true) : output;
+    Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8));
+
+    try (Connection connection = dataSource.getConnection()) {
+      // Cursor-based fetching (PostgreSQL) requires a transaction; nothing is written
+      boolean autoCommit = connection.getAutoCommit();
+      connection.setAutoCommit(false);
+      connection.setReadOnly(true);
+      try (PreparedStatement statement =
+          connection.prepareStatement(
+              query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+        statement.setFetchSize(fetchSize);
+
+        RowWriter rowWriter = RowWriter.create(format, writer, columns);
+        rowWriter.writeHeader();
+        writer.flush();
+
+        long rows = 0;
+        try (ResultSet rs = statement.executeQuery()) {
+          while (rs.next()) {
+            rowWriter.writeRow(rs);
+            if (++rows == 1) {
+              writer.flush();
+            }
+          }
+        }
+        LOGGER.debugf("Exported %d rows", rows);
+      } finally {
+        connection.rollback();
+        connection.setReadOnly(false);
+        connection.setAutoCommit(autoCommit);
+      }
+    } catch (SQLException e) {
+      LOGGER.error("Export failed", e);
+      throw new IOException("Export failed: " + e.getMessage(), e);
+    }
+
+    writer.flush();
+    if (gzip) {
+      ((GZIPOutputStream) target).finish();
+    }
+    target.flush();
+  }
+}
@@ -0,0 +1,146 @@
+package com.fulfilment.application.monolith.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/** Writes JDBC rows one at a time as NDJSON or CSV. */
+abstract class RowWriter {
+
+  enum ColumnType {
+    TEXT,
+    NUMBER,
+    TIMESTAMP
+  }
+
+  record Column(String name, ColumnType type) {}
+
+  protected final Writer out;
+  protected final List<Column> columns;
+
+  protected RowWriter(Writer out, List<Column> columns) {
+    this.out = out;
+    this.columns = columns;
+  }
+
+  static RowWriter create(ExportFormat format, Writer out, List<Column> columns) {
+    return format == ExportFormat.CSV ? new Csv(out, columns) : new Ndjson(out, columns);
+  }
+
+  /** Called once before the first row. */
+  void writeHeader() throws IOException {}
+
+  abstract void writeRow(ResultSet rs) throws SQLException, IOException;
+
+  protected String value(ResultSet rs, int index) throws SQLException {
+    Column column = columns.get(index);
+    if (column.type() == ColumnType.TIMESTAMP) {
+      LocalDateTime timestamp = rs.getObject(index + 1, LocalDateTime.class);
+      return timestamp != null ? timestamp.toString() : null;
+    }
+    return rs.getString(index + 1);
+  }
+
+  static final class Ndjson extends RowWriter {
+
+    Ndjson(Writer out, List<Column> columns) {
+      super(out, columns);
+    }
+
+    @Override
+    void writeRow(ResultSet rs) throws SQLException, IOException {
+      out.write('{');
+      for (int i = 0; i < columns.size(); i++) {
+        Column column = columns.get(i);
+        if (i > 0) {
+          out.write(',');
+        }
+        out.write('"');
+        out.write(column.name());
+        out.write("\":");
+
+        String value = value(rs, i);
+        if (value == null) {
+          out.write("null");
+        } else if (column.type() == ColumnType.NUMBER) {
+          out.write(value);
+        } else {
+          writeJsonString(value);
+        }
+      }
+      out.write("}\n");
+    }
+
+    private void writeJsonString(String value) throws IOException {
+      out.write('"');
+      for (int i = 0; i < value.length(); i++) {
+        char c = value.charAt(i);
+        switch (c) {
+          case '"' -> out.write("\\\"");
+          case '\\' -> out.write("\\\\");
+          case '\n' -> out.write("\\n");
+          case '\r' -> out.write("\\r");
+          case '\t' -> out.write("\\t");
+          default -> {
+            if (c < 0x20) {
+              out.write(String.format("\\u%04x", (int) c));
+            } else {
+              out.write(c);
+            }
+          }
+        }
+      }
+      out.write('"');
+    }
+  }
+
+  static final class Csv extends RowWriter {
+
+    Csv(Writer out, List<Column> columns) {
+      super(out, columns);
+    }
+
+    @Override
+    void writeHeader() throws IOException {
+      for (int i = 0; i < columns.size(); i++) {
+        if (i > 0) {
+          out.write(',');
+        }
+        out.write(columns.get(i).name());
+      }
+      out.write('\n');
+    }
+
+    @Override
+    void writeRow(ResultSet rs) throws SQLException, IOException {
+      for (int i = 0; i < columns.size(); i++) {
+        if (i > 0) {
+          out.write(',');
+        }
+        String value = value(rs, i);
+        if (value != null) {
+          writeCsvField(value);
+        }
+      }
+      out.write('\n');
+    }
+
+    private void writeCsvField(String value) throws IOException {
+      boolean quote =
+          value.indexOf(',') >= 0
+              || value.indexOf('"') >= 0
+              || value.indexOf('\n') >= 0
+              || value.indexOf('\r') >= 0;
+      if (!quote) {
+        out.write(value);
+        return;
+      }
+      out.write('"');
+      out.write(value.replace("\"", "\"\""));
+      out.write('"');
+    }
+  }
+}
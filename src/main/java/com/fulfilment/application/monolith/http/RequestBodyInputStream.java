@@ -0,0 +1,128 @@
+package com.fulfilment.application.monolith.http;
+
+import io.vertx.core.Context;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+
+/**
+ * A Vert.x request body as a blocking {@link InputStream}, for routes that hand the body to a
+ * worker thread instead of buffering it.
+ *
+ * At most {@link #HIGH_WATER_MARK} chunks are held: the request is paused when the reader falls
+ * that far behind and resumed once it has caught up to {@link #LOW_WATER_MARK}, so memory does not
+ * grow with the body. Create it on the request's event loop, before the body starts to arrive.
+ */
+public final class RequestBodyInputStream extends InputStream {
+
+  static final int HIGH_WATER_MARK = 16;
+  static final int LOW_WATER_MARK = 4;
+
+  private final HttpServerRequest request;
+  private final Context context;
+  private final ArrayDeque<Buffer> chunks = new ArrayDeque<>();
+  private boolean paused;
+  private boolean ended;
+  private boolean closed;
+  private Throwable failure;
+
+  private Buffer current;
+  private int position;
+
+  public RequestBodyInputStream(HttpServerRequest request, Context context) {
+    this.request = request;
+    this.context = context;
+    request.handler(this::onChunk);
+    request.endHandler(ignored -> onEnd());
+    request.exceptionHandler(this::onFailure);
+    request.resume();
+  }
+
+  private synchronized void onChunk(Buffer chunk) {
+    if (closed) {
+      return;
+    }
+    chunks.add(chunk);
+    if (chunks.size() >= HIGH_WATER_MARK && !paused) {
+      paused = true;
+      request.pause();
+    }
+    notifyAll();
+  }
+
+  private synchronized void onEnd() {
+    ended = true;
+    notifyAll();
+  }
+
+  private synchronized void onFailure(Throwable throwable) {
+    failure = throwable;
+    notifyAll();
+  }
+
+  @Override
+  public int read() throws IOException {
+    byte[] single = new byte[1];
+    int read = read(single, 0, 1);
+    return read == -1 ? -1 : single[0] & 0xff;
+  }
+
+  @Override
+  public synchronized int read(byte[] target, int offset, int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    }
+    while (current == null || position == current.length()) {
+      if (closed) {
+        throw new IOException("Stream closed");
+      }
+      current = chunks.poll();
+      position = 0;
+      if (current != null) {
+        if (paused && chunks.size() <= LOW_WATER_MARK) {
+          paused = false;
+          context.runOnContext(ignored -> request.resume());
+        }
+        continue;
+      }
+      if (failure != null) {
+        throw new IOException("Reading the request body failed", failure);
+      }
+      if (ended) {
+        return -1;
+      }
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while reading the request body", e);
+      }
+    }
+    int count = Math.min(length, current.length() - position);
+    current.getBytes(position, position + count, target, offset);
+    position += count;
+    return count;
+  }
+
+  @Override
+  public synchronized int available() {
+    return current == null ? 0 : current.length() - position;
+  }
+
+  /** Stops buffering; whatever is left of the body is read and discarded by Vert.x. */
+  @Override
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    chunks.clear();
+    current = null;
+    if (paused) {
+      paused = false;
+      context.runOnContext(ignored -> request.resume());
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package com.fulfilment.application.monolith.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.vertx.ext.web.RoutingContext;
+
+/** JSON responses for the plain Vert.x routes that sit next to the JAX-RS resources. */
+public final class RouteResponses {
+
+  private RouteResponses() {}
+
+  /** Ends the response with a JSON body, unless it has already been ended. */
+  public static void json(RoutingContext context, int status, String json) {
+    if (context.response().ended()) {
+      return;
+    }
+    context
+        .response()
+        .setStatusCode(status)
+        .putHeader("Content-Type", "application/json")
+        .end(json);
+  }
+
+  /** An error body with the {@code code} and {@code error} fields of the JAX-RS error mappers. */
+  public static void error(
+      RoutingContext context, ObjectMapper objectMapper, int code, String message) {
+    ObjectNode error = objectMapper.createObjectNode();
+    error.put("code", code);
+    if (message != null) {
+      error.put("error", message);
+    }
+    json(context, code, error.toString());
+  }
+}
@@ -3,32 +3,13 @@ package com.fulfilment.application.monolith.location;
 import com.fulfilment.application.monolith.warehouses.domain.models.Location;
 import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
 import jakarta.enterprise.context.ApplicationScoped;
-import java.util.ArrayList;
-import java.util.List;
 
 @ApplicationScoped
 public class LocationGateway implements LocationResolver {
 
-  private static final List<Location> locations = new ArrayList<>();
-
-  static {
-    locations.add(new Location("ZWOLLE-001", 1, 40));
-    locations.add(new Location("ZWOLLE-002", 2, 50));
-    locations.add(new Location("AMSTERDAM-001", 5, 100));
-    locations.add(new Location("AMSTERDAM-002", 3, 75));
-    locations.add(new Location("TILBURG-001", 1, 40));
-    locations.add(new Location("HELMOND-001", 1, 45));
-    locations.add(new Location("EINDHOVEN-001", 2, 70));
-    locations.add(new Location("VETSBY-001", 1, 90));
-  }
-
   @Override
   public Location resolveByIdentifier(String identifier) {
-    // Simple repository pattern: search through the predefined locations
     // Returns the location if found, or null if not found
-    return locations.stream()
-        .filter(location -> location.identifier().equals(identifier))
-        .findFirst()
-        .orElse(null);
+    return identifier != null ? LocationCatalog.BY_IDENTIFIER.get(identifier) : null;
   }
 }
@@ -0,0 +1,117 @@
+package com.fulfilment.application.monolith.products;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 records from a character stream, one character at a time. Quoted fields may
+ * contain commas, doubled quotes and line breaks, so a record can span several lines, as the CSV
+ * export writes them. Records end at {@code \n}, {@code \r\n} or {@code \r}.
+ */
+final class CsvRecordReader implements Closeable {
+
+  private final Reader in;
+  private final char[] buffer = new char[64 * 1024];
+  private int position;
+  private int limit;
+
+  private long nextLine = 1;
+  private long line;
+
+  CsvRecordReader(Reader in) {
+    this.in = in;
+  }
+
+  /**
+   * The fields of the next record, an empty list for a blank line, or {@code null} at the end of
+   * the input. An unterminated quoted field runs to the end of the input and is rejected with an
+   * {@link IllegalArgumentException}.
+   */
+  List<String> read() throws IOException {
+    int c = next();
+    if (c == -1) {
+      return null;
+    }
+    line = nextLine;
+
+    List<String> fields = new ArrayList<>();
+    StringBuilder current = new StringBuilder();
+    boolean quoted = false;
+    boolean blank = true;
+    while (true) {
+      if (quoted) {
+        if (c == -1) {
+          throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        if (c == '"') {
+          if (peek() == '"') {
+            position++;
+            current.append('"');
+          } else {
+            quoted = false;
+          }
+        } else {
+          if (c == '\n' || (c == '\r' && peek() != '\n')) {
+            nextLine++;
+          }
+          current.append((char) c);
+        }
+      } else if (c == -1 || c == '\n' || c == '\r') {
+        if (c == '\r' && peek() == '\n') {
+          position++;
+        }
+        if (c != -1) {
+          nextLine++;
+        }
+        if (blank && current.toString().isBlank()) {
+          return List.of();
+        }
+        fields.add(current.toString());
+        return fields;
+      } else if (c == '"') {
+        quoted = true;
+        blank = false;
+      } else if (c == ',') {
+        fields.add(current.toString());
+        current.setLength(0);
+        blank = false;
+      } else {
+        current.append((char) c);
+      }
+      c = next();
+    }
+  }
+
+  /** The line the last record read starts on, counting from 1. */
+  long line() {
+    return line;
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+
+  private int next() throws IOException {
+    int c = peek();
+    if (c != -1) {
+      position++;
+    }
+    return c;
+  }
+
+  private int peek() throws IOException {
+    if (position == limit) {
+      int read = in.read(buffer);
+      if (read <= 0) {
+        return -1;
+      }
+      position = 0;
+      limit = read;
+    }
+    return buffer[position];
+  }
+}
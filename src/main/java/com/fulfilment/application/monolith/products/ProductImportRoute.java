@@ -0,0 +1,117 @@
+package com.fulfilment.application.monolith.products;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fulfilment.application.monolith.http.RequestBodyInputStream;
+import com.fulfilment.application.monolith.http.RouteResponses;
+import com.fulfilment.application.monolith.readreplica.ReadRouter;
+import io.quarkus.vertx.http.runtime.RouteConstants;
+import io.vertx.core.Vertx;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.function.Function;
+import org.jboss.logging.Logger;
+
+/**
+ * {@code POST /product/import}: streams a CSV ({@code text/csv}) or NDJSON
+ * ({@code application/x-ndjson}) catalog into {@link ProductImporter} and answers with its
+ * {@link ProductImporter.ImportReport}.
+ *
+ * This is a plain Vert.x route, ordered before the handler that enforces
+ * {@code quarkus.http.limits.max-body-size}: that limit protects the JSON endpoints, which buffer
+ * their bodies, while the import reads its body as it arrives with bounded memory, so a catalog of
+ * any size fits in one request. The import runs on a worker thread.
+ */
+@ApplicationScoped
+public class ProductImportRoute {
+
+  private static final Logger LOGGER = Logger.getLogger(ProductImportRoute.class.getName());
+
+  static final String PATH = "/product/import";
+
+  @Inject ProductImporter productImporter;
+
+  @Inject ObjectMapper objectMapper;
+
+  @Inject ReadRouter readRouter;
+
+  void register(@Observes Router router) {
+    router
+        .post(PATH)
+        .order(RouteConstants.ROUTE_ORDER_UPLOAD_LIMIT - 1)
+        .handler(this::handle);
+  }
+
+  private void handle(RoutingContext context) {
+    String contentType = context.request().getHeader("Content-Type");
+    String mediaType =
+        contentType == null ? "" : contentType.split(";")[0].trim().toLowerCase(Locale.ROOT);
+    Function<InputStream, ProductImporter.ImportReport> importer =
+        switch (mediaType) {
+          case "text/csv" -> productImporter::importCsv;
+          case "application/x-ndjson" -> productImporter::importNdjson;
+          default -> null;
+        };
+    if (importer == null) {
+      String message = "Import expects text/csv or application/x-ndjson, not '" + mediaType + "'";
+      error(context, 415, message);
+      return;
+    }
+
+    InputStream body = new RequestBodyInputStream(context.request(), Vertx.currentContext());
+    context
+        .vertx()
+        .executeBlocking(
+            () -> {
+              try (body) {
+                return importer.apply(body);
+              }
+            },
+            false)
+        .onComplete(
+            result -> {
+              if (result.succeeded()) {
+                respond(context, result.result());
+              } else if (result.cause() instanceof IllegalArgumentException) {
+                error(context, 422, result.cause().getMessage());
+              } else {
+                LOGGER.error("Product import failed", result.cause());
+                error(context, 500, result.cause().getMessage());
+              }
+            });
+  }
+
+  private void respond(RoutingContext context, ProductImporter.ImportReport report) {
+    String json;
+    try {
+      json = objectMapper.writeValueAsString(report);
+    } catch (JsonProcessingException e) {
+      error(context, 500, e.getMessage());
+      return;
+    }
+    if (report.inserted + report.updated > 0 && readRouter.isEnabled()) {
+      // As ConsistencyTokenFilter does for the JAX-RS writes; this route is outside JAX-RS
+      context
+          .vertx()
+          .executeBlocking(readRouter::issueToken, false)
+          .onComplete(
+              token -> {
+                if (token.succeeded() && token.result() != null) {
+                  context.response().putHeader(ReadRouter.TOKEN_HEADER, token.result());
+                }
+                RouteResponses.json(context, 200, json);
+              });
+      return;
+    }
+    RouteResponses.json(context, 200, json);
+  }
+
+  private void error(RoutingContext context, int code, String message) {
+    RouteResponses.error(context, objectMapper, code, message);
+  }
+}
@@ -0,0 +1,293 @@
+package com.fulfilment.application.monolith.products;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Streams a CSV or NDJSON product catalog into the database.
+ *
+ * The body is read as it arrives ({@link ProductImportRoute}) and never buffered as a whole, so
+ * its size is not capped by {@code quarkus.http.limits.max-body-size}. CSV is read record by
+ * record ({@link CsvRecordReader}), so quoted fields may span lines as the CSV export writes them;
+ * errors are reported at the line a record starts on. Rows are upserted by
+ * {@link Product#name} in chunks of {@code product.import.batch-size}; every chunk is committed in
+ * its own transaction so a bad chunk only rolls back its own rows. The JDBC batch size used for the
+ * flush is {@code quarkus.hibernate-orm.jdbc.statement-batch-size}.
+ */
+@ApplicationScoped
+public class ProductImporter {
+
+  private static final Logger LOGGER = Logger.getLogger(ProductImporter.class.getName());
+
+  static final int MAX_NAME_LENGTH = 40;
+  static final int MAX_REPORTED_ERRORS = 1000;
+
+  @Inject ProductRepository productRepository;
+
+  @Inject ObjectMapper objectMapper;
+
+  @ConfigProperty(name = "product.import.batch-size", defaultValue = "500")
+  int batchSize;
+
+  public ImportReport importCsv(InputStream body) {
+    try (CsvRecordReader records =
+        new CsvRecordReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+      List<String> header = records.read();
+      if (header == null) {
+        throw new IllegalArgumentException("CSV body is empty, expected a header line");
+      }
+      Map<String, Integer> columns = csvColumns(header);
+
+      ImportRun run = new ImportRun();
+      while (true) {
+        List<String> fields;
+        try {
+          fields = records.read();
+        } catch (IllegalArgumentException e) {
+          run.report.error(records.line(), e.getMessage());
+          break;
+        }
+        if (fields == null) {
+          break;
+        }
+        if (fields.isEmpty()) {
+          continue;
+        }
+        try {
+          run.accept(
+              toRow(
+                  records.line(),
+                  field(fields, columns, "name"),
+                  field(fields, columns, "description"),
+                  field(fields, columns, "price"),
+                  field(fields, columns, "stock")));
+        } catch (IllegalArgumentException e) {
+          run.report.error(records.line(), e.getMessage());
+        }
+      }
+      return run.finish();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public ImportReport importNdjson(InputStream body) {
+    try (BufferedReader reader = reader(body)) {
+      ImportRun run = new ImportRun();
+      long lineNumber = 0;
+      String line;
+      while ((line = reader.readLine()) != null) {
+        lineNumber++;
+        if (line.isBlank()) {
+          continue;
+        }
+        try {
+          JsonNode node = objectMapper.readTree(line);
+          if (!node.isObject()) {
+            throw new IllegalArgumentException("Expected a JSON object");
+          }
+          run.accept(
+              toRow(
+                  lineNumber,
+                  text(node, "name"),
+                  text(node, "description"),
+                  text(node, "price"),
+                  text(node, "stock")));
+        } catch (JsonProcessingException e) {
+          run.report.error(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+        } catch (IllegalArgumentException e) {
+          run.report.error(lineNumber, e.getMessage());
+        }
+      }
+      return run.finish();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Inserts or updates one chunk in its own transaction and returns {inserted, updated}. */
+  private int[] upsertChunk(Map<String, ProductRow> chunk) {
+    return QuarkusTransaction.requiringNew()
+        .call(
+            () -> {
+              Map<String, Product> existing = new HashMap<>();
+              for (Product product :
+                  productRepository.list("name in ?1", new ArrayList<>(chunk.keySet()))) {
+                existing.put(product.name, product);
+              }
+
+              int inserted = 0;
+              int updated = 0;
+              for (ProductRow row : chunk.values()) {
+                Product product = existing.get(row.name());
+                if (product == null) {
+                  product = new Product(row.name());
+                  productRepository.persist(product);
+                  inserted++;
+                } else {
+                  updated++;
+                }
+                product.description = row.description();
+                product.price = row.price();
+                product.stock = row.stock();
+              }
+
+              productRepository.flush();
+              productRepository.getEntityManager().clear();
+              return new int[] {inserted, updated};
+            });
+  }
+
+  private static BufferedReader reader(InputStream body) {
+    return new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024);
+  }
+
+  static ProductRow toRow(
+      long line, String name, String description, String price, String stock) {
+    if (name == null || name.isBlank()) {
+      throw new IllegalArgumentException("Product name is required");
+    }
+    name = name.trim();
+    if (name.length() > MAX_NAME_LENGTH) {
+      throw new IllegalArgumentException(
+          "Product name exceeds " + MAX_NAME_LENGTH + " characters");
+    }
+
+    BigDecimal parsedPrice = null;
+    if (price != null && !price.isBlank()) {
+      try {
+        parsedPrice = new BigDecimal(price.trim());
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid price '" + price + "'");
+      }
+    }
+
+    int parsedStock = 0;
+    if (stock != null && !stock.isBlank()) {
+      try {
+        parsedStock = Integer.parseInt(stock.trim());
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid stock '" + stock + "'");
+      }
+    }
+
+    String parsedDescription = description == null || description.isEmpty() ? null : description;
+    return new ProductRow(line, name, parsedDescription, parsedPrice, parsedStock);
+  }
+
+  private static Map<String, Integer> csvColumns(List<String> header) {
+    Map<String, Integer> columns = new HashMap<>();
+    for (int i = 0; i < header.size(); i++) {
+      columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+    }
+    if (!columns.containsKey("name")) {
+      throw new IllegalArgumentException("CSV header must contain a 'name' column");
+    }
+    return columns;
+  }
+
+  private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+    Integer index = columns.get(column);
+    return index != null && index < fields.size() ? fields.get(index) : null;
+  }
+
+  private static String text(JsonNode node, String field) {
+    JsonNode value = node.get(field);
+    return value == null || value.isNull() ? null : value.asText();
+  }
+
+  /** State of one import: the pending chunk and the running report. */
+  private final class ImportRun {
+
+    private final long startedAt = System.nanoTime();
+    private final ImportReport report = new ImportReport();
+    private Map<String, ProductRow> chunk = new LinkedHashMap<>();
+
+    void accept(ProductRow row) {
+      report.received++;
+      // Within a chunk the last row for a name wins
+      ProductRow superseded = chunk.put(row.name(), row);
+      if (superseded != null) {
+        report.superseded++;
+      }
+      if (chunk.size() >= batchSize) {
+        flushChunk();
+      }
+    }
+
+    ImportReport finish() {
+      flushChunk();
+      report.elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+      report.rowsPerSecond = report.received * 1000 / Math.max(1, report.elapsedMillis);
+      LOGGER.infof(
+          "Product import finished: %d rows (%d inserted, %d updated, %d failed) in %d ms",
+          report.received, report.inserted, report.updated, report.failed, report.elapsedMillis);
+      return report;
+    }
+
+    private void flushChunk() {
+      if (chunk.isEmpty()) {
+        return;
+      }
+      try {
+        int[] result = upsertChunk(chunk);
+        report.inserted += result[0];
+        report.updated += result[1];
+      } catch (RuntimeException e) {
+        LOGGER.warn("Product import chunk rolled back", e);
+        for (ProductRow row : chunk.values()) {
+          report.error(row.line(), "Chunk rolled back: " + e.getMessage());
+        }
+      }
+      chunk = new LinkedHashMap<>();
+    }
+  }
+
+  record ProductRow(
+      long line, String name, String description, BigDecimal price, int stock) {}
+
+  @RegisterForReflection
+  public static class ImportReport {
+    public long received;
+    public long inserted;
+    public long updated;
+    public long superseded;
+    public long failed;
+    public long elapsedMillis;
+    public long rowsPerSecond;
+    public boolean errorsTruncated;
+    public List<RowError> errors = new ArrayList<>();
+
+    void error(long line, String message) {
+      failed++;
+      if (errors.size() < MAX_REPORTED_ERRORS) {
+        errors.add(new RowError(line, message));
+      } else {
+        errorsTruncated = true;
+      }
+    }
+  }
+
+  @RegisterForReflection
+  public record RowError(long line, String error) {}
+}
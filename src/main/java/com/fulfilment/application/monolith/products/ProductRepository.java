@@ -1,7 +1,28 @@
 package com.fulfilment.application.monolith.products;
 
+import com.fulfilment.application.monolith.readreplica.ReadRouter;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.List;
 
 @ApplicationScoped
-public class ProductRepository implements PanacheRepository<Product> {}
+public class ProductRepository implements PanacheRepository<Product> {
+
+  @Inject ReadRouter readRouter;
+
+  /** All products sorted by name, read from the replica when enabled. */
+  public List<Product> listAllForRead() {
+    return readRouter.read(
+        session ->
+            session
+                .createSelectionQuery("from Product order by name", Product.class)
+                .setCacheable(true)
+                .list());
+  }
+
+  /** Product by id, read from the replica when enabled. */
+  public Product findByIdForRead(Long id) {
+    return readRouter.read(session -> session.get(Product.class, id));
+  }
+}
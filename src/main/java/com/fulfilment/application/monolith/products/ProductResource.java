@@ -2,7 +2,6 @@ package com.fulfilment.application.monolith.products;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
@@ -32,13 +31,13 @@ public class ProductResource {
 
   @GET
   public List<Product> get() {
-    return productRepository.listAll(Sort.by("name"));
+    return productRepository.listAllForRead();
   }
 
   @GET
   @Path("{id}")
   public Product getSingle(Long id) {
-    Product entity = productRepository.findById(id);
+    Product entity = productRepository.findByIdForRead(id);
     if (entity == null) {
       throw new WebApplicationException("Product with id of " + id + " does not exist.", 404);
     }
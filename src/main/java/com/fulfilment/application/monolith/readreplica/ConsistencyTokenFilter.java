@@ -0,0 +1,47 @@
+package com.fulfilment.application.monolith.readreplica;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Hands out a consistency token with every response to a request that committed a write (see
+ * {@link WriteTracker}) and picks it up again from reads. Requests that only validate, preview or
+ * buffer get none, which spares the primary the round trip for the token.
+ *
+ * Clients that need to read their own writes echo the {@value ReadRouter#TOKEN_HEADER} header of
+ * the write response on their next reads; reads without it go to the replica unconditionally.
+ */
+@Provider
+public class ConsistencyTokenFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+  @Inject ReadRouter readRouter;
+
+  @Inject ReadConsistency readConsistency;
+
+  @Override
+  public void filter(ContainerRequestContext request) {
+    readConsistency.token(request.getHeaderString(ReadRouter.TOKEN_HEADER));
+  }
+
+  @Override
+  public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+    if (!readRouter.isEnabled()
+        || HttpMethod.GET.equals(request.getMethod())
+        || HttpMethod.HEAD.equals(request.getMethod())
+        || response.getStatusInfo().getFamily() != Response.Status.Family.SUCCESSFUL
+        || !readConsistency.wrote()) {
+      return;
+    }
+    // Response filters run after the resource method returned, i.e. after the commit
+    String token = readRouter.issueToken();
+    if (token != null) {
+      response.getHeaders().putSingle(ReadRouter.TOKEN_HEADER, token);
+    }
+  }
+}
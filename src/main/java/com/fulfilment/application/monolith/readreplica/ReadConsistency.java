@@ -0,0 +1,70 @@
+package com.fulfilment.application.monolith.readreplica;
+
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * The consistency token the client sent with the current request, if any, and whether the request
+ * committed a write, i.e. whether its response needs a new token.
+ */
+@RequestScoped
+public class ReadConsistency {
+
+  private static final Object WRITING_KEY = new Object();
+
+  private String token;
+
+  private boolean wrote;
+
+  public String token() {
+    return token;
+  }
+
+  void token(String token) {
+    this.token = token;
+  }
+
+  /** Whether a write of this request has been committed. */
+  public boolean wrote() {
+    return wrote;
+  }
+
+  /** Records a write of this request that another thread has already committed. */
+  public void committed() {
+    wrote = true;
+  }
+
+  /** Records a write statement; it counts once the transaction it runs in commits. */
+  void writing(TransactionSynchronizationRegistry transactionSynchronizationRegistry) {
+    int transactionStatus = transactionSynchronizationRegistry.getTransactionStatus();
+    if (transactionStatus == Status.STATUS_NO_TRANSACTION) {
+      // Auto-commit
+      wrote = true;
+      return;
+    }
+    if (transactionStatus != Status.STATUS_ACTIVE
+        || transactionSynchronizationRegistry.getResource(WRITING_KEY) != null) {
+      return;
+    }
+    transactionSynchronizationRegistry.putResource(WRITING_KEY, Boolean.TRUE);
+    try {
+      transactionSynchronizationRegistry.registerInterposedSynchronization(
+          new Synchronization() {
+            @Override
+            public void beforeCompletion() {}
+
+            @Override
+            public void afterCompletion(int status) {
+              if (status == Status.STATUS_COMMITTED) {
+                wrote = true;
+              }
+            }
+          });
+    } catch (IllegalStateException e) {
+      // Flushed by the commit itself, too late to register; the commit is under way
+      wrote = true;
+    }
+  }
+}
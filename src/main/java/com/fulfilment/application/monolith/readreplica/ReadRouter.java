@@ -0,0 +1,160 @@
+package com.fulfilment.application.monolith.readreplica;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.function.Function;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.jboss.logging.Logger;
+
+/**
+ * Routes read-only queries to the {@code read} datasource (a replica of the primary) while
+ * keeping read-your-writes for clients that present a consistency token.
+ *
+ * Tokens are issued after every committed write by {@link ConsistencyTokenFilter}. On PostgreSQL
+ * a token is the primary's WAL position ({@code lsn:0/16B3748}) and a read is served by the
+ * replica once the replica has replayed up to it. Other databases have no comparable position, so
+ * the token is the write time ({@code t:<epoch millis>}) and reads go to the primary for {@code
+ * read-replica.max-lag} after the write.
+ *
+ * Replica sessions read the second-level and query caches but never put into them: a lagging
+ * replica must not publish stale rows to readers of the primary.
+ */
+@ApplicationScoped
+public class ReadRouter {
+
+  public static final String TOKEN_HEADER = "X-Consistency-Token";
+
+  private static final Logger LOGGER = Logger.getLogger(ReadRouter.class.getName());
+
+  private static final String LSN_PREFIX = "lsn:";
+  private static final String TIME_PREFIX = "t:";
+
+  @ConfigProperty(name = "read-replica.enabled", defaultValue = "false")
+  boolean enabled;
+
+  @ConfigProperty(name = "read-replica.max-lag", defaultValue = "2s")
+  Duration maxLag;
+
+  @Inject SessionFactory sessionFactory;
+
+  @Inject Session primarySession;
+
+  @Inject AgroalDataSource primary;
+
+  @Inject
+  @DataSource("read")
+  Instance<AgroalDataSource> replica;
+
+  @Inject ReadConsistency readConsistency;
+
+  private volatile Boolean postgres;
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Runs a read-only query on the replica, or on the primary if the replica is disabled, has not
+   * caught up with the request's consistency token or cannot be reached.
+   */
+  public <T> T read(Function<Session, T> query) {
+    if (!enabled) {
+      return query.apply(primarySession);
+    }
+
+    String token = readConsistency.token();
+    if (token != null && !token.startsWith(LSN_PREFIX) && !isOlderThanMaxLag(token)) {
+      return query.apply(primarySession);
+    }
+
+    Connection connection;
+    try {
+      connection = replica.get().getConnection();
+    } catch (SQLException e) {
+      LOGGER.warnf("Read replica unavailable, reading from the primary: %s", e.getMessage());
+      return query.apply(primarySession);
+    }
+
+    try (connection) {
+      connection.setReadOnly(true);
+      if (token != null && token.startsWith(LSN_PREFIX) && !hasReplayed(connection, token)) {
+        return query.apply(primarySession);
+      }
+      try (Session session = sessionFactory.withOptions().connection(connection).openSession()) {
+        session.setDefaultReadOnly(true);
+        session.setCacheMode(CacheMode.GET);
+        return query.apply(session);
+      }
+    } catch (SQLException e) {
+      LOGGER.warnf("Read replica failed, reading from the primary: %s", e.getMessage());
+      return query.apply(primarySession);
+    }
+  }
+
+  /** Returns a token describing the primary's state right after a committed write. */
+  public String issueToken() {
+    if (!isPostgres()) {
+      return TIME_PREFIX + System.currentTimeMillis();
+    }
+    try (Connection connection = primary.getConnection();
+        PreparedStatement statement =
+            connection.prepareStatement("SELECT CAST(pg_current_wal_lsn() AS text)");
+        ResultSet rs = statement.executeQuery()) {
+      return rs.next() ? LSN_PREFIX + rs.getString(1) : null;
+    } catch (SQLException e) {
+      LOGGER.warnf("Could not read the primary WAL position: %s", e.getMessage());
+      return TIME_PREFIX + System.currentTimeMillis();
+    }
+  }
+
+  private boolean isOlderThanMaxLag(String token) {
+    if (!token.startsWith(TIME_PREFIX)) {
+      return false;
+    }
+    try {
+      long writtenAt = Long.parseLong(token.substring(TIME_PREFIX.length()));
+      return System.currentTimeMillis() - writtenAt >= maxLag.toMillis();
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
+
+  private boolean hasReplayed(Connection replicaConnection, String token) throws SQLException {
+    // On a server that is not a standby (replica URL pointing at the primary) there is nothing to
+    // wait for
+    try (PreparedStatement statement =
+        replicaConnection.prepareStatement(
+            "SELECT NOT pg_is_in_recovery() OR pg_last_wal_replay_lsn() >= CAST(? AS pg_lsn)")) {
+      statement.setString(1, token.substring(LSN_PREFIX.length()));
+      try (ResultSet rs = statement.executeQuery()) {
+        return rs.next() && rs.getBoolean(1);
+      }
+    } catch (SQLException e) {
+      // Malformed token: play safe
+      LOGGER.debugf("Could not compare consistency token %s: %s", token, e.getMessage());
+      return false;
+    }
+  }
+
+  private boolean isPostgres() {
+    if (postgres == null) {
+      try (Connection connection = primary.getConnection()) {
+        postgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+      } catch (SQLException e) {
+        return false;
+      }
+    }
+    return postgres;
+  }
+}
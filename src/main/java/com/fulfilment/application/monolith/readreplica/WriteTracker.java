@@ -0,0 +1,68 @@
+package com.fulfilment.application.monolith.readreplica;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Tells {@link ReadConsistency} which requests write, so that {@link ConsistencyTokenFilter} only
+ * asks the primary for a token when a request committed something.
+ *
+ * Sees every statement Hibernate prepares. Writes that bypass Hibernate (plain JDBC) report
+ * themselves through {@link #written()}. Statements on threads without a request, such as the
+ * scheduled flushes and the legacy sync workers, are ignored.
+ */
+@PersistenceUnitExtension
+@ApplicationScoped
+public class WriteTracker implements StatementInspector {
+
+  private static final String[] WRITE_VERBS = {"insert", "update", "delete", "merge"};
+
+  @Inject ReadRouter readRouter;
+
+  @Inject ReadConsistency readConsistency;
+
+  @Inject TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+  @Override
+  public String inspect(String sql) {
+    if (isWrite(sql)) {
+      written();
+    }
+    return sql;
+  }
+
+  /** Records a write statement of the current request, in its current transaction if any. */
+  public void written() {
+    if (readRouter.isEnabled() && Arc.container().requestContext().isActive()) {
+      readConsistency.writing(transactionSynchronizationRegistry);
+    }
+  }
+
+  static boolean isWrite(String sql) {
+    int start = 0;
+    while (true) {
+      while (start < sql.length() && Character.isWhitespace(sql.charAt(start))) {
+        start++;
+      }
+      if (!sql.startsWith("/*", start)) {
+        break;
+      }
+      // Hibernate's SQL comments
+      int end = sql.indexOf("*/", start + 2);
+      if (end < 0) {
+        return false;
+      }
+      start = end + 2;
+    }
+    for (String verb : WRITE_VERBS) {
+      if (sql.regionMatches(true, start, verb, 0, verb.length())) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
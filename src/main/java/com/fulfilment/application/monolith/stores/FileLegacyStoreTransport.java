@@ -0,0 +1,77 @@
+package com.fulfilment.application.monolith.stores;
+
+import io.quarkus.arc.lookup.LookupUnlessProperty;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Appends each change as one tab-separated line ({@code operation, id, name, stock}) to {@code
+ * legacy-sync.file.path}, the hand-off file the legacy store manager imports. With {@code
+ * legacy-sync.file.fsync} every line is forced to disk before the change counts as delivered.
+ */
+@ApplicationScoped
+@LookupUnlessProperty(name = "legacy-sync.transport", stringValue = "http")
+public class FileLegacyStoreTransport implements LegacyStoreTransport {
+
+  private final Path path;
+  private final boolean fsync;
+  private final FileChannel channel;
+
+  @Inject
+  public FileLegacyStoreTransport(
+      @ConfigProperty(name = "legacy-sync.file.path") Optional<String> path,
+      @ConfigProperty(name = "legacy-sync.file.fsync", defaultValue = "false") boolean fsync) {
+    this(
+        path.map(Path::of)
+            .orElseGet(
+                () -> Path.of(System.getProperty("java.io.tmpdir"), "legacy-store-manager.log")),
+        fsync);
+  }
+
+  FileLegacyStoreTransport(Path path, boolean fsync) {
+    this.path = path;
+    this.fsync = fsync;
+    try {
+      this.channel =
+          FileChannel.open(
+              path,
+              StandardOpenOption.CREATE,
+              StandardOpenOption.WRITE,
+              StandardOpenOption.APPEND);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot open legacy sync file " + path, e);
+    }
+  }
+
+  @Override
+  public void send(LegacySyncTask.Operation operation, StoreSnapshot store) {
+    ByteBuffer bytes = StoreSnapshotSerializer.line(operation, store);
+    // One writer at a time so lines from concurrent workers never interleave
+    synchronized (channel) {
+      try {
+        while (bytes.hasRemaining()) {
+          channel.write(bytes);
+        }
+        if (fsync) {
+          channel.force(false);
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException("Cannot append to legacy sync file " + path, e);
+      }
+    }
+  }
+
+  @PreDestroy
+  void close() throws IOException {
+    channel.close();
+  }
+}
@@ -0,0 +1,106 @@
+package com.fulfilment.application.monolith.stores;
+
+import io.quarkus.arc.lookup.LookupIfProperty;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.PoolOptions;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Sends each change to the legacy store manager's HTTP API: {@code POST <url>/stores} for a
+ * create, {@code PUT <url>/stores/<id>} for an update, with the store as JSON. Any 2xx answer
+ * counts as delivered.
+ *
+ * Requests share at most {@code legacy-sync.http.pool-size} keep-alive connections, and with
+ * HTTP/1.1 pipelining up to {@code legacy-sync.http.pipelining-limit} requests are written to a
+ * connection before earlier responses arrive. That lets many sync workers share a few
+ * connections without paying a round trip each, which is what the legacy side is most sensitive
+ * to. Use {@code LegacySyncThroughputBenchmark} to pick the two values.
+ */
+@ApplicationScoped
+@LookupIfProperty(name = "legacy-sync.transport", stringValue = "http")
+public class HttpLegacyStoreTransport implements LegacyStoreTransport {
+
+  private final HttpClient client;
+  private final String basePath;
+  private final Duration timeout;
+
+  @Inject
+  public HttpLegacyStoreTransport(
+      Vertx vertx,
+      @ConfigProperty(name = "legacy-sync.http.url", defaultValue = "http://localhost:8090")
+          URI url,
+      @ConfigProperty(name = "legacy-sync.http.pool-size", defaultValue = "4") int poolSize,
+      @ConfigProperty(name = "legacy-sync.http.pipelining-limit", defaultValue = "8")
+          int pipeliningLimit,
+      @ConfigProperty(name = "legacy-sync.http.timeout", defaultValue = "5s") Duration timeout) {
+    boolean ssl = "https".equalsIgnoreCase(url.getScheme());
+    HttpClientOptions options =
+        new HttpClientOptions()
+            .setDefaultHost(url.getHost())
+            .setDefaultPort(url.getPort() != -1 ? url.getPort() : ssl ? 443 : 80)
+            .setSsl(ssl)
+            .setKeepAlive(true)
+            .setPipelining(pipeliningLimit > 1)
+            .setPipeliningLimit(Math.max(1, pipeliningLimit))
+            .setConnectTimeout((int) timeout.toMillis());
+    this.client = vertx.createHttpClient(options, new PoolOptions().setHttp1MaxSize(poolSize));
+    this.basePath = url.getRawPath() == null ? "" : url.getRawPath().replaceAll("/+$", "");
+    this.timeout = timeout;
+  }
+
+  @Override
+  public void send(LegacySyncTask.Operation operation, StoreSnapshot store) {
+    boolean create = operation == LegacySyncTask.Operation.CREATE;
+    HttpMethod method = create ? HttpMethod.POST : HttpMethod.PUT;
+    String uri = create ? basePath + "/stores" : basePath + "/stores/" + store.id();
+    // Copied out of the reused encoding buffer, as the request is written on an event loop
+    ByteBuffer json = StoreSnapshotSerializer.json(store);
+    Buffer body = Buffer.buffer(json.remaining()).appendBytes(json.array(), 0, json.limit());
+
+    int status;
+    try {
+      status =
+          client
+              .request(method, uri)
+              .compose(request -> request.putHeader("Content-Type", "application/json").send(body))
+              // Read the body so the connection can be reused
+              .compose(response -> response.body().map(ignored -> response))
+              .map(HttpClientResponse::statusCode)
+              .toCompletionStage()
+              .toCompletableFuture()
+              .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new UncheckedIOException(new IOException("Interrupted sending store " + store.id(), e));
+    } catch (ExecutionException | TimeoutException e) {
+      Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+      throw new UncheckedIOException(
+          new IOException(method + " " + uri + " to legacy store manager failed", cause));
+    }
+    if (status < 200 || status >= 300) {
+      throw new UncheckedIOException(
+          new IOException(method + " " + uri + " answered " + status));
+    }
+  }
+
+  @PreDestroy
+  void close() {
+    client.close();
+  }
+}
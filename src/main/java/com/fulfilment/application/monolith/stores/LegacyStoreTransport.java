@@ -0,0 +1,17 @@
+package com.fulfilment.application.monolith.stores;
+
+/**
+ * How {@link LegacyStoreManagerGateway} delivers a store change to the legacy store manager.
+ *
+ * The implementation is picked at runtime with {@code legacy-sync.transport}: {@code file}
+ * (default, {@link FileLegacyStoreTransport}) or {@code http} ({@link HttpLegacyStoreTransport}).
+ * Implementations are called concurrently by the sync workers and must be thread-safe.
+ */
+public interface LegacyStoreTransport {
+
+  /**
+   * Delivers one change and returns once the legacy system has accepted it. Throws an unchecked
+   * exception if it was not accepted, so that the change is retried.
+   */
+  void send(LegacySyncTask.Operation operation, StoreSnapshot store);
+}
@@ -0,0 +1,76 @@
+package com.fulfilment.application.monolith.stores;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/** A store change the legacy sync gave up on; kept until it is replayed. */
+@Entity
+@Table(name = "legacy_sync_dead_letter")
+public class LegacySyncDeadLetter extends PanacheEntity {
+
+  @Enumerated(EnumType.STRING)
+  @Column(length = 10, nullable = false)
+  public LegacySyncTask.Operation operation;
+
+  public Long storeId;
+
+  public Long storeVersion;
+
+  @Column(length = 40)
+  public String storeName;
+
+  public int quantityProductsInStock;
+
+  public int attempts;
+
+  @Column(length = 2000)
+  public String lastError;
+
+  public LocalDateTime failedAt;
+
+  static LegacySyncDeadLetter of(LegacySyncTask task, String error) {
+    LegacySyncDeadLetter deadLetter = new LegacySyncDeadLetter();
+    deadLetter.operation = task.operation();
+    deadLetter.storeId = task.store().id();
+    deadLetter.storeVersion = task.store().version();
+    deadLetter.storeName = task.store().name();
+    deadLetter.quantityProductsInStock = task.store().quantityProductsInStock();
+    deadLetter.attempts = task.attempt();
+    deadLetter.lastError =
+        error != null && error.length() > 2000 ? error.substring(0, 2000) : error;
+    deadLetter.failedAt = LocalDateTime.now();
+    return deadLetter;
+  }
+
+  /**
+   * The change to replay. If the store has been changed since this letter, its current state is
+   * sent instead, so a replay never sends an older state over a newer one the legacy system may
+   * already have.
+   */
+  LegacySyncTask toTask(Store current) {
+    long version = storeVersion == null ? 0 : storeVersion;
+    if (current.version != null && current.version > version) {
+      return LegacySyncTask.of(operation, StoreSnapshot.of(current));
+    }
+    return toTask();
+  }
+
+  LegacySyncTask toTask() {
+    // The time of the original change is not kept; the failure is the closest known time
+    StoreSnapshot store =
+        new StoreSnapshot(
+            storeId,
+            storeName,
+            quantityProductsInStock,
+            storeVersion == null ? 0 : storeVersion,
+            failedAt == null ? Instant.now() : failedAt.atZone(ZoneId.systemDefault()).toInstant());
+    return LegacySyncTask.of(operation, store);
+  }
+}
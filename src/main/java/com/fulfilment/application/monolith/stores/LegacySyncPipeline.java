@@ -0,0 +1,399 @@
+package com.fulfilment.application.monolith.stores;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Sends committed store changes to the legacy store manager off the request path.
+ *
+ * Changes wait in a bounded queue drained by {@code legacy-sync.workers} dedicated threads. A
+ * failed call is retried up to {@code legacy-sync.max-attempts} times with exponential backoff
+ * and jitter; retries wait on a scheduler rather than on a worker, so one slow or failing store
+ * does not hold up the others. Changes that run out of attempts, or that arrive while the queue
+ * is full, are written to the {@link LegacySyncDeadLetter} table to be replayed later.
+ *
+ * Changes are serialized per store: while one change of a store is with a worker or waiting to
+ * be retried, later changes of that store wait in its lane and only the newest of them is kept.
+ * So the legacy system receives each store's changes in version order, intermediate states of
+ * quickly repeated updates are never sent, and the latest state always wins. A lane is removed
+ * once it goes idle; the version it last synced is remembered for the
+ * {@code legacy-sync.recent-stores} most recently idle stores, so a late, older change of one of
+ * them is still dropped instead of overwriting the newer state.
+ */
+@ApplicationScoped
+public class LegacySyncPipeline {
+
+  private static final Logger LOGGER = Logger.getLogger(LegacySyncPipeline.class.getName());
+
+  @Inject LegacyStoreManagerGateway legacyStoreManagerGateway;
+
+  @ConfigProperty(name = "legacy-sync.queue-capacity", defaultValue = "10000")
+  int queueCapacity;
+
+  @ConfigProperty(name = "legacy-sync.workers", defaultValue = "4")
+  int workerCount;
+
+  @ConfigProperty(name = "legacy-sync.max-attempts", defaultValue = "5")
+  int maxAttempts;
+
+  @ConfigProperty(name = "legacy-sync.initial-backoff", defaultValue = "200ms")
+  Duration initialBackoff;
+
+  @ConfigProperty(name = "legacy-sync.max-backoff", defaultValue = "30s")
+  Duration maxBackoff;
+
+  @ConfigProperty(name = "legacy-sync.recent-stores", defaultValue = "10000")
+  int recentStores;
+
+  private BlockingQueue<LegacySyncTask> queue;
+  private ScheduledExecutorService retryScheduler;
+  private final List<Thread> workers = new ArrayList<>();
+  private final Set<LegacySyncTask> waitingForRetry = ConcurrentHashMap.newKeySet();
+  private final ConcurrentHashMap<Long, Lane> lanes = new ConcurrentHashMap<>();
+  private Map<Long, Long> syncedVersions;
+  private volatile boolean running;
+
+  private final LongAdder submitted = new LongAdder();
+  private final LongAdder succeeded = new LongAdder();
+  private final LongAdder attempts = new LongAdder();
+  private final LongAdder failedAttempts = new LongAdder();
+  private final LongAdder retried = new LongAdder();
+  private final LongAdder deadLettered = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder superseded = new LongAdder();
+  private final LongAdder totalLagMillis = new LongAdder();
+  private final AtomicLong lastLagMillis = new AtomicLong();
+
+  void onStart(@Observes StartupEvent event) {
+    queue = new ArrayBlockingQueue<>(queueCapacity);
+    syncedVersions = Collections.synchronizedMap(new RecentlySynced(recentStores));
+    retryScheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> daemon(runnable, "legacy-sync-retry"));
+    running = true;
+    for (int i = 0; i < workerCount; i++) {
+      Thread worker = daemon(this::work, "legacy-sync-" + i);
+      workers.add(worker);
+      worker.start();
+    }
+  }
+
+  void onStop(@Observes ShutdownEvent event) throws InterruptedException {
+    running = false;
+    retryScheduler.shutdownNow();
+    for (Thread worker : workers) {
+      worker.interrupt();
+    }
+    for (Thread worker : workers) {
+      worker.join(TimeUnit.SECONDS.toMillis(5));
+    }
+    // Nothing queued or waiting may be lost on shutdown; keep it for replay instead
+    List<LegacySyncTask> unsent = new ArrayList<>(waitingForRetry);
+    queue.drainTo(unsent);
+    for (Lane lane : lanes.values()) {
+      if (lane.next() != null) {
+        unsent.add(lane.next());
+      }
+    }
+    for (LegacySyncTask task : unsent) {
+      deadLetter(task, "Application shut down before the change was synced");
+    }
+  }
+
+  /**
+   * Queues a change without blocking. If its store already has a change in flight, it waits in
+   * the store's lane, replacing any older change waiting there; changes older than what is in
+   * flight or already synced are dropped. If the queue is full the change goes straight to the
+   * dead-letter table and {@code false} is returned.
+   */
+  public boolean submit(LegacySyncTask task) {
+    Long storeId = task.store().id();
+    if (storeId == null) {
+      submitted.increment();
+      return dispatch(task);
+    }
+    submitted.increment();
+    LegacySyncTask[] dispatchNow = new LegacySyncTask[1];
+    lanes.compute(
+        storeId,
+        (id, lane) -> {
+          if (lane == null) {
+            Long synced = syncedVersions.get(id);
+            if (synced != null && task.store().version() <= synced) {
+              superseded.increment();
+              return null;
+            }
+            dispatchNow[0] = task;
+            return new Lane(task.store().version(), null);
+          }
+          if (task.store().version() <= lane.inFlightVersion()) {
+            superseded.increment();
+            return lane;
+          }
+          if (lane.next() == null) {
+            return new Lane(lane.inFlightVersion(), task);
+          }
+          superseded.increment();
+          return new Lane(lane.inFlightVersion(), coalesce(lane.next(), task));
+        });
+    return dispatchNow[0] == null || dispatch(dispatchNow[0]);
+  }
+
+  private static LegacySyncTask coalesce(LegacySyncTask a, LegacySyncTask b) {
+    return a.store().version() <= b.store().version() ? a.supersededBy(b) : b.supersededBy(a);
+  }
+
+  /** Puts a task on the worker queue; its lane is already marked as in flight. */
+  private boolean dispatch(LegacySyncTask task) {
+    if (running && queue.offer(task)) {
+      return true;
+    }
+    rejected.increment();
+    try {
+      // Callers may be inside a transaction completion callback; persist from another thread
+      retryScheduler.execute(() -> deadLetter(task, "Legacy sync queue is full"));
+    } catch (RejectedExecutionException e) {
+      deadLetter(task, "Legacy sync is shutting down");
+    }
+    complete(task, false);
+    return false;
+  }
+
+  /**
+   * Releases the task's lane, dispatching the change that waited behind it, if any. If the task
+   * was not delivered, the waiting change takes over its operation, so a failed create is not
+   * followed by an update the legacy system cannot apply. A lane with nothing waiting is removed,
+   * remembering the version it delivered.
+   */
+  private void complete(LegacySyncTask task, boolean delivered) {
+    Long storeId = task.store().id();
+    if (storeId == null) {
+      return;
+    }
+    LegacySyncTask[] following = new LegacySyncTask[1];
+    lanes.computeIfPresent(
+        storeId,
+        (id, lane) -> {
+          if (lane.next() == null) {
+            if (delivered) {
+              syncedVersions.merge(id, task.store().version(), Math::max);
+            }
+            return null;
+          }
+          following[0] = delivered ? lane.next() : task.supersededBy(lane.next());
+          return new Lane(lane.next().store().version(), null);
+        });
+    if (following[0] != null) {
+      dispatch(following[0]);
+    }
+  }
+
+  private void work() {
+    while (running) {
+      LegacySyncTask task;
+      try {
+        task = queue.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      sync(task);
+    }
+  }
+
+  private void sync(LegacySyncTask task) {
+    attempts.increment();
+    try {
+      switch (task.operation()) {
+        case CREATE -> legacyStoreManagerGateway.createStoreOnLegacySystem(task.store());
+        case UPDATE -> legacyStoreManagerGateway.updateStoreOnLegacySystem(task.store());
+      }
+    } catch (RuntimeException e) {
+      failedAttempts.increment();
+      onFailure(task, e);
+      return;
+    }
+    long lagMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - task.enqueuedAtNanos());
+    lastLagMillis.set(lagMillis);
+    totalLagMillis.add(lagMillis);
+    succeeded.increment();
+    complete(task, true);
+  }
+
+  private void onFailure(LegacySyncTask task, RuntimeException e) {
+    if (task.attempt() >= maxAttempts || !running) {
+      LOGGER.errorf(
+          e,
+          "Legacy %s of store %d failed after %d attempts",
+          task.operation(),
+          task.store().id(),
+          task.attempt());
+      deadLetter(task, e.toString());
+      complete(task, false);
+      return;
+    }
+    long delayMillis = backoffMillis(task.attempt());
+    LOGGER.warnf(
+        "Legacy %s of store %d failed (attempt %d), retrying in %d ms: %s",
+        task.operation(),
+        task.store().id(),
+        task.attempt(),
+        delayMillis,
+        e.toString());
+    retried.increment();
+    LegacySyncTask next = task.nextAttempt();
+    waitingForRetry.add(next);
+    retryScheduler.schedule(() -> requeue(next), delayMillis, TimeUnit.MILLISECONDS);
+  }
+
+  private void requeue(LegacySyncTask task) {
+    waitingForRetry.remove(task);
+    LegacySyncTask[] retry = {task};
+    if (task.store().id() != null) {
+      // A newer change of the store arrived while waiting: send that instead of retrying this
+      lanes.computeIfPresent(
+          task.store().id(),
+          (id, lane) -> {
+            if (lane.next() == null) {
+              return lane;
+            }
+            superseded.increment();
+            retry[0] = task.supersededBy(lane.next());
+            return new Lane(lane.next().store().version(), null);
+          });
+    }
+    dispatch(retry[0]);
+  }
+
+  /** Whether the store has no change queued, with a worker or waiting to be retried. */
+  boolean isIdle(long storeId) {
+    return !lanes.containsKey(storeId);
+  }
+
+  /** Exponential backoff with equal jitter: a random delay in [d/2, d] for d = initial * 2^n. */
+  long backoffMillis(int attempt) {
+    long ceiling = maxBackoff.toMillis();
+    long delay = initialBackoff.toMillis() << Math.min(attempt - 1, 30);
+    delay = delay <= 0 || delay > ceiling ? ceiling : delay;
+    long half = delay / 2;
+    return half + ThreadLocalRandom.current().nextLong(delay - half + 1);
+  }
+
+  private void deadLetter(LegacySyncTask task, String error) {
+    deadLettered.increment();
+    try {
+      QuarkusTransaction.requiringNew()
+          .run(() -> LegacySyncDeadLetter.of(task, error).persist());
+    } catch (RuntimeException e) {
+      // Last resort: the change is only recorded in the log
+      LOGGER.errorf(
+          e,
+          "Could not dead-letter legacy %s of store %d (%s, %d in stock)",
+          task.operation(),
+          task.store().id(),
+          task.store().name(),
+          task.store().quantityProductsInStock());
+    }
+  }
+
+  public LegacySyncMetrics metrics() {
+    LegacySyncTask oldest = queue.peek();
+    long attempted = attempts.sum();
+    long synced = succeeded.sum();
+    return new LegacySyncMetrics(
+        queue.size(),
+        queueCapacity,
+        workerCount,
+        waitingForRetry.size(),
+        lanes.size(),
+        submitted.sum(),
+        synced,
+        retried.sum(),
+        deadLettered.sum(),
+        rejected.sum(),
+        superseded.sum(),
+        oldest == null
+            ? 0
+            : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest.enqueuedAtNanos()),
+        lastLagMillis.get(),
+        synced == 0 ? 0 : totalLagMillis.sum() / synced,
+        attempted == 0 ? 0.0 : (double) failedAttempts.sum() / attempted);
+  }
+
+  /**
+   * A store with a change in flight (queued, with a worker or waiting to retry) of version
+   * {@code inFlightVersion}, and the newest change of it waiting behind that one, if any.
+   */
+  private record Lane(long inFlightVersion, LegacySyncTask next) {}
+
+  /** Last synced version of the most recently idle stores, evicting the least recent. */
+  private static final class RecentlySynced extends LinkedHashMap<Long, Long> {
+
+    private final int capacity;
+
+    RecentlySynced(int capacity) {
+      super(16, 0.75f, true);
+      this.capacity = capacity;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+      return size() > capacity;
+    }
+  }
+
+  private static Thread daemon(Runnable runnable, String name) {
+    Thread thread = new Thread(runnable, name);
+    thread.setDaemon(true);
+    return thread;
+  }
+
+  /**
+   * Counters since startup. Lag is measured from the commit that produced a change to its
+   * successful sync, so it includes queueing and retry time; {@code failureRate} is the share of
+   * legacy calls that failed. {@code superseded} counts changes never sent because a newer
+   * version of the same store replaced them; {@code activeStores} is the number of stores with a
+   * change in flight.
+   */
+  @RegisterForReflection
+  public record LegacySyncMetrics(
+      int queueDepth,
+      int queueCapacity,
+      int workers,
+      int waitingForRetry,
+      int activeStores,
+      long submitted,
+      long succeeded,
+      long retried,
+      long deadLettered,
+      long rejected,
+      long superseded,
+      long oldestQueuedMillis,
+      long lastSyncLagMillis,
+      long averageSyncLagMillis,
+      double failureRate) {}
+}
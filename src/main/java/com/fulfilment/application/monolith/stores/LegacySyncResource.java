@@ -0,0 +1,166 @@
+package com.fulfilment.application.monolith.stores;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.panache.common.Sort;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/** Legacy sync metrics, and the dead letters it left behind together with their replay. */
+@Path("legacy-sync")
+@ApplicationScoped
+@Produces("application/json")
+public class LegacySyncResource {
+
+  @Inject LegacySyncPipeline legacySyncPipeline;
+
+  @ConfigProperty(name = "legacy-sync.replay-batch-size", defaultValue = "500")
+  int replayBatchSize;
+
+  @GET
+  @Path("metrics")
+  public LegacySyncPipeline.LegacySyncMetrics metrics() {
+    return legacySyncPipeline.metrics();
+  }
+
+  @GET
+  @Path("dead-letters")
+  public List<LegacySyncDeadLetter> deadLetters() {
+    return LegacySyncDeadLetter.listAll(Sort.by("failedAt").and("id"));
+  }
+
+  /**
+   * Queues one dead letter's change again with fresh attempts and then takes the letter off the
+   * table. A letter whose store has since been deleted is only removed, with a 204.
+   */
+  @POST
+  @Path("dead-letters/{id}/replay")
+  public Response replay(Long id) {
+    List<Replay> replays =
+        QuarkusTransaction.requiringNew()
+            .call(
+                () -> {
+                  LegacySyncDeadLetter deadLetter = LegacySyncDeadLetter.findById(id);
+                  return deadLetter == null ? List.<Replay>of() : replays(List.of(deadLetter));
+                });
+    if (replays.isEmpty()) {
+      throw new WebApplicationException("Dead letter with id of " + id + " does not exist.", 404);
+    }
+    LegacySyncTask task = replays.get(0).task();
+    if (task != null) {
+      // If the queue is full it is dead-lettered again, under a new id
+      legacySyncPipeline.submit(task);
+    }
+    delete(List.of(id));
+    return Response.status(task != null ? 202 : 204).build();
+  }
+
+  /**
+   * Replays the dead letters present when it is called, oldest first, and returns how many were
+   * queued. Letters are read {@code legacy-sync.replay-batch-size} at a time in short
+   * transactions, and each page is deleted only after its changes were submitted, so a crash in
+   * between sends a change twice rather than losing it. Stops at the first change the full queue
+   * turns away (that one is dead-lettered again), leaving the rest on the table.
+   */
+  @POST
+  @Path("dead-letters/replay")
+  public ReplayResult replayAll() {
+    Long lastId =
+        QuarkusTransaction.requiringNew()
+            .call(
+                () ->
+                    LegacySyncDeadLetter.getEntityManager()
+                        .createQuery("select max(id) from LegacySyncDeadLetter", Long.class)
+                        .getSingleResult());
+    int replayed = 0;
+    int queued = 0;
+    int dropped = 0;
+    boolean full = false;
+    while (lastId != null && !full) {
+      // Replayed letters are deleted, so the first page is always the next one
+      List<Replay> page =
+          QuarkusTransaction.requiringNew()
+              .call(
+                  () ->
+                      replays(
+                          LegacySyncDeadLetter.<LegacySyncDeadLetter>find(
+                                  "id <= ?1", Sort.by("failedAt").and("id"), lastId)
+                              .page(0, replayBatchSize)
+                              .list()));
+      if (page.isEmpty()) {
+        break;
+      }
+      List<Long> done = new ArrayList<>(page.size());
+      for (Replay replay : page) {
+        done.add(replay.deadLetterId());
+        if (replay.task() == null) {
+          dropped++;
+          continue;
+        }
+        replayed++;
+        if (!legacySyncPipeline.submit(replay.task())) {
+          full = true;
+          break;
+        }
+        queued++;
+      }
+      delete(done);
+    }
+    return new ReplayResult(replayed, queued, dropped);
+  }
+
+  /**
+   * The changes to replay for the given letters, each as of its store's current state, read in
+   * the caller's transaction; a letter whose store no longer exists gets no task.
+   */
+  private static List<Replay> replays(List<LegacySyncDeadLetter> deadLetters) {
+    List<Long> storeIds =
+        deadLetters.stream().map(d -> d.storeId).filter(Objects::nonNull).distinct().toList();
+    Map<Long, Store> stores = new HashMap<>();
+    if (!storeIds.isEmpty()) {
+      for (Store store : Store.<Store>list("id in ?1", storeIds)) {
+        stores.put(store.id, store);
+      }
+    }
+    List<Replay> replays = new ArrayList<>(deadLetters.size());
+    for (LegacySyncDeadLetter deadLetter : deadLetters) {
+      LegacySyncTask task;
+      if (deadLetter.storeId == null) {
+        task = deadLetter.toTask();
+      } else {
+        Store store = stores.get(deadLetter.storeId);
+        task = store == null ? null : deadLetter.toTask(store);
+      }
+      replays.add(new Replay(deadLetter.id, task));
+    }
+    return replays;
+  }
+
+  private static void delete(List<Long> ids) {
+    if (!ids.isEmpty()) {
+      QuarkusTransaction.requiringNew().run(() -> LegacySyncDeadLetter.delete("id in ?1", ids));
+    }
+  }
+
+  /** A dead letter and the change to submit for it, {@code null} if its store is gone. */
+  private record Replay(Long deadLetterId, LegacySyncTask task) {}
+
+  /**
+   * {@code replayed} changes were submitted and {@code queued} of them accepted; {@code dropped}
+   * letters were removed because their store no longer exists.
+   */
+  @RegisterForReflection
+  public record ReplayResult(int replayed, int queued, int dropped) {}
+}
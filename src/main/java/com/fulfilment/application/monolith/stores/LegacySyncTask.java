@@ -0,0 +1,30 @@
+package com.fulfilment.application.monolith.stores;
+
+/** One store change waiting to be sent to the legacy system. */
+public record LegacySyncTask(
+    Operation operation, StoreSnapshot store, int attempt, long enqueuedAtNanos) {
+
+  public enum Operation {
+    CREATE,
+    UPDATE
+  }
+
+  static LegacySyncTask of(Operation operation, StoreSnapshot store) {
+    return new LegacySyncTask(operation, store, 1, System.nanoTime());
+  }
+
+  LegacySyncTask nextAttempt() {
+    return new LegacySyncTask(operation, store, attempt + 1, enqueuedAtNanos);
+  }
+
+  /**
+   * Folds a later change of the same store into this one: the later state with fresh attempts,
+   * still a create if this one never reached the legacy system, and aged from this change so
+   * the reported lag covers the whole wait.
+   */
+  LegacySyncTask supersededBy(LegacySyncTask later) {
+    Operation merged = operation == Operation.CREATE ? Operation.CREATE : later.operation;
+    long firstEnqueued = Math.min(enqueuedAtNanos, later.enqueuedAtNanos);
+    return new LegacySyncTask(merged, later.store, 1, firstEnqueued);
+  }
+}
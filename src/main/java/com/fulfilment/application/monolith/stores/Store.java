@@ -1,19 +1,30 @@
 package com.fulfilment.application.monolith.stores;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.quarkus.hibernate.orm.panache.PanacheEntity;
 import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
 @Cacheable
+@NaturalIdCache
 public class Store extends PanacheEntity {
 
+  @NaturalId(mutable = true)
   @Column(length = 40, unique = true)
   public String name;
 
   public int quantityProductsInStock;
 
+  /** Incremented on every update; orders the changes sent to the legacy system. */
+  @Version
+  @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+  public Long version;
+
   public Store() {}
 
   public Store(String name) {
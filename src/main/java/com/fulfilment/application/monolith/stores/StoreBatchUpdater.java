@@ -0,0 +1,307 @@
+package com.fulfilment.application.monolith.stores;
+
+import com.fulfilment.application.monolith.readreplica.WriteTracker;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import jakarta.transaction.Transactional;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Cache;
+import org.hibernate.Session;
+import org.jboss.logging.Logger;
+
+/**
+ * Applies many stock updates ({@code PATCH /store/batch}) in one transaction.
+ *
+ * Updates are processed in chunks of {@code store.batch.chunk-size}. Per chunk there is one
+ * {@code SELECT ... FOR UPDATE} that locks the stores (in id order, so concurrent batches cannot
+ * deadlock), one JDBC batch of {@code UPDATE}s and one {@link StoresUpdatedEvent} for the legacy
+ * sync. Entities are never loaded, so there is no per-store dirty check. Because the updates
+ * bypass Hibernate, the stores are evicted from the second-level and query caches, and the
+ * write is reported to the {@link WriteTracker} for the consistency token.
+ */
+@ApplicationScoped
+public class StoreBatchUpdater {
+
+  private static final Logger LOGGER = Logger.getLogger(StoreBatchUpdater.class.getName());
+
+  private static final String UPDATE_SQL =
+      "UPDATE store SET quantityProductsInStock = ?, version = COALESCE(version, 0) + 1"
+          + " WHERE id = ?";
+
+  private static final String ADD_SQL =
+      "UPDATE store SET quantityProductsInStock = quantityProductsInStock + ?,"
+          + " version = COALESCE(version, 0) + 1 WHERE id = ?";
+
+  @Inject Session session;
+
+  @Inject TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+  @Inject Event<StoresUpdatedEvent> storesUpdatedEvent;
+
+  @Inject WriteTracker writeTracker;
+
+  @ConfigProperty(name = "store.batch.chunk-size", defaultValue = "500")
+  int chunkSize;
+
+  @ConfigProperty(name = "store.batch.max-items", defaultValue = "10000")
+  int maxItems;
+
+  @Transactional
+  public BatchResult apply(List<StockUpdate> updates) {
+    if (updates == null || updates.isEmpty()) {
+      throw new IllegalArgumentException("Batch contains no updates");
+    }
+    if (updates.size() > maxItems) {
+      throw new IllegalArgumentException(
+          "Batch contains " + updates.size() + " updates, at most " + maxItems + " are allowed");
+    }
+    long startedAt = System.nanoTime();
+
+    ItemResult[] results = new ItemResult[updates.size()];
+    List<Integer> valid = new ArrayList<>(updates.size());
+    Set<Long> seen = new HashSet<>();
+    for (int i = 0; i < updates.size(); i++) {
+      StockUpdate update = updates.get(i);
+      if (update == null
+          || update.id() == null
+          || update.quantityProductsInStock() == null
+          || update.quantityProductsInStock() < 0) {
+        results[i] = ItemResult.of(update, ItemStatus.INVALID, null);
+      } else if (!seen.add(update.id())) {
+        results[i] = ItemResult.of(update, ItemStatus.DUPLICATE, null);
+      } else {
+        valid.add(i);
+      }
+    }
+
+    Set<Long> updatedIds = new HashSet<>();
+    for (int from = 0; from < valid.size(); from += chunkSize) {
+      List<Integer> chunk = valid.subList(from, Math.min(from + chunkSize, valid.size()));
+      List<StoreSnapshot> snapshots =
+          session.doReturningWork(connection -> updateChunk(connection, updates, chunk, results));
+      snapshots.forEach(snapshot -> updatedIds.add(snapshot.id()));
+      if (!snapshots.isEmpty()) {
+        writeTracker.written();
+        storesUpdatedEvent.fire(new StoresUpdatedEvent(snapshots));
+      }
+    }
+    evictAfterCompletion(updatedIds);
+
+    long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+    LOGGER.infof(
+        "Store batch: %d of %d stores updated in %d ms",
+        updatedIds.size(), updates.size(), elapsedMillis);
+    return new BatchResult(updatedIds.size(), elapsedMillis, Arrays.asList(results));
+  }
+
+  /**
+   * Adds stock deltas (store id to its deltas, in the order they were counted) in one transaction,
+   * chunked like {@link #apply}. Each store's deltas are applied one after the other; a delta that
+   * would make the stock negative or overflow it is skipped and reported, so that it fails
+   * neither the deltas after it nor other stores.
+   */
+  @Transactional
+  public StockAddResult addStock(Map<Long, int[]> deltas) {
+    List<Long> ids = deltas.keySet().stream().sorted().toList();
+    Set<Long> updatedIds = new HashSet<>();
+    Map<Long, BitSet> rejected = new HashMap<>();
+    for (int from = 0; from < ids.size(); from += chunkSize) {
+      List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+      List<StoreSnapshot> snapshots =
+          session.doReturningWork(connection -> addChunk(connection, deltas, chunk, rejected));
+      snapshots.forEach(snapshot -> updatedIds.add(snapshot.id()));
+      if (!snapshots.isEmpty()) {
+        writeTracker.written();
+        storesUpdatedEvent.fire(new StoresUpdatedEvent(snapshots));
+      }
+    }
+    evictAfterCompletion(updatedIds);
+    return new StockAddResult(updatedIds, rejected);
+  }
+
+  private static List<StoreSnapshot> updateChunk(
+      Connection connection, List<StockUpdate> updates, List<Integer> chunk, ItemResult[] results)
+      throws SQLException {
+    List<Long> ids = chunk.stream().map(index -> updates.get(index).id()).sorted().toList();
+    Map<Long, LockedStore> locked = lock(connection, ids);
+    Instant changedAt = Instant.now();
+
+    List<StoreSnapshot> snapshots = new ArrayList<>(chunk.size());
+    try (PreparedStatement statement = connection.prepareStatement(UPDATE_SQL)) {
+      for (int index : chunk) {
+        StockUpdate update = updates.get(index);
+        LockedStore store = locked.get(update.id());
+        if (store == null) {
+          results[index] = ItemResult.of(update, ItemStatus.NOT_FOUND, null);
+          continue;
+        }
+        statement.setInt(1, update.quantityProductsInStock());
+        statement.setLong(2, update.id());
+        statement.addBatch();
+        results[index] = ItemResult.of(update, ItemStatus.UPDATED, store.version() + 1);
+        snapshots.add(
+            new StoreSnapshot(
+                update.id(),
+                store.name(),
+                update.quantityProductsInStock(),
+                store.version() + 1,
+                changedAt));
+      }
+      if (!snapshots.isEmpty()) {
+        statement.executeBatch();
+      }
+    }
+    return snapshots;
+  }
+
+  private static List<StoreSnapshot> addChunk(
+      Connection connection, Map<Long, int[]> deltas, List<Long> chunk, Map<Long, BitSet> rejected)
+      throws SQLException {
+    Map<Long, LockedStore> locked = lock(connection, chunk);
+    Instant changedAt = Instant.now();
+
+    List<StoreSnapshot> snapshots = new ArrayList<>(chunk.size());
+    try (PreparedStatement statement = connection.prepareStatement(ADD_SQL)) {
+      for (Long id : chunk) {
+        LockedStore store = locked.get(id);
+        if (store == null) {
+          continue;
+        }
+        int[] storeDeltas = deltas.get(id);
+        long quantity = store.quantity();
+        boolean applied = false;
+        for (int i = 0; i < storeDeltas.length; i++) {
+          long next = quantity + storeDeltas[i];
+          if (next < 0 || next > Integer.MAX_VALUE) {
+            // As apply() rejects negative stock; the INT column could not hold it either way
+            rejected.computeIfAbsent(id, k -> new BitSet()).set(i);
+          } else {
+            quantity = next;
+            applied = true;
+          }
+        }
+        if (!applied) {
+          continue;
+        }
+        statement.setLong(1, quantity - store.quantity());
+        statement.setLong(2, id);
+        statement.addBatch();
+        snapshots.add(
+            new StoreSnapshot(
+                id,
+                store.name(),
+                (int) quantity,
+                store.version() + 1,
+                changedAt));
+      }
+      if (!snapshots.isEmpty()) {
+        statement.executeBatch();
+      }
+    }
+    return snapshots;
+  }
+
+  /** Locks the existing stores among the sorted {@code ids}. */
+  private static Map<Long, LockedStore> lock(Connection connection, List<Long> ids)
+      throws SQLException {
+    String sql =
+        "SELECT id, name, version, quantityProductsInStock FROM store WHERE id IN ("
+            + String.join(",", Collections.nCopies(ids.size(), "?"))
+            + ") ORDER BY id FOR UPDATE";
+    Map<Long, LockedStore> rows = new HashMap<>();
+    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+      for (int i = 0; i < ids.size(); i++) {
+        statement.setLong(i + 1, ids.get(i));
+      }
+      try (ResultSet resultSet = statement.executeQuery()) {
+        while (resultSet.next()) {
+          long version = resultSet.getLong(3);
+          rows.put(
+              resultSet.getLong(1),
+              new LockedStore(resultSet.getString(2), version, resultSet.getInt(4)));
+        }
+      }
+    }
+    return rows;
+  }
+
+  /**
+   * Evicts now, so this transaction does not read stale cached stores, and again after the
+   * commit, so that no concurrent reader re-caches the old state in between.
+   */
+  private void evictAfterCompletion(Set<Long> ids) {
+    if (ids.isEmpty()) {
+      return;
+    }
+    Cache cache = session.getSessionFactory().getCache();
+    Runnable evict =
+        () -> {
+          ids.forEach(id -> cache.evictEntityData(Store.class, id));
+          cache.evictDefaultQueryRegion();
+        };
+    evict.run();
+    transactionSynchronizationRegistry.registerInterposedSynchronization(
+        new Synchronization() {
+          @Override
+          public void beforeCompletion() {}
+
+          @Override
+          public void afterCompletion(int status) {
+            if (status == Status.STATUS_COMMITTED) {
+              evict.run();
+            }
+          }
+        });
+  }
+
+  /**
+   * Outcome of {@link #addStock}: the stores updated, and per store the positions of the deltas
+   * that were skipped. A store with deltas in neither no longer exists.
+   */
+  public record StockAddResult(Set<Long> updated, Map<Long, BitSet> rejected) {}
+
+  /** A locked store row; a {@code null} version reads as 0, as in the UPDATE statements. */
+  private record LockedStore(String name, long version, int quantity) {}
+
+  @RegisterForReflection
+  public record StockUpdate(Long id, Integer quantityProductsInStock) {}
+
+  public enum ItemStatus {
+    UPDATED,
+    NOT_FOUND,
+    INVALID,
+    DUPLICATE
+  }
+
+  /** Outcome of one update; {@code version} is the store's new version when it was updated. */
+  @RegisterForReflection
+  public record ItemResult(Long id, ItemStatus status, Long version) {
+
+    static ItemResult of(StockUpdate update, ItemStatus status, Long version) {
+      return new ItemResult(update == null ? null : update.id(), status, version);
+    }
+  }
+
+  /** Results in request order. */
+  @RegisterForReflection
+  public record BatchResult(int updated, long elapsedMillis, List<ItemResult> results) {}
+}
@@ -1,13 +1,9 @@
 package com.fulfilment.application.monolith.stores;
 
-public class StoreCreatedEvent {
-  private final Store store;
+/** Fired when a store was created; carries a snapshot taken at fire time. */
+public record StoreCreatedEvent(StoreSnapshot store) {
 
   public StoreCreatedEvent(Store store) {
-    this.store = store;
-  }
-
-  public Store getStore() {
-    return store;
+    this(StoreSnapshot.of(store));
   }
 }
@@ -1,25 +1,40 @@
 package com.fulfilment.application.monolith.stores;
 
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.enterprise.event.ObservesAsync;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
 import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
 
+/**
+ * Hands committed store changes to the {@link LegacySyncPipeline}. Observers run only after the
+ * surrounding transaction commits, so rolled-back changes never reach the legacy system, and
+ * they only enqueue, so the request thread never waits on the legacy call.
+ */
 @ApplicationScoped
 public class StoreEventObserver {
 
   private static final Logger LOGGER = Logger.getLogger(StoreEventObserver.class.getName());
 
-  @Inject 
-  LegacyStoreManagerGateway legacyStoreManagerGateway;
+  @Inject LegacySyncPipeline legacySyncPipeline;
 
-  public void onStoreCreated(@ObservesAsync StoreCreatedEvent event) {
-    LOGGER.info("Store created event received, syncing with legacy system: " + event.getStore().id);
-    legacyStoreManagerGateway.createStoreOnLegacySystem(event.getStore());
+  public void onStoreCreated(
+      @Observes(during = TransactionPhase.AFTER_SUCCESS) StoreCreatedEvent event) {
+    LOGGER.debugf("Store created, queueing legacy sync: %d", event.store().id());
+    legacySyncPipeline.submit(LegacySyncTask.of(LegacySyncTask.Operation.CREATE, event.store()));
   }
 
-  public void onStoreUpdated(@ObservesAsync StoreUpdatedEvent event) {
-    LOGGER.info("Store updated event received, syncing with legacy system: " + event.getStore().id);
-    legacyStoreManagerGateway.updateStoreOnLegacySystem(event.getStore());
+  public void onStoreUpdated(
+      @Observes(during = TransactionPhase.AFTER_SUCCESS) StoreUpdatedEvent event) {
+    LOGGER.debugf("Store updated, queueing legacy sync: %d", event.store().id());
+    legacySyncPipeline.submit(LegacySyncTask.of(LegacySyncTask.Operation.UPDATE, event.store()));
+  }
+
+  public void onStoresUpdated(
+      @Observes(during = TransactionPhase.AFTER_SUCCESS) StoresUpdatedEvent event) {
+    LOGGER.debugf("%d stores updated in a batch, queueing legacy sync", event.stores().size());
+    for (StoreSnapshot store : event.stores()) {
+      legacySyncPipeline.submit(LegacySyncTask.of(LegacySyncTask.Operation.UPDATE, store));
+    }
   }
 }
@@ -2,10 +2,13 @@ package com.fulfilment.application.monolith.stores;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import io.quarkus.panache.common.Sort;
+import com.fulfilment.application.monolith.readreplica.ReadConsistency;
+import com.fulfilment.application.monolith.readreplica.ReadRouter;
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
+import jakarta.persistence.LockModeType;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
@@ -20,6 +23,7 @@ import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
 import jakarta.ws.rs.ext.Provider;
 import java.util.List;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
 @Path("store")
@@ -29,6 +33,17 @@ import org.jboss.logging.Logger;
 public class StoreResource {
 
   @Inject LegacyStoreManagerGateway legacyStoreManagerGateway;
+
+  @Inject ReadRouter readRouter;
+
+  @Inject ReadConsistency readConsistency;
+
+  @Inject StoreBatchUpdater storeBatchUpdater;
+
+  @Inject StoreStockCounters storeStockCounters;
+
+  @ConfigProperty(name = "store.stock.max-delta", defaultValue = "1000000")
+  int maxStockDelta;
   
   @Inject Event<StoreCreatedEvent> storeCreatedEvent;
   
@@ -38,19 +53,35 @@ public class StoreResource {
 
   @GET
   public List<Store> get() {
-    return Store.listAll(Sort.by("name"));
+    return readRouter.read(
+        session ->
+            session
+                .createSelectionQuery("from Store order by name", Store.class)
+                .setCacheable(true)
+                .list());
   }
 
   @GET
   @Path("{id}")
   public Store getSingle(Long id) {
-    Store entity = Store.findById(id);
+    Store entity = readRouter.read(session -> session.get(Store.class, id));
     if (entity == null) {
       throw new WebApplicationException("Store with id of " + id + " does not exist.", 404);
     }
     return entity;
   }
 
+  @GET
+  @Path("by-name/{name}")
+  public Store getByName(String name) {
+    Store entity =
+        readRouter.read(session -> session.bySimpleNaturalId(Store.class).load(name));
+    if (entity == null) {
+      throw new WebApplicationException("Store with name of " + name + " does not exist.", 404);
+    }
+    return entity;
+  }
+
   @POST
   @Transactional
   public Response create(Store store) {
@@ -59,7 +90,7 @@ public class StoreResource {
     }
 
     store.persist();
-    storeCreatedEvent.fireAsync(new StoreCreatedEvent(store));
+    storeCreatedEvent.fire(new StoreCreatedEvent(store));
 
     return Response.ok(store).status(201).build();
   }
@@ -72,16 +103,14 @@ public class StoreResource {
       throw new WebApplicationException("Store Name was not set on request.", 422);
     }
 
-    Store entity = Store.findById(id);
-
-    if (entity == null) {
-      throw new WebApplicationException("Store with id of " + id + " does not exist.", 404);
-    }
+    Store entity = findForUpdate(id);
 
     entity.name = updatedStore.name;
     entity.quantityProductsInStock = updatedStore.quantityProductsInStock;
 
-    storeUpdatedEvent.fireAsync(new StoreUpdatedEvent(entity));
+    // Flush first so the event snapshot carries the incremented version
+    Store.flush();
+    storeUpdatedEvent.fire(new StoreUpdatedEvent(entity));
 
     return entity;
   }
@@ -94,11 +123,7 @@ public class StoreResource {
       throw new WebApplicationException("Store Name was not set on request.", 422);
     }
 
-    Store entity = Store.findById(id);
-
-    if (entity == null) {
-      throw new WebApplicationException("Store with id of " + id + " does not exist.", 404);
-    }
+    Store entity = findForUpdate(id);
 
     if (entity.name != null) {
       entity.name = updatedStore.name;
@@ -108,8 +133,117 @@ public class StoreResource {
       entity.quantityProductsInStock = updatedStore.quantityProductsInStock;
     }
 
-    storeUpdatedEvent.fireAsync(new StoreUpdatedEvent(entity));
+    Store.flush();
+    storeUpdatedEvent.fire(new StoreUpdatedEvent(entity));
+
+    return entity;
+  }
 
+  /**
+   * Sets the stock of many stores in one transaction, e.g. for inventory reconciliation. Returns
+   * a result per update in request order; unknown, invalid and repeated ids are reported there
+   * and do not fail the batch.
+   */
+  @PATCH
+  @Path("batch")
+  public StoreBatchUpdater.BatchResult patchBatch(List<StoreBatchUpdater.StockUpdate> updates) {
+    try {
+      return storeBatchUpdater.apply(updates);
+    } catch (IllegalArgumentException e) {
+      throw new WebApplicationException(e.getMessage(), 422);
+    }
+  }
+
+  /**
+   * Adds a (possibly negative) delta to a store's stock, e.g. a sale reported by a POS terminal.
+   * Concurrent deltas are never lost, unlike read-modify-write through PUT. Answers 200 once the
+   * delta is in the database and 202 while it is only buffered (see {@link StoreStockCounters}); in
+   * sync mode, 409 if concurrent deltas left too little stock for it when it was flushed.
+   */
+  @POST
+  @Path("{id}/stock/delta")
+  public Response addStock(Long id, StockDelta body) {
+    if (body == null || body.delta() == null) {
+      throw new WebApplicationException("Stock delta was not set on request.", 422);
+    }
+    if (Math.abs((long) body.delta()) > maxStockDelta) {
+      throw new WebApplicationException(
+          "Stock delta must be between -" + maxStockDelta + " and " + maxStockDelta + ".", 422);
+    }
+    Store entity = Store.findById(id);
+    if (entity == null) {
+      throw new WebApplicationException("Store with id of " + id + " does not exist.", 404);
+    }
+    // Best effort against concurrent deltas; the flush re-checks under the row lock
+    long stock = entity.quantityProductsInStock + storeStockCounters.pending(id) + body.delta();
+    if (stock < 0 || stock > Integer.MAX_VALUE) {
+      throw new WebApplicationException(
+          "Stock delta " + body.delta() + " would make the stock of store " + id + " " + stock
+              + ".",
+          422);
+    }
+    StoreStockCounters.Outcome outcome = storeStockCounters.add(id, body.delta());
+    switch (outcome) {
+      case REJECTED ->
+          throw new WebApplicationException(
+              "Stock delta " + body.delta() + " was not applied: the stock of store " + id
+                  + " would be out of range.",
+              409);
+      case NOT_FOUND ->
+          throw new WebApplicationException("Store with id of " + id + " does not exist.", 404);
+      case DURABLE -> {
+        // Committed by the flush thread, so the write tracker has not seen it
+        readConsistency.committed();
+        // The flush wrote the row behind this request's persistence context; read it again
+        Integer persisted =
+            Store.getEntityManager()
+                .createQuery(
+                    "select quantityProductsInStock from Store where id = :id", Integer.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst()
+                .orElseThrow(
+                    () ->
+                        new WebApplicationException(
+                            "Store with id of " + id + " does not exist.", 404));
+        return Response.ok(stockLevel(id, persisted)).build();
+      }
+      case BUFFERED -> {}
+    }
+    return Response.status(202).entity(stockLevel(id, entity.quantityProductsInStock)).build();
+  }
+
+  /** Stock as stored plus deltas not yet flushed; exact between flushes. */
+  @GET
+  @Path("{id}/stock")
+  public StockLevel getStock(Long id) {
+    Store entity = Store.findById(id);
+    if (entity == null) {
+      throw new WebApplicationException("Store with id of " + id + " does not exist.", 404);
+    }
+    return stockLevel(id, entity.quantityProductsInStock);
+  }
+
+  private StockLevel stockLevel(Long id, int persisted) {
+    long pending = storeStockCounters.pending(id);
+    return new StockLevel(id, persisted, pending, persisted + pending);
+  }
+
+  @RegisterForReflection
+  public record StockDelta(Integer delta) {}
+
+  @RegisterForReflection
+  public record StockLevel(Long storeId, int persisted, long pending, long current) {}
+
+  /**
+   * Loads a store with a row lock, so concurrent updates of one store queue up instead of failing
+   * the version check, and each commits a version above the previous one.
+   */
+  private static Store findForUpdate(Long id) {
+    Store entity = Store.findById(id, LockModeType.PESSIMISTIC_WRITE);
+    if (entity == null) {
+      throw new WebApplicationException("Store with id of " + id + " does not exist.", 404);
+    }
     return entity;
   }
 
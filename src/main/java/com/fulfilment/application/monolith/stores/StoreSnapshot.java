@@ -0,0 +1,23 @@
+package com.fulfilment.application.monolith.stores;
+
+import java.time.Instant;
+
+/**
+ * Immutable copy of a {@link Store} as of one committed change, taken when the change's event is
+ * fired. It holds no reference to the entity or the persistence context, so observers and sync
+ * workers can use it on any thread after the transaction has ended. {@code version} is the
+ * entity's optimistic-lock version, which increases with every update of the same store, so of
+ * two snapshots of one store the higher version is the later state.
+ */
+public record StoreSnapshot(
+    Long id, String name, int quantityProductsInStock, long version, Instant changedAt) {
+
+  public static StoreSnapshot of(Store store) {
+    return new StoreSnapshot(
+        store.id,
+        store.name,
+        store.quantityProductsInStock,
+        store.version == null ? 0 : store.version,
+        Instant.now());
+  }
+}
@@ -0,0 +1,192 @@
+package com.fulfilment.application.monolith.stores;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Encodes {@link StoreSnapshot}s for the legacy transports: as the JSON body of the HTTP API and
+ * as the tab-separated line of the hand-off file.
+ *
+ * Encoding happens in a per-thread buffer that is reused for every change the thread sends. The
+ * sync workers are a fixed set of threads, so the buffers form a small pool and a change costs no
+ * allocation beyond the returned view. The view is only valid until the same thread encodes the
+ * next snapshot; callers that hand the bytes to another thread must copy them first.
+ */
+final class StoreSnapshotSerializer {
+
+  private static final int INITIAL_CAPACITY = 256;
+
+  /** Buffers that grew beyond this (huge names) are dropped rather than kept per thread. */
+  private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+  private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+  private static final ThreadLocal<StoreSnapshotSerializer> POOL =
+      ThreadLocal.withInitial(StoreSnapshotSerializer::new);
+
+  private byte[] bytes = new byte[INITIAL_CAPACITY];
+  private int length;
+
+  private StoreSnapshotSerializer() {}
+
+  /** {@code {"id":..,"name":..,"quantityProductsInStock":..}}, as the legacy HTTP API expects. */
+  static ByteBuffer json(StoreSnapshot store) {
+    StoreSnapshotSerializer serializer = acquire();
+    serializer.writeAscii("{\"id\":");
+    serializer.writeId(store.id());
+    serializer.writeAscii(",\"name\":");
+    serializer.writeJsonString(store.name());
+    serializer.writeAscii(",\"quantityProductsInStock\":");
+    serializer.writeLong(store.quantityProductsInStock());
+    serializer.writeByte('}');
+    return serializer.view();
+  }
+
+  /**
+   * {@code operation, id, name, stock} separated by tabs and ending in a newline; tabs and line
+   * breaks in the name become spaces.
+   */
+  static ByteBuffer line(LegacySyncTask.Operation operation, StoreSnapshot store) {
+    StoreSnapshotSerializer serializer = acquire();
+    serializer.writeAscii(operation.name());
+    serializer.writeByte('\t');
+    serializer.writeId(store.id());
+    serializer.writeByte('\t');
+    serializer.writeLineField(store.name());
+    serializer.writeByte('\t');
+    serializer.writeLong(store.quantityProductsInStock());
+    serializer.writeByte('\n');
+    return serializer.view();
+  }
+
+  private static StoreSnapshotSerializer acquire() {
+    StoreSnapshotSerializer serializer = POOL.get();
+    if (serializer.bytes.length > MAX_RETAINED_CAPACITY) {
+      serializer.bytes = new byte[INITIAL_CAPACITY];
+    }
+    serializer.length = 0;
+    return serializer;
+  }
+
+  private ByteBuffer view() {
+    return ByteBuffer.wrap(bytes, 0, length);
+  }
+
+  private void writeByte(int b) {
+    ensureCapacity(1);
+    bytes[length++] = (byte) b;
+  }
+
+  private void writeAscii(String literal) {
+    int count = literal.length();
+    ensureCapacity(count);
+    for (int i = 0; i < count; i++) {
+      bytes[length++] = (byte) literal.charAt(i);
+    }
+  }
+
+  private void writeId(Long id) {
+    if (id == null) {
+      writeAscii("null");
+    } else {
+      writeLong(id);
+    }
+  }
+
+  private void writeLong(long value) {
+    if (value == Long.MIN_VALUE) {
+      writeAscii("-9223372036854775808");
+      return;
+    }
+    ensureCapacity(20);
+    long v = value;
+    if (v < 0) {
+      bytes[length++] = '-';
+      v = -v;
+    }
+    int digits = 1;
+    for (long rest = v / 10; rest > 0; rest /= 10) {
+      digits++;
+    }
+    for (int pos = length + digits - 1; pos >= length; pos--) {
+      bytes[pos] = (byte) ('0' + v % 10);
+      v /= 10;
+    }
+    length += digits;
+  }
+
+  private void writeJsonString(String value) {
+    if (value == null) {
+      writeAscii("null");
+      return;
+    }
+    writeByte('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        writeByte('\\');
+        writeByte(c);
+      } else if (c < 0x20) {
+        ensureCapacity(6);
+        bytes[length++] = '\\';
+        bytes[length++] = 'u';
+        bytes[length++] = '0';
+        bytes[length++] = '0';
+        bytes[length++] = HEX[c >> 4];
+        bytes[length++] = HEX[c & 0xF];
+      } else {
+        i = writeUtf8(value, i);
+      }
+    }
+    writeByte('"');
+  }
+
+  private void writeLineField(String value) {
+    if (value == null) {
+      return;
+    }
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '\t' || c == '\n' || c == '\r') {
+        writeByte(' ');
+      } else {
+        i = writeUtf8(value, i);
+      }
+    }
+  }
+
+  /** Writes the character at {@code index} and returns the index of its last char. */
+  private int writeUtf8(String value, int index) {
+    char c = value.charAt(index);
+    ensureCapacity(4);
+    if (c < 0x80) {
+      bytes[length++] = (byte) c;
+    } else if (c < 0x800) {
+      bytes[length++] = (byte) (0xC0 | (c >> 6));
+      bytes[length++] = (byte) (0x80 | (c & 0x3F));
+    } else if (Character.isHighSurrogate(c)
+        && index + 1 < value.length()
+        && Character.isLowSurrogate(value.charAt(index + 1))) {
+      int codePoint = Character.toCodePoint(c, value.charAt(++index));
+      bytes[length++] = (byte) (0xF0 | (codePoint >> 18));
+      bytes[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+      bytes[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+      bytes[length++] = (byte) (0x80 | (codePoint & 0x3F));
+    } else if (Character.isSurrogate(c)) {
+      // Unpaired surrogate: not encodable in UTF-8, replaced like String.getBytes does
+      bytes[length++] = '?';
+    } else {
+      bytes[length++] = (byte) (0xE0 | (c >> 12));
+      bytes[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+      bytes[length++] = (byte) (0x80 | (c & 0x3F));
+    }
+    return index;
+  }
+
+  private void ensureCapacity(int extra) {
+    if (length + extra > bytes.length) {
+      bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+    }
+  }
+}
@@ -0,0 +1,214 @@
+package com.fulfilment.application.monolith.stores;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Buffers stock deltas per store ({@code POST /store/{id}/stock/delta}) and writes them to the
+ * database in batches.
+ *
+ * Each store has a lock-free queue of its deltas and a {@link LongAdder} of their sum, so
+ * concurrent deltas for a hot store neither contend on a lock in memory nor on the store's row in
+ * the database. Every {@code store.stock.flush-interval} the queued deltas of all stores are
+ * added to {@code quantityProductsInStock} in one transaction ({@link StoreBatchUpdater#addStock});
+ * if that fails they are kept and retried first on the next flush. A store's deltas are applied
+ * in the order they were counted, and one that would make its stock negative or overflow it is
+ * skipped on its own: it is logged and dropped, not retried, and holds up neither the store's
+ * other deltas nor the other stores.
+ *
+ * {@code store.stock.durability} decides when a delta is acknowledged: {@code buffered} as soon as
+ * it is counted (deltas of the last interval are lost if the process dies, and a skipped delta is
+ * only logged), {@code sync} once the flush containing it has committed, with its own outcome.
+ * Sync mode costs latency, not throughput, because all deltas of an interval share one commit.
+ */
+@ApplicationScoped
+public class StoreStockCounters {
+
+  private static final Logger LOGGER = Logger.getLogger(StoreStockCounters.class.getName());
+
+  public enum Durability {
+    BUFFERED,
+    SYNC
+  }
+
+  /** What became of one delta by the time {@link #add} returned. */
+  public enum Outcome {
+    /** Committed to the database (sync mode). */
+    DURABLE,
+    /** Counted and not yet written: buffered mode, or a sync flush that exceeded the timeout. */
+    BUFFERED,
+    /** Not applied: the stock would have become negative or overflowed when it was flushed. */
+    REJECTED,
+    /** Not applied: the store was deleted before the flush. */
+    NOT_FOUND
+  }
+
+  @Inject StoreBatchUpdater storeBatchUpdater;
+
+  @ConfigProperty(name = "store.stock.flush-interval", defaultValue = "100ms")
+  Duration flushInterval;
+
+  @ConfigProperty(name = "store.stock.durability", defaultValue = "buffered")
+  Durability durability;
+
+  @ConfigProperty(name = "store.stock.sync-timeout", defaultValue = "5s")
+  Duration syncTimeout;
+
+  /**
+   * Counters are never removed, even when idle: removing one could race with a delta being added
+   * to it. There is at most one per store that ever received a delta.
+   */
+  private final ConcurrentHashMap<Long, Counter> counters = new ConcurrentHashMap<>();
+
+  /** Deltas of a failed flush, retried before anything counted since; only used by flush(). */
+  private Map<Long, List<Delta>> carried = new HashMap<>();
+
+  private ScheduledExecutorService flusher;
+
+  void onStart(@Observes StartupEvent event) {
+    flusher =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "store-stock-flush");
+              thread.setDaemon(true);
+              return thread;
+            });
+    long intervalMillis = flushInterval.toMillis();
+    flusher.scheduleWithFixedDelay(
+        this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  void onStop(@Observes ShutdownEvent event) throws InterruptedException {
+    flusher.shutdown();
+    flusher.awaitTermination(syncTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    // Last chance for buffered deltas
+    flushQuietly();
+  }
+
+  /**
+   * Counts a delta for a store. In buffered mode returns {@link Outcome#BUFFERED} immediately; in
+   * sync mode waits for the flush that contains it and returns its outcome, or
+   * {@link Outcome#BUFFERED} if that took longer than {@code store.stock.sync-timeout} (the delta
+   * stays buffered and is still flushed).
+   */
+  public Outcome add(Long storeId, int delta) {
+    CompletableFuture<Outcome> outcome =
+        durability == Durability.SYNC ? new CompletableFuture<>() : null;
+    Counter counter = counters.computeIfAbsent(storeId, id -> new Counter());
+    counter.pending.add(delta);
+    counter.deltas.offer(new Delta(delta, outcome));
+    if (outcome == null) {
+      return Outcome.BUFFERED;
+    }
+    try {
+      return outcome.get(syncTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return Outcome.BUFFERED;
+    } catch (ExecutionException | TimeoutException e) {
+      return Outcome.BUFFERED;
+    }
+  }
+
+  /** Deltas counted for a store but not yet written to the database. */
+  public long pending(Long storeId) {
+    Counter counter = counters.get(storeId);
+    return counter == null ? 0 : counter.pending.sum();
+  }
+
+  public Durability durability() {
+    return durability;
+  }
+
+  /** Writes all buffered deltas and returns the number of stores updated. */
+  synchronized int flush() {
+    Map<Long, List<Delta>> batch = carried;
+    carried = new HashMap<>();
+    for (Map.Entry<Long, Counter> entry : counters.entrySet()) {
+      Delta delta;
+      while ((delta = entry.getValue().deltas.poll()) != null) {
+        batch.computeIfAbsent(entry.getKey(), id -> new ArrayList<>()).add(delta);
+      }
+    }
+    if (batch.isEmpty()) {
+      return 0;
+    }
+
+    Map<Long, int[]> amounts = new HashMap<>();
+    batch.forEach(
+        (id, deltas) -> amounts.put(id, deltas.stream().mapToInt(Delta::amount).toArray()));
+    StoreBatchUpdater.StockAddResult result;
+    try {
+      result = storeBatchUpdater.addStock(amounts);
+    } catch (RuntimeException e) {
+      // Keep the deltas, in order; sync callers wait for the flush that finally writes them
+      carried = batch;
+      throw e;
+    }
+
+    batch.forEach(
+        (id, deltas) -> {
+          BitSet rejected = result.rejected().getOrDefault(id, new BitSet());
+          boolean found = result.updated().contains(id) || !rejected.isEmpty();
+          long flushed = 0;
+          for (int i = 0; i < deltas.size(); i++) {
+            Delta delta = deltas.get(i);
+            flushed += delta.amount();
+            Outcome outcome;
+            if (!found) {
+              LOGGER.warnf("Dropped stock delta %d of deleted store %d", delta.amount(), id);
+              outcome = Outcome.NOT_FOUND;
+            } else if (rejected.get(i)) {
+              LOGGER.warnf(
+                  "Dropped stock delta %d of store %d: stock would be out of range",
+                  delta.amount(), id);
+              outcome = Outcome.REJECTED;
+            } else {
+              outcome = Outcome.DURABLE;
+            }
+            if (delta.outcome() != null) {
+              delta.outcome().complete(outcome);
+            }
+          }
+          counters.get(id).pending.add(-flushed);
+        });
+    return result.updated().size();
+  }
+
+  private void flushQuietly() {
+    try {
+      flush();
+    } catch (RuntimeException e) {
+      LOGGER.error("Flushing store stock deltas failed, retrying on the next flush", e);
+    }
+  }
+
+  /** A store's deltas in the order they were counted, and their sum until they are flushed. */
+  private static final class Counter {
+    final ConcurrentLinkedQueue<Delta> deltas = new ConcurrentLinkedQueue<>();
+    final LongAdder pending = new LongAdder();
+  }
+
+  /** One counted delta; {@code outcome} is completed by the flush in sync mode, else null. */
+  private record Delta(int amount, CompletableFuture<Outcome> outcome) {}
+}
@@ -1,13 +1,9 @@
 package com.fulfilment.application.monolith.stores;
 
-public class StoreUpdatedEvent {
-  private final Store store;
+/** Fired when a store was updated; carries a snapshot taken at fire time. */
+public record StoreUpdatedEvent(StoreSnapshot store) {
 
   public StoreUpdatedEvent(Store store) {
-    this.store = store;
-  }
-
-  public Store getStore() {
-    return store;
+    this(StoreSnapshot.of(store));
   }
 }
@@ -0,0 +1,11 @@
+package com.fulfilment.application.monolith.stores;
+
+import java.util.List;
+
+/** Fired once per chunk of a batch update; carries a snapshot of every store it changed. */
+public record StoresUpdatedEvent(List<StoreSnapshot> stores) {
+
+  public StoresUpdatedEvent {
+    stores = List.copyOf(stores);
+  }
+}
@@ -1,17 +1,30 @@
 package com.fulfilment.application.monolith.warehouses.adapters.database;
 
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseUnit;
 import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 import java.time.LocalDateTime;
 
+/**
+ * One generation of a warehouse. Replacing a warehouse archives its row and inserts the successor
+ * under the same business unit code, so a code has at most one active row ({@code archivedAt}
+ * null, enforced by a partial unique index, see db/postgresql/V6) plus its archived history.
+ */
 @Entity
-@Table(name = "warehouse")
+@Table(
+    name = "warehouse",
+    indexes = {
+      @Index(name = "warehouse_business_unit_code_idx", columnList = "businessUnitCode"),
+      // Partial on archived rows in db/postgresql/V7, for the retention purge
+      @Index(name = "warehouse_archived_at_idx", columnList = "archivedAt")
+    })
 @Cacheable
 public class DbWarehouse {
 
@@ -20,7 +33,7 @@ public class DbWarehouse {
   @Version
   public Long version;
 
-  @Column(unique = true, nullable = false)
+  @Column(nullable = false)
   public String businessUnitCode;
 
   public String location;
@@ -35,6 +48,18 @@ public class DbWarehouse {
 
   public DbWarehouse() {}
 
+  /** A new row for the warehouse; id and version are assigned on persist. */
+  public static DbWarehouse from(WarehouseUnit warehouse) {
+    var dbWarehouse = new DbWarehouse();
+    dbWarehouse.businessUnitCode = warehouse.businessUnitCode();
+    dbWarehouse.location = warehouse.location();
+    dbWarehouse.capacity = warehouse.capacity();
+    dbWarehouse.stock = warehouse.stock();
+    dbWarehouse.createdAt = warehouse.createdAt();
+    dbWarehouse.archivedAt = warehouse.archivedAt();
+    return dbWarehouse;
+  }
+
   public Warehouse toWarehouse() {
     var warehouse = new Warehouse();
     warehouse.businessUnitCode = this.businessUnitCode;
@@ -0,0 +1,397 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import io.quarkus.runtime.configuration.MemorySize;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Optional in-memory read model of the active warehouses ({@code warehouse.read-model.enabled}),
+ * serving {@code GET /warehouse} and {@code GET /warehouse/{id}} without a database round trip.
+ *
+ * Readers take the current {@link WarehouseSnapshot} from a volatile field and never lock. Writes
+ * through {@link WarehouseRepository} report the codes they touch. Once their transaction has
+ * committed, those codes are re-read from the primary and a copy of the snapshot with them
+ * replaced is published as the next generation, before the write's response goes out. Snapshots
+ * are only built on one publisher thread and always from committed rows read at that point, so a
+ * late publication can never put an older row over a newer one.
+ *
+ * Writes that bypass the repository (SQL consoles, other instances) are not seen. {@link #check}
+ * compares the snapshot with the database and can rebuild it; {@code WarehouseReadModelCheckJob}
+ * does so every {@code warehouse.read-model.check-interval}. A snapshot estimated to be larger
+ * than {@code warehouse.read-model.max-memory} is not published, and reads go to the database.
+ */
+@ApplicationScoped
+public class WarehouseReadModel {
+
+  private static final Logger LOGGER = Logger.getLogger(WarehouseReadModel.class.getName());
+
+  /** Codes per refresh query; bounds the IN list size. */
+  private static final int CHUNK_SIZE = 500;
+
+  /** Differences listed per category in a {@link CheckResult}; the counts are always complete. */
+  private static final int MAX_LISTED = 100;
+
+  @Inject EntityManager entityManager;
+
+  @Inject TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+  @ConfigProperty(name = "warehouse.read-model.enabled", defaultValue = "false")
+  boolean enabled;
+
+  @ConfigProperty(name = "warehouse.read-model.max-memory", defaultValue = "64M")
+  MemorySize maxMemory;
+
+  @ConfigProperty(name = "warehouse.read-model.publish-timeout", defaultValue = "2s")
+  Duration publishTimeout;
+
+  /** Key of the codes changed by the current transaction in the synchronization registry. */
+  private final Object changedCodesKey = new Object();
+
+  private final ExecutorService publisher =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "warehouse-read-model");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /** Null while disabled, not built yet or over the memory budget. */
+  private volatile WarehouseSnapshot snapshot;
+
+  private volatile long lastGeneration;
+  private volatile CheckResult lastCheck;
+
+  void onStart(@Observes StartupEvent event) {
+    if (enabled) {
+      publishAndWait(() -> publish(loadActive(null), null));
+    }
+  }
+
+  @PreDestroy
+  void close() {
+    publisher.shutdownNow();
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** The active warehouses, or null if the read model is not serving and the database must. */
+  public List<WarehouseSnapshot.Entry> listActive() {
+    WarehouseSnapshot current = snapshot;
+    if (current == null) {
+      return null;
+    }
+    hits.increment();
+    return current.all();
+  }
+
+  /**
+   * The active warehouse with this code, or null if the read model cannot answer (not serving,
+   * or no active warehouse with this code, which may still have archived generations).
+   */
+  public WarehouseSnapshot.Entry findActive(String businessUnitCode) {
+    WarehouseSnapshot current = snapshot;
+    if (current == null) {
+      return null;
+    }
+    WarehouseSnapshot.Entry entry = current.byCode(businessUnitCode);
+    if (entry == null) {
+      misses.increment();
+    } else {
+      hits.increment();
+    }
+    return entry;
+  }
+
+  /** Called by the repository for every write; publishes after the transaction commits. */
+  void changed(Collection<String> businessUnitCodes) {
+    if (!enabled || businessUnitCodes.isEmpty()) {
+      return;
+    }
+    int transactionStatus = transactionSynchronizationRegistry.getTransactionStatus();
+    if (transactionStatus == Status.STATUS_NO_TRANSACTION) {
+      Set<String> codes = Set.copyOf(businessUnitCodes);
+      publishAndWait(() -> refresh(codes));
+      return;
+    }
+    if (transactionStatus != Status.STATUS_ACTIVE) {
+      // Rolling back: nothing to publish
+      return;
+    }
+    @SuppressWarnings("unchecked")
+    Set<String> codes =
+        (Set<String>) transactionSynchronizationRegistry.getResource(changedCodesKey);
+    if (codes == null) {
+      Set<String> registered = new HashSet<>();
+      transactionSynchronizationRegistry.putResource(changedCodesKey, registered);
+      transactionSynchronizationRegistry.registerInterposedSynchronization(
+          new Synchronization() {
+            @Override
+            public void beforeCompletion() {}
+
+            @Override
+            public void afterCompletion(int status) {
+              if (status == Status.STATUS_COMMITTED) {
+                publishAndWait(() -> refresh(registered));
+              }
+            }
+          });
+      codes = registered;
+    }
+    codes.addAll(businessUnitCodes);
+  }
+
+  /**
+   * Compares the snapshot with the active warehouses in the database and, with {@code repair},
+   * publishes a fresh snapshot if they differ. Warehouses committed while the check runs may show
+   * up as differences; a repair then publishes the newer state.
+   */
+  public CheckResult check(boolean repair) {
+    if (!enabled) {
+      throw new IllegalStateException("The warehouse read model is disabled");
+    }
+    CheckResult result;
+    try {
+      result = publisher.submit(() -> compare(repair)).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted checking the warehouse read model", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Checking the warehouse read model failed", e.getCause());
+    }
+    lastCheck = result;
+    if (!result.consistent()) {
+      LOGGER.warnf(
+          "Warehouse read model generation %d differs from the database: %d missing, %d stale, "
+              + "%d unexpected%s",
+          result.generation(),
+          result.missingCount(),
+          result.staleCount(),
+          result.unexpectedCount(),
+          result.repaired() ? ", rebuilt" : "");
+    }
+    return result;
+  }
+
+  public Stats stats() {
+    WarehouseSnapshot current = snapshot;
+    return new Stats(
+        enabled,
+        current != null,
+        current != null ? current.generation() : lastGeneration,
+        current != null ? current.builtAt() : null,
+        current != null ? current.size() : 0,
+        current != null ? current.locations() : 0,
+        current != null ? current.estimatedBytes() : 0,
+        maxMemory.asLongValue(),
+        hits.sum(),
+        misses.sum(),
+        lastCheck);
+  }
+
+  private void refresh(Set<String> codes) {
+    WarehouseSnapshot current = snapshot;
+    if (current == null) {
+      // Not serving (over budget or failed before): only a full build can bring it back
+      publish(loadActive(null), null);
+      return;
+    }
+    publish(loadActive(codes), codes);
+  }
+
+  private CheckResult compare(boolean repair) {
+    List<WarehouseSnapshot.Entry> active = loadActive(null);
+    WarehouseSnapshot current = snapshot;
+    Map<String, WarehouseSnapshot.Entry> expected =
+        active.stream()
+            .collect(
+                Collectors.toMap(
+                    WarehouseSnapshot.Entry::businessUnitCode,
+                    Function.identity(),
+                    WarehouseSnapshot.Entry::later));
+
+    Set<String> missing = new TreeSet<>();
+    Set<String> stale = new TreeSet<>();
+    Set<String> unexpected = new TreeSet<>();
+    for (WarehouseSnapshot.Entry entry : expected.values()) {
+      WarehouseSnapshot.Entry held =
+          current == null ? null : current.byCode(entry.businessUnitCode());
+      if (held == null) {
+        missing.add(entry.businessUnitCode());
+      } else if (!Objects.equals(held, entry)) {
+        stale.add(entry.businessUnitCode());
+      }
+    }
+    if (current != null) {
+      for (WarehouseSnapshot.Entry held : current.all()) {
+        if (!expected.containsKey(held.businessUnitCode())) {
+          unexpected.add(held.businessUnitCode());
+        }
+      }
+    }
+
+    boolean consistent = missing.isEmpty() && stale.isEmpty() && unexpected.isEmpty();
+    boolean repaired = !consistent && repair;
+    if (repaired) {
+      publish(active, null);
+    }
+    return new CheckResult(
+        current != null ? current.generation() : lastGeneration,
+        Instant.now(),
+        expected.size(),
+        consistent,
+        repaired,
+        missing.size(),
+        stale.size(),
+        unexpected.size(),
+        firstListed(missing),
+        firstListed(stale),
+        firstListed(unexpected));
+  }
+
+  /**
+   * Publishes the next generation: all of {@code active} if {@code codes} is null, else the
+   * current snapshot with {@code codes} replaced by {@code active}. A generation estimated over
+   * {@code warehouse.read-model.max-memory} is never built; reads then go to the database. Runs
+   * on the publisher only.
+   */
+  private void publish(List<WarehouseSnapshot.Entry> active, Set<String> codes) {
+    long generation = lastGeneration + 1;
+    long maxBytes = maxMemory.asLongValue();
+    WarehouseSnapshot current = snapshot;
+    WarehouseSnapshot next =
+        codes == null || current == null
+            ? WarehouseSnapshot.of(generation, active, maxBytes)
+            : current.withChanges(codes, active, maxBytes);
+    lastGeneration = next != null ? next.generation() : generation;
+    if (next == null) {
+      if (current != null) {
+        LOGGER.warnf(
+            "Warehouse read model would need more than warehouse.read-model.max-memory (%d"
+                + " bytes); serving warehouses from the database",
+            maxBytes);
+      }
+      snapshot = null;
+      return;
+    }
+    snapshot = next;
+  }
+
+  /** Active rows from the primary, all of them or those with the given codes. */
+  private List<WarehouseSnapshot.Entry> loadActive(Set<String> codes) {
+    return QuarkusTransaction.requiringNew()
+        .call(
+            () -> {
+              if (codes == null) {
+                return entityManager
+                    .createQuery("FROM DbWarehouse w WHERE w.archivedAt IS NULL", DbWarehouse.class)
+                    .getResultStream()
+                    .map(WarehouseSnapshot.Entry::of)
+                    .toList();
+              }
+              List<String> all = new ArrayList<>(codes);
+              List<WarehouseSnapshot.Entry> active = new ArrayList<>(all.size());
+              for (int from = 0; from < all.size(); from += CHUNK_SIZE) {
+                entityManager
+                    .createQuery(
+                        "FROM DbWarehouse w WHERE w.businessUnitCode IN :codes "
+                            + "AND w.archivedAt IS NULL",
+                        DbWarehouse.class)
+                    .setParameter(
+                        "codes", all.subList(from, Math.min(from + CHUNK_SIZE, all.size())))
+                    .getResultStream()
+                    .map(WarehouseSnapshot.Entry::of)
+                    .forEach(active::add);
+              }
+              return active;
+            });
+  }
+
+  /**
+   * Runs a publication on the publisher thread and waits for it. Should that take longer than
+   * {@code warehouse.read-model.publish-timeout}, the write is answered anyway and reads may lag
+   * it briefly.
+   */
+  private void publishAndWait(Runnable publication) {
+    Future<?> published = publisher.submit(publication);
+    try {
+      published.get(publishTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (TimeoutException e) {
+      LOGGER.warnf("Warehouse read model publication is taking longer than %s", publishTimeout);
+    } catch (ExecutionException e) {
+      // Stop serving rather than serve a snapshot that misses this write; the next write or
+      // check rebuilds it
+      LOGGER.error("Publishing the warehouse read model failed; reads use the database", e);
+      publisher.execute(() -> snapshot = null);
+    }
+  }
+
+  private static List<String> firstListed(Set<String> codes) {
+    return codes.stream().limit(MAX_LISTED).toList();
+  }
+
+  @RegisterForReflection
+  public record Stats(
+      boolean enabled,
+      boolean serving,
+      long generation,
+      Instant builtAt,
+      int warehouses,
+      int locations,
+      long estimatedBytes,
+      long maxBytes,
+      long hits,
+      long misses,
+      CheckResult lastCheck) {}
+
+  /** Outcome of {@link #check}; the code lists hold at most 100 codes each. */
+  @RegisterForReflection
+  public record CheckResult(
+      long generation,
+      Instant checkedAt,
+      int activeInDatabase,
+      boolean consistent,
+      boolean repaired,
+      int missingCount,
+      int staleCount,
+      int unexpectedCount,
+      List<String> missing,
+      List<String> stale,
+      List<String> unexpected) {}
+}
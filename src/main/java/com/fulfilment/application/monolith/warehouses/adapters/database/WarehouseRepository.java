@@ -1,37 +1,72 @@
 package com.fulfilment.application.monolith.warehouses.adapters.database;
 
+import com.fulfilment.application.monolith.readreplica.ReadRouter;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseUnit;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import org.hibernate.jpa.HibernateHints;
 
 @ApplicationScoped
 public class WarehouseRepository implements WarehouseStore, PanacheRepository<DbWarehouse> {
 
+  @Inject ReadRouter readRouter;
+
+  @Inject WarehouseReadModel warehouseReadModel;
+
+  private static final String ACTIVE = "archivedAt is null";
+
+  /** A code's generations with the current one first: the active row, else the latest archived. */
+  private static final String GENERATIONS_OF_CODE =
+      "from DbWarehouse where businessUnitCode = :code "
+          + "order by archivedAt desc nulls first, id desc";
+
   @Override
   public List<Warehouse> getAll() {
-    return this.listAll().stream().map(DbWarehouse::toWarehouse).toList();
+    return this.findAll().withHint(HibernateHints.HINT_CACHEABLE, true).list().stream()
+        .map(DbWarehouse::toWarehouse)
+        .toList();
   }
 
   @Override
-  public void create(Warehouse warehouse) {
-    DbWarehouse dbWarehouse = new DbWarehouse();
-    dbWarehouse.businessUnitCode = warehouse.businessUnitCode;
-    dbWarehouse.location = warehouse.location;
-    dbWarehouse.capacity = warehouse.capacity;
-    dbWarehouse.stock = warehouse.stock;
-    dbWarehouse.createdAt = warehouse.createdAt;
-    dbWarehouse.archivedAt = warehouse.archivedAt;
-    
-    this.persist(dbWarehouse);
+  public List<Warehouse> getAllActive() {
+    // Served by the partial indexes on active rows (db/postgresql/V3)
+    return this.find(ACTIVE).withHint(HibernateHints.HINT_CACHEABLE, true).list().stream()
+        .map(DbWarehouse::toWarehouse)
+        .toList();
+  }
+
+  /**
+   * Read-only variant of {@link #getAll()}/{@link #getAllActive()} that skips the copy into the
+   * domain model and reads from the replica when enabled.
+   */
+  public List<DbWarehouse> getAllEntities(boolean includeArchived) {
+    String query = includeArchived ? "from DbWarehouse" : "from DbWarehouse where " + ACTIVE;
+    return readRouter.read(
+        session ->
+            session.createSelectionQuery(query, DbWarehouse.class).setCacheable(true).list());
+  }
+
+  @Override
+  public void create(WarehouseUnit warehouse) {
+    this.persist(DbWarehouse.from(warehouse));
+    changed(warehouse.businessUnitCode());
   }
 
   @Override
   public void update(Warehouse warehouse) {
     getEntityManager().createQuery(
       "UPDATE DbWarehouse w SET w.location = :loc, w.capacity = :cap, " +
-      "w.stock = :stock, w.archivedAt = :archived WHERE w.businessUnitCode = :code")
+      "w.stock = :stock, w.archivedAt = :archived, w.version = COALESCE(w.version, 0) + 1 " +
+      "WHERE w.businessUnitCode = :code AND w.archivedAt IS NULL")
       .setParameter("loc", warehouse.location)
       .setParameter("cap", warehouse.capacity)
       .setParameter("stock", warehouse.stock)
@@ -42,17 +77,200 @@ public class WarehouseRepository implements WarehouseStore, PanacheRepository<Db
     // Clear persistence context to see updates in subsequent queries
     getEntityManager().flush();
     getEntityManager().clear();
+    changed(warehouse.businessUnitCode);
+  }
+
+  @Override
+  public boolean replaceActive(WarehouseUnit successor, LocalDateTime archivedAt) {
+    // Archiving first frees the code in the unique index on active rows for the insert. Its row
+    // lock makes a concurrent replacement wait, after which that one finds no active row.
+    int archived =
+        getEntityManager()
+            .createQuery(
+                "UPDATE DbWarehouse w SET w.archivedAt = :archived, "
+                    + "w.version = COALESCE(w.version, 0) + 1 "
+                    + "WHERE w.businessUnitCode = :code AND w.archivedAt IS NULL")
+            .setParameter("archived", archivedAt)
+            .setParameter("code", successor.businessUnitCode())
+            .executeUpdate();
+    if (archived == 0) {
+      return false;
+    }
+
+    // The predecessor may be loaded and is stale now
+    getEntityManager().flush();
+    getEntityManager().clear();
+
+    create(successor);
+    getEntityManager().flush();
+    return true;
   }
 
   @Override
   public void remove(Warehouse warehouse) {
-    // TODO Auto-generated method stub
-    throw new UnsupportedOperationException("Unimplemented method 'remove'");
+    // A code has several generations; archivedAt tells them apart, null being the active one
+    if (warehouse.archivedAt == null) {
+      this.delete("businessUnitCode = ?1 and " + ACTIVE, warehouse.businessUnitCode);
+    } else {
+      this.delete(
+          "businessUnitCode = ?1 and archivedAt = ?2",
+          warehouse.businessUnitCode,
+          warehouse.archivedAt);
+    }
+    changed(warehouse.businessUnitCode);
+  }
+
+  @Override
+  public int purgeArchivedBefore(LocalDateTime cutoff, int limit) {
+    // Pick the batch by primary key first, so the DELETE locks exactly these rows
+    List<Long> ids =
+        getEntityManager()
+            .createQuery(
+                "SELECT w.id FROM DbWarehouse w WHERE w.archivedAt < :cutoff ORDER BY w.archivedAt",
+                Long.class)
+            .setParameter("cutoff", cutoff)
+            .setMaxResults(limit)
+            .getResultList();
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    return getEntityManager()
+        .createQuery("DELETE FROM DbWarehouse w WHERE w.id IN :ids")
+        .setParameter("ids", ids)
+        .executeUpdate();
   }
 
   @Override
   public Warehouse findByBusinessUnitCode(String buCode) {
-    DbWarehouse dbWarehouse = find("businessUnitCode", buCode).firstResult();
+    if (buCode == null) {
+      return null;
+    }
+
+    List<DbWarehouse> generations =
+        getEntityManager()
+            .createQuery(GENERATIONS_OF_CODE, DbWarehouse.class)
+            .setParameter("code", buCode)
+            .setMaxResults(1)
+            .getResultList();
+    return generations.isEmpty() ? null : generations.get(0).toWarehouse();
+  }
+
+  @Override
+  public Warehouse findActiveByBusinessUnitCode(String buCode) {
+    if (buCode == null) {
+      return null;
+    }
+    DbWarehouse dbWarehouse =
+        this.find("businessUnitCode = ?1 and " + ACTIVE, buCode).firstResult();
     return dbWarehouse != null ? dbWarehouse.toWarehouse() : null;
   }
+
+  @Override
+  public List<Warehouse> findByBusinessUnitCodes(Collection<String> buCodes) {
+    // Every generation of the codes; keep the current one of each
+    Map<String, DbWarehouse> current = new LinkedHashMap<>();
+    for (DbWarehouse dbWarehouse : this.list("businessUnitCode in ?1", buCodes)) {
+      current.merge(dbWarehouse.businessUnitCode, dbWarehouse, WarehouseRepository::moreCurrent);
+    }
+    return current.values().stream().map(DbWarehouse::toWarehouse).toList();
+  }
+
+  /** The active generation, else the later archived one, else the later inserted one. */
+  private static DbWarehouse moreCurrent(DbWarehouse a, DbWarehouse b) {
+    if (a.archivedAt == null || b.archivedAt == null) {
+      return a.archivedAt == null ? a : b;
+    }
+    int byArchivedAt = a.archivedAt.compareTo(b.archivedAt);
+    if (byArchivedAt != 0) {
+      return byArchivedAt > 0 ? a : b;
+    }
+    return a.id > b.id ? a : b;
+  }
+
+  @Override
+  public List<String> findActiveBusinessUnitCodesByLocation(String location) {
+    return getEntityManager()
+        .createQuery(
+            "SELECT w.businessUnitCode FROM DbWarehouse w "
+                + "WHERE w.location = :loc AND w.archivedAt IS NULL ORDER BY w.businessUnitCode",
+            String.class)
+        .setParameter("loc", location)
+        .getResultList();
+  }
+
+  @Override
+  public Map<String, Boolean> findBusinessUnitCodeStates() {
+    // One row per code rather than per generation; cached until the next warehouse write
+    List<Object[]> rows =
+        getEntityManager()
+            .createQuery(
+                "SELECT w.businessUnitCode, COUNT(CASE WHEN w.archivedAt IS NULL THEN 1 END) "
+                    + "FROM DbWarehouse w GROUP BY w.businessUnitCode",
+                Object[].class)
+            .setHint(HibernateHints.HINT_CACHEABLE, true)
+            .getResultList();
+    Map<String, Boolean> states = new HashMap<>(rows.size() * 4 / 3 + 1);
+    for (Object[] row : rows) {
+      states.put((String) row[0], ((Number) row[1]).longValue() > 0);
+    }
+    return states;
+  }
+
+  @Override
+  public int archiveAll(Collection<String> buCodes, LocalDateTime archivedAt) {
+    // Bumps the version like an entity update would, so concurrent entity writers see a conflict
+    int archived =
+        getEntityManager()
+            .createQuery(
+                "UPDATE DbWarehouse w SET w.archivedAt = :archived, "
+                    + "w.version = COALESCE(w.version, 0) + 1 "
+                    + "WHERE w.businessUnitCode IN :codes AND w.archivedAt IS NULL")
+            .setParameter("archived", archivedAt)
+            .setParameter("codes", buCodes)
+            .executeUpdate();
+
+    // The entities loaded for this chunk are stale now
+    getEntityManager().flush();
+    getEntityManager().clear();
+    warehouseReadModel.changed(buCodes);
+    return archived;
+  }
+
+  private void changed(String buCode) {
+    if (buCode != null) {
+      warehouseReadModel.changed(List.of(buCode));
+    }
+  }
+
+  /**
+   * An active warehouse from the read model when it is serving, else
+   * {@link #findEntityByBusinessUnitCode}: the query cache or the replica, not the primary.
+   */
+  @Override
+  public Warehouse findByBusinessUnitCodeForRead(String buCode) {
+    WarehouseSnapshot.Entry entry = warehouseReadModel.findActive(buCode);
+    if (entry != null) {
+      return entry.toWarehouse();
+    }
+    DbWarehouse dbWarehouse = findEntityByBusinessUnitCode(buCode);
+    return dbWarehouse != null ? dbWarehouse.toWarehouse() : null;
+  }
+
+  /**
+   * Read-only variant of {@link #findByBusinessUnitCode} that returns the entity itself, uses the
+   * query cache and reads from the replica when enabled.
+   */
+  public DbWarehouse findEntityByBusinessUnitCode(String buCode) {
+    if (buCode == null) {
+      return null;
+    }
+    return readRouter.read(
+        session ->
+            session
+                .createSelectionQuery(GENERATIONS_OF_CODE, DbWarehouse.class)
+                .setParameter("code", buCode)
+                .setMaxResults(1)
+                .setCacheable(true)
+                .uniqueResult());
+  }
 }
@@ -0,0 +1,737 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The active warehouses as of one generation of the {@link WarehouseReadModel}, indexed by
+ * business unit code and by location. Never changes once built; the next generation is a copy.
+ *
+ * Rows are ordered by the bytes of their code and cut into segments of about
+ * {@value #SEGMENT_ROWS} rows. Each segment stores its rows column by column in its own direct
+ * buffer, outside the heap the GC scans: ids, versions and creation times (epoch seconds, UTC) as
+ * longs, capacity, stock and location as ints, and the codes as UTF-8 bytes with an offset per
+ * row. Locations are dictionary encoded, as there are only a few of them, and a second column
+ * lists the rows of each location. A code is found by binary search over the segments and then
+ * within one. A row costs about 44 bytes plus its code; {@link Entry} objects are only created for
+ * the rows a request reads.
+ *
+ * The next generation shares the segments a change does not touch, so a write copies only the
+ * segments holding its codes, not the whole snapshot. Every new segment is sized before any
+ * buffer is allocated, and a generation estimated over the caller's budget is not built at all.
+ */
+public final class WarehouseSnapshot {
+
+  /** Rows per segment when built from scratch; a segment that grows past twice this is split. */
+  static final int SEGMENT_ROWS = 4096;
+
+  /** Stands for null in the long and int columns; no id, version or count takes these values. */
+  private static final long NULL_LONG = Long.MIN_VALUE;
+
+  private static final int NULL_INT = Integer.MIN_VALUE;
+
+  /** Fixed bytes per row: id, version, created at, capacity, stock, location, code offset, row. */
+  private static final int ROW_BYTES = 3 * Long.BYTES + 5 * Integer.BYTES;
+
+  /** Heap part of a segment: the object, its dictionary and index arrays, the buffer object. */
+  private static final int SEGMENT_HEAP_BYTES = 256;
+
+  /** Heap part of a generation: this object and its location index, plus per segment. */
+  private static final int HEAP_BYTES = 256;
+
+  private static final int HEAP_BYTES_PER_SEGMENT = 16;
+
+  private final long generation;
+  private final Instant builtAt;
+
+  /** In code order; none is empty. */
+  private final Segment[] segments;
+
+  /** Row of {@link #all()} each segment starts at, and the size at the end. */
+  private final int[] segmentStarts;
+
+  private final int locations;
+  private final long estimatedBytes;
+
+  private WarehouseSnapshot(long generation, Segment[] segments) {
+    this.generation = generation;
+    this.builtAt = Instant.now();
+    this.segments = segments;
+    this.segmentStarts = new int[segments.length + 1];
+    long segmentBytes = 0;
+    Set<String> names = new HashSet<>();
+    for (int i = 0; i < segments.length; i++) {
+      segmentStarts[i + 1] = segmentStarts[i] + segments[i].size;
+      segmentBytes += segments[i].estimatedBytes;
+      names.addAll(Arrays.asList(segments[i].dictionary));
+    }
+    this.locations = names.size();
+    this.estimatedBytes = estimate(segmentBytes, segments.length, names);
+  }
+
+  static WarehouseSnapshot of(long generation, Collection<Entry> entries) {
+    return of(generation, entries, Long.MAX_VALUE);
+  }
+
+  /**
+   * A generation of exactly {@code entries}, or null if it is estimated at more than
+   * {@code maxBytes}; nothing is allocated then.
+   */
+  static WarehouseSnapshot of(long generation, Collection<Entry> entries, long maxBytes) {
+    List<Encoded> encoded = encode(entries);
+    List<Piece> pieces = pieces(null, merge(null, null, encoded), encoded);
+    Set<String> names = new HashSet<>();
+    long segmentBytes = 0;
+    for (Piece piece : pieces) {
+      segmentBytes += piece.estimatedBytes();
+    }
+    for (Encoded entry : encoded) {
+      if (entry.entry().location() != null) {
+        names.add(entry.entry().location());
+      }
+    }
+    if (estimate(segmentBytes, pieces.size(), names) > maxBytes) {
+      return null;
+    }
+    return new WarehouseSnapshot(
+        generation, pieces.stream().map(Piece::build).toArray(Segment[]::new));
+  }
+
+  WarehouseSnapshot withChanges(Collection<String> codes, Collection<Entry> active) {
+    return withChanges(codes, active, Long.MAX_VALUE);
+  }
+
+  /**
+   * The next generation: this one with the given codes replaced by their current active rows
+   * ({@code active}); codes without an active row are dropped. Only the segments holding changed
+   * codes are rebuilt, copying their unchanged rows column by column without decoding them; the
+   * others are shared with this generation. Null if the result is estimated at more than
+   * {@code maxBytes}, in which case no segment is built.
+   */
+  WarehouseSnapshot withChanges(
+      Collection<String> codes, Collection<Entry> active, long maxBytes) {
+    // The rows each touched segment loses and the ones it gains, by segment index
+    Map<Integer, BitSet> dropped = new TreeMap<>();
+    Map<Integer, List<Encoded>> added = new TreeMap<>();
+    List<Encoded> encoded = encode(active);
+    for (String code : codes) {
+      drop(utf8(code), dropped);
+    }
+    for (Encoded entry : encoded) {
+      int segment = drop(entry.code(), dropped);
+      added.computeIfAbsent(segment, s -> new ArrayList<>()).add(entry);
+    }
+    Set<Integer> touched = new HashSet<>(dropped.keySet());
+    touched.addAll(added.keySet());
+
+    Map<Integer, List<Piece>> rebuilt = new HashMap<>();
+    long segmentBytes = 0;
+    int segmentCount = 0;
+    for (int i = 0; i < Math.max(segments.length, 1); i++) {
+      if (!touched.contains(i)) {
+        if (i < segments.length) {
+          segmentBytes += segments[i].estimatedBytes;
+          segmentCount++;
+        }
+        continue;
+      }
+      Segment previous = i < segments.length ? segments[i] : null;
+      List<Encoded> gained = added.getOrDefault(i, List.of());
+      List<Piece> pieces =
+          pieces(previous, merge(previous, dropped.get(i), gained), gained);
+      for (Piece piece : pieces) {
+        segmentBytes += piece.estimatedBytes();
+      }
+      segmentCount += pieces.size();
+      rebuilt.put(i, pieces);
+    }
+    // Locations of the shared segments and the new rows; a dropped one may still be counted
+    Set<String> names = new HashSet<>();
+    for (Segment segment : segments) {
+      names.addAll(Arrays.asList(segment.dictionary));
+    }
+    for (Encoded entry : encoded) {
+      if (entry.entry().location() != null) {
+        names.add(entry.entry().location());
+      }
+    }
+    if (estimate(segmentBytes, segmentCount, names) > maxBytes) {
+      return null;
+    }
+
+    List<Segment> next = new ArrayList<>(segmentCount);
+    for (int i = 0; i < Math.max(segments.length, 1); i++) {
+      List<Piece> pieces = rebuilt.get(i);
+      if (pieces != null) {
+        pieces.forEach(piece -> next.add(piece.build()));
+      } else if (i < segments.length) {
+        next.add(segments[i]);
+      }
+    }
+    return new WarehouseSnapshot(generation + 1, next.toArray(Segment[]::new));
+  }
+
+  /** Marks the row holding the code as dropped, if any, and returns the segment it belongs in. */
+  private int drop(byte[] code, Map<Integer, BitSet> dropped) {
+    int segment = segmentFor(code);
+    if (segment < segments.length) {
+      int row = segments[segment].rowOf(code);
+      if (row >= 0) {
+        dropped.computeIfAbsent(segment, s -> new BitSet(segments[s].size)).set(row);
+      }
+    }
+    return segment;
+  }
+
+  public long generation() {
+    return generation;
+  }
+
+  public Instant builtAt() {
+    return builtAt;
+  }
+
+  /** Active warehouses ordered by business unit code, decoded as they are read. */
+  public List<Entry> all() {
+    return new AllRows();
+  }
+
+  public Entry byCode(String businessUnitCode) {
+    if (businessUnitCode == null || segments.length == 0) {
+      return null;
+    }
+    byte[] key = utf8(businessUnitCode);
+    Segment segment = segments[segmentFor(key)];
+    int row = segment.rowOf(key);
+    return row < 0 ? null : segment.entry(row);
+  }
+
+  public List<Entry> byLocation(String location) {
+    if (location == null) {
+      return List.of();
+    }
+    List<List<Entry>> parts = new ArrayList<>();
+    for (Segment segment : segments) {
+      List<Entry> rows = segment.byLocation(location);
+      if (!rows.isEmpty()) {
+        parts.add(rows);
+      }
+    }
+    return switch (parts.size()) {
+      case 0 -> List.of();
+      case 1 -> parts.get(0);
+      default -> new Concatenation(parts);
+    };
+  }
+
+  public int size() {
+    return segmentStarts[segments.length];
+  }
+
+  public int locations() {
+    return locations;
+  }
+
+  /** Footprint of this generation: the off-heap columns of its segments and the heap part. */
+  public long estimatedBytes() {
+    return estimatedBytes;
+  }
+
+  /** Segments in this generation; the ones a write did not touch are shared with the last. */
+  int segments() {
+    return segments.length;
+  }
+
+  /**
+   * The segment a code is in or would be inserted into: the first whose last code is not below
+   * it, else the last one (0 while there are none).
+   */
+  private int segmentFor(byte[] key) {
+    int low = 0;
+    int high = segments.length - 1;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      Segment segment = segments[middle];
+      if (segment.compareCode(segment.size - 1, key) < 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return Math.max(low, 0);
+  }
+
+  private static long estimate(long segmentBytes, int segmentCount, Set<String> locations) {
+    long bytes = segmentBytes + HEAP_BYTES + (long) HEAP_BYTES_PER_SEGMENT * segmentCount;
+    for (String name : locations) {
+      bytes += 64 + name.length();
+    }
+    return bytes;
+  }
+
+  /** One row per code, the later one on duplicates, encoded and in code byte order. */
+  private static List<Encoded> encode(Collection<Entry> entries) {
+    Map<String, Entry> latest = new HashMap<>();
+    for (Entry entry : entries) {
+      latest.merge(entry.businessUnitCode(), entry, Entry::later);
+    }
+    List<Encoded> encoded = new ArrayList<>(latest.size());
+    for (Entry entry : latest.values()) {
+      encoded.add(new Encoded(utf8(entry.businessUnitCode()), entry));
+    }
+    encoded.sort((a, b) -> Arrays.compareUnsigned(a.code(), b.code()));
+    return encoded;
+  }
+
+  /**
+   * The rows of a segment rebuilt from {@code previous} (may be null) without its
+   * {@code dropped} rows and with {@code entries} merged in, in code order: >= 0 is a previous
+   * row, < 0 is -(index + 1) into entries.
+   */
+  private static int[] merge(Segment previous, BitSet dropped, List<Encoded> entries) {
+    int kept = previous == null ? 0 : previous.size - (dropped == null ? 0 : dropped.cardinality());
+    int[] sources = new int[kept + entries.size()];
+    int row = 0;
+    int next = 0;
+    int previousRow = nextKept(previous, dropped, 0);
+    while (previousRow >= 0 || next < entries.size()) {
+      boolean takePrevious =
+          previousRow >= 0
+              && (next == entries.size()
+                  || previous.compareCode(previousRow, entries.get(next).code()) < 0);
+      if (takePrevious) {
+        sources[row++] = previousRow;
+        previousRow = nextKept(previous, dropped, previousRow + 1);
+      } else {
+        sources[row++] = -(next + 1);
+        next++;
+      }
+    }
+    return sources;
+  }
+
+  private static int nextKept(Segment previous, BitSet dropped, int from) {
+    if (previous == null) {
+      return -1;
+    }
+    int row = dropped == null ? from : dropped.nextClearBit(from);
+    return row < previous.size ? row : -1;
+  }
+
+  /**
+   * Cuts merged rows into segments: none if there are no rows, one if they fit in twice
+   * {@link #SEGMENT_ROWS}, else pieces of about {@link #SEGMENT_ROWS} rows.
+   */
+  private static List<Piece> pieces(Segment previous, int[] sources, List<Encoded> entries) {
+    int rows = sources.length;
+    if (rows == 0) {
+      return List.of();
+    }
+    int count = rows <= 2 * SEGMENT_ROWS ? 1 : (rows + SEGMENT_ROWS - 1) / SEGMENT_ROWS;
+    List<Piece> pieces = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      int from = (int) ((long) rows * i / count);
+      int to = (int) ((long) rows * (i + 1) / count);
+      long codeBytes = 0;
+      for (int row = from; row < to; row++) {
+        int source = sources[row];
+        codeBytes +=
+            source >= 0 ? previous.codeLength(source) : entries.get(-source - 1).code().length;
+      }
+      pieces.add(new Piece(previous, sources, from, to, entries, codeBytes));
+    }
+    return pieces;
+  }
+
+  private static byte[] utf8(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static long orNull(Long value) {
+    return value == null ? NULL_LONG : value;
+  }
+
+  private static int orNull(Integer value) {
+    return value == null ? NULL_INT : value;
+  }
+
+  private static Long nullableLong(long value) {
+    return value == NULL_LONG ? null : value;
+  }
+
+  private static Integer nullableInt(int value) {
+    return value == NULL_INT ? null : value;
+  }
+
+  /** Rows {@code from} to {@code to} of merged {@code sources}, sized but not yet allocated. */
+  private record Piece(
+      Segment previous,
+      int[] sources,
+      int from,
+      int to,
+      List<Encoded> entries,
+      long codeBytes) {
+
+    long capacity() {
+      return (long) ROW_BYTES * (to - from) + Integer.BYTES + codeBytes;
+    }
+
+    long estimatedBytes() {
+      return capacity() + SEGMENT_HEAP_BYTES;
+    }
+
+    Segment build() {
+      return new Segment(this);
+    }
+  }
+
+  /** A run of rows in code order, stored column by column in one direct buffer. */
+  private static final class Segment {
+
+    private final int size;
+
+    private final ByteBuffer data;
+    private final int ids;
+    private final int versions;
+    private final int createdAts;
+    private final int capacities;
+    private final int stocks;
+    private final int locationIds;
+    private final int codeOffsets;
+    private final int rowsByLocation;
+    private final int codeBytes;
+
+    /** Location of each dictionary id, and where its rows start in {@code rowsByLocation}. */
+    private final String[] dictionary;
+    private final int[] locationStarts;
+    private final Map<String, Integer> locationIdsByName;
+
+    private final long estimatedBytes;
+
+    private Segment(Piece piece) {
+      Segment previous = piece.previous();
+      this.size = piece.to() - piece.from();
+      long capacity = piece.capacity();
+      if (capacity > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException(
+            "Warehouse snapshot segment too large: " + size + " rows, " + capacity + " bytes");
+      }
+      this.data = ByteBuffer.allocateDirect((int) capacity);
+      this.ids = 0;
+      this.versions = ids + Long.BYTES * size;
+      this.createdAts = versions + Long.BYTES * size;
+      this.capacities = createdAts + Long.BYTES * size;
+      this.stocks = capacities + Integer.BYTES * size;
+      this.locationIds = stocks + Integer.BYTES * size;
+      this.rowsByLocation = locationIds + Integer.BYTES * size;
+      this.codeOffsets = rowsByLocation + Integer.BYTES * size;
+      this.codeBytes = codeOffsets + Integer.BYTES * (size + 1);
+
+      Map<String, Integer> locationIdsByName = new HashMap<>();
+      List<String> dictionary = new ArrayList<>();
+      int codeOffset = 0;
+      for (int row = 0; row < size; row++) {
+        int source = piece.sources()[piece.from() + row];
+        String location;
+        if (source >= 0) {
+          putLong(ids, row, previous.longAt(previous.ids, source));
+          putLong(versions, row, previous.longAt(previous.versions, source));
+          putLong(createdAts, row, previous.longAt(previous.createdAts, source));
+          putInt(capacities, row, previous.intAt(previous.capacities, source));
+          putInt(stocks, row, previous.intAt(previous.stocks, source));
+          location = previous.location(source);
+          int length = previous.codeLength(source);
+          data.put(
+              codeBytes + codeOffset,
+              previous.data,
+              previous.codeBytes + previous.codeStart(source),
+              length);
+          putInt(codeOffsets, row, codeOffset);
+          codeOffset += length;
+        } else {
+          Encoded encoded = piece.entries().get(-source - 1);
+          Entry entry = encoded.entry();
+          putLong(ids, row, orNull(entry.id()));
+          putLong(versions, row, orNull(entry.version()));
+          putLong(
+              createdAts,
+              row,
+              entry.createdAt() == null
+                  ? NULL_LONG
+                  : entry.createdAt().toEpochSecond(ZoneOffset.UTC));
+          putInt(capacities, row, orNull(entry.capacity()));
+          putInt(stocks, row, orNull(entry.stock()));
+          location = entry.location();
+          data.put(codeBytes + codeOffset, encoded.code());
+          putInt(codeOffsets, row, codeOffset);
+          codeOffset += encoded.code().length;
+        }
+        int locationId = NULL_INT;
+        if (location != null) {
+          locationId =
+              locationIdsByName.computeIfAbsent(
+                  location,
+                  name -> {
+                    dictionary.add(name);
+                    return dictionary.size() - 1;
+                  });
+        }
+        putInt(locationIds, row, locationId);
+      }
+      putInt(codeOffsets, size, codeOffset);
+
+      // Rows per location, in code order within each: a counting sort over the location column
+      int[] starts = new int[dictionary.size() + 1];
+      for (int row = 0; row < size; row++) {
+        int locationId = intAt(locationIds, row);
+        if (locationId != NULL_INT) {
+          starts[locationId + 1]++;
+        }
+      }
+      for (int i = 0; i < dictionary.size(); i++) {
+        starts[i + 1] += starts[i];
+      }
+      int[] filled = starts.clone();
+      for (int row = 0; row < size; row++) {
+        int locationId = intAt(locationIds, row);
+        if (locationId != NULL_INT) {
+          putInt(rowsByLocation, filled[locationId]++, row);
+        }
+      }
+
+      this.dictionary = dictionary.toArray(String[]::new);
+      this.locationStarts = starts;
+      this.locationIdsByName = locationIdsByName;
+      this.estimatedBytes = piece.estimatedBytes();
+    }
+
+    List<Entry> byLocation(String location) {
+      Integer locationId = locationIdsByName.get(location);
+      if (locationId == null) {
+        return List.of();
+      }
+      return new LocationRows(locationStarts[locationId], locationStarts[locationId + 1]);
+    }
+
+    private Entry entry(int row) {
+      long createdAt = longAt(createdAts, row);
+      return new Entry(
+          nullableLong(longAt(ids, row)),
+          nullableLong(longAt(versions, row)),
+          code(row),
+          location(row),
+          nullableInt(intAt(capacities, row)),
+          nullableInt(intAt(stocks, row)),
+          createdAt == NULL_LONG
+              ? null
+              : LocalDateTime.ofEpochSecond(createdAt, 0, ZoneOffset.UTC));
+    }
+
+    /** Row holding the code, or -1. */
+    private int rowOf(byte[] key) {
+      int low = 0;
+      int high = size - 1;
+      while (low <= high) {
+        int middle = (low + high) >>> 1;
+        int comparison = compareCode(middle, key);
+        if (comparison < 0) {
+          low = middle + 1;
+        } else if (comparison > 0) {
+          high = middle - 1;
+        } else {
+          return middle;
+        }
+      }
+      return -1;
+    }
+
+    private String code(int row) {
+      byte[] code = new byte[codeLength(row)];
+      data.get(codeBytes + codeStart(row), code);
+      return new String(code, StandardCharsets.UTF_8);
+    }
+
+    private String location(int row) {
+      int locationId = intAt(locationIds, row);
+      return locationId == NULL_INT ? null : dictionary[locationId];
+    }
+
+    private int codeStart(int row) {
+      return intAt(codeOffsets, row);
+    }
+
+    private int codeLength(int row) {
+      return intAt(codeOffsets, row + 1) - codeStart(row);
+    }
+
+    private long longAt(int column, int row) {
+      return data.getLong(column + row * Long.BYTES);
+    }
+
+    private int intAt(int column, int row) {
+      return data.getInt(column + row * Integer.BYTES);
+    }
+
+    private void putLong(int column, int row, long value) {
+      data.putLong(column + row * Long.BYTES, value);
+    }
+
+    private void putInt(int column, int row, int value) {
+      data.putInt(column + row * Integer.BYTES, value);
+    }
+
+    /** Compares a row's code with {@code key} as unsigned bytes, without decoding it. */
+    private int compareCode(int row, byte[] key) {
+      int start = codeBytes + codeStart(row);
+      int length = codeLength(row);
+      for (int i = 0; i < Math.min(length, key.length); i++) {
+        int comparison = Byte.compareUnsigned(data.get(start + i), key[i]);
+        if (comparison != 0) {
+          return comparison;
+        }
+      }
+      return Integer.compare(length, key.length);
+    }
+
+    /** Positions {@code from} to {@code to} of the per-location row column. */
+    private final class LocationRows extends AbstractList<Entry> implements RandomAccess {
+
+      private final int from;
+      private final int to;
+
+      LocationRows(int from, int to) {
+        this.from = from;
+        this.to = to;
+      }
+
+      @Override
+      public Entry get(int index) {
+        if (index < 0 || index >= to - from) {
+          throw new IndexOutOfBoundsException(index);
+        }
+        return entry(intAt(rowsByLocation, from + index));
+      }
+
+      @Override
+      public int size() {
+        return to - from;
+      }
+    }
+  }
+
+  /** Every row across the segments, in code order. */
+  private final class AllRows extends AbstractList<Entry> implements RandomAccess {
+
+    @Override
+    public Entry get(int index) {
+      if (index < 0 || index >= size()) {
+        throw new IndexOutOfBoundsException(index);
+      }
+      int segment = Arrays.binarySearch(segmentStarts, index);
+      // Segments are never empty, so an exact match is the segment starting there
+      segment = segment >= 0 ? segment : -segment - 2;
+      return segments[segment].entry(index - segmentStarts[segment]);
+    }
+
+    @Override
+    public int size() {
+      return WarehouseSnapshot.this.size();
+    }
+  }
+
+  /** The rows of one location from consecutive segments, in code order. */
+  private static final class Concatenation extends AbstractList<Entry> implements RandomAccess {
+
+    private final List<List<Entry>> parts;
+    private final int[] starts;
+
+    Concatenation(List<List<Entry>> parts) {
+      this.parts = parts;
+      this.starts = new int[parts.size() + 1];
+      for (int i = 0; i < parts.size(); i++) {
+        starts[i + 1] = starts[i] + parts.get(i).size();
+      }
+    }
+
+    @Override
+    public Entry get(int index) {
+      if (index < 0 || index >= size()) {
+        throw new IndexOutOfBoundsException(index);
+      }
+      int part = Arrays.binarySearch(starts, index);
+      part = part >= 0 ? part : -part - 2;
+      return parts.get(part).get(index - starts[part]);
+    }
+
+    @Override
+    public int size() {
+      return starts[parts.size()];
+    }
+  }
+
+  /** A new row's code, encoded once for sorting and copying. */
+  private record Encoded(byte[] code, Entry entry) {}
+
+  /**
+   * An active warehouse as read from its row; {@code version} tells generations of a row apart.
+   * {@code createdAt} is kept to the second, as the snapshot stores it.
+   */
+  public record Entry(
+      Long id,
+      Long version,
+      String businessUnitCode,
+      String location,
+      Integer capacity,
+      Integer stock,
+      LocalDateTime createdAt) {
+
+    static Entry of(DbWarehouse warehouse) {
+      return new Entry(
+          warehouse.id,
+          warehouse.version,
+          warehouse.businessUnitCode,
+          warehouse.location,
+          warehouse.capacity,
+          warehouse.stock,
+          warehouse.createdAt == null
+              ? null
+              : warehouse.createdAt.truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    /** As the domain model; an entry is always active. */
+    Warehouse toWarehouse() {
+      Warehouse warehouse = new Warehouse();
+      warehouse.businessUnitCode = businessUnitCode;
+      warehouse.location = location;
+      warehouse.capacity = capacity;
+      warehouse.stock = stock;
+      warehouse.createdAt = createdAt;
+      return warehouse;
+    }
+
+    /**
+     * Of two active rows with one code, which the unique index on active rows rules out where it
+     * exists, the later inserted one.
+     */
+    static Entry later(Entry a, Entry b) {
+      return a.id() > b.id() ? a : b;
+    }
+  }
+}
@@ -0,0 +1,253 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import com.warehouse.api.beans.Warehouse;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Writes warehouse API beans (single or as a collection) straight into the response stream,
+ * replacing the reflection-based Jackson serialization on the hottest endpoints.
+ *
+ * Output matches the Jackson rendering of the generated bean: properties in schema order, {@code
+ * null} properties left out. Encoding happens in a per-thread buffer that is reused across
+ * responses, so a response costs no allocation beyond the beans themselves.
+ */
+@Provider
+@Produces(MediaType.APPLICATION_JSON)
+public class WarehouseJsonWriter implements MessageBodyWriter<Object> {
+
+  /** Collections are written in slices of this size, keeping the reused buffer small. */
+  static final int FLUSH_THRESHOLD = 8 * 1024;
+
+  /** Buffers that grew beyond this (huge strings) are dropped rather than kept per thread. */
+  private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+  private static final ThreadLocal<JsonBuffer> BUFFERS = ThreadLocal.withInitial(JsonBuffer::new);
+
+  @Override
+  public boolean isWriteable(
+      Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+    if (Warehouse.class.isAssignableFrom(type)) {
+      return true;
+    }
+    return Collection.class.isAssignableFrom(type)
+        && genericType instanceof ParameterizedType parameterized
+        && parameterized.getActualTypeArguments()[0] == Warehouse.class;
+  }
+
+  @Override
+  public void writeTo(
+      Object entity,
+      Class<?> type,
+      Type genericType,
+      Annotation[] annotations,
+      MediaType mediaType,
+      MultivaluedMap<String, Object> httpHeaders,
+      OutputStream out)
+      throws IOException {
+    JsonBuffer buffer = BUFFERS.get();
+    try {
+      if (entity instanceof Collection<?> warehouses) {
+        writeArray(warehouses, buffer, out);
+      } else {
+        write((Warehouse) entity, buffer);
+      }
+      buffer.writeTo(out);
+    } finally {
+      buffer.reset();
+      if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+        BUFFERS.remove();
+      }
+    }
+  }
+
+  static void writeArray(Collection<?> warehouses, JsonBuffer buffer, OutputStream out)
+      throws IOException {
+    buffer.writeByte('[');
+    boolean first = true;
+    for (Object warehouse : warehouses) {
+      if (!first) {
+        buffer.writeByte(',');
+      }
+      first = false;
+      write((Warehouse) warehouse, buffer);
+      if (buffer.length() >= FLUSH_THRESHOLD) {
+        buffer.writeTo(out);
+        buffer.reset();
+      }
+    }
+    buffer.writeByte(']');
+  }
+
+  static void write(Warehouse warehouse, JsonBuffer buffer) {
+    if (warehouse == null) {
+      buffer.writeAscii("null");
+      return;
+    }
+    buffer.writeByte('{');
+    boolean empty = true;
+    if (warehouse.getId() != null) {
+      empty = buffer.writeName("\"id\":", empty);
+      buffer.writeString(warehouse.getId());
+    }
+    if (warehouse.getBusinessUnitCode() != null) {
+      empty = buffer.writeName("\"businessUnitCode\":", empty);
+      buffer.writeString(warehouse.getBusinessUnitCode());
+    }
+    if (warehouse.getLocation() != null) {
+      empty = buffer.writeName("\"location\":", empty);
+      buffer.writeString(warehouse.getLocation());
+    }
+    if (warehouse.getCapacity() != null) {
+      empty = buffer.writeName("\"capacity\":", empty);
+      buffer.writeInt(warehouse.getCapacity());
+    }
+    if (warehouse.getStock() != null) {
+      buffer.writeName("\"stock\":", empty);
+      buffer.writeInt(warehouse.getStock());
+    }
+    buffer.writeByte('}');
+  }
+
+  /** Growable UTF-8 byte buffer with just the JSON primitives a warehouse needs. */
+  static final class JsonBuffer {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private byte[] bytes = new byte[FLUSH_THRESHOLD + 512];
+    private int length;
+
+    int length() {
+      return length;
+    }
+
+    int capacity() {
+      return bytes.length;
+    }
+
+    void reset() {
+      length = 0;
+    }
+
+    void writeTo(OutputStream out) throws IOException {
+      out.write(bytes, 0, length);
+    }
+
+    void writeByte(int b) {
+      ensureCapacity(1);
+      bytes[length++] = (byte) b;
+    }
+
+    /** Appends a literal known to be plain ASCII that needs no escaping. */
+    void writeAscii(String literal) {
+      int count = literal.length();
+      ensureCapacity(count);
+      for (int i = 0; i < count; i++) {
+        bytes[length++] = (byte) literal.charAt(i);
+      }
+    }
+
+    /** Appends a quoted property name (with its colon), preceded by a comma unless first. */
+    boolean writeName(String quotedNameAndColon, boolean first) {
+      if (!first) {
+        writeByte(',');
+      }
+      writeAscii(quotedNameAndColon);
+      return false;
+    }
+
+    void writeInt(int value) {
+      if (value == Integer.MIN_VALUE) {
+        writeAscii("-2147483648");
+        return;
+      }
+      ensureCapacity(11);
+      int v = value;
+      if (v < 0) {
+        bytes[length++] = '-';
+        v = -v;
+      }
+      int digits = 1;
+      for (int rest = v / 10; rest > 0; rest /= 10) {
+        digits++;
+      }
+      for (int pos = length + digits - 1; pos >= length; pos--) {
+        bytes[pos] = (byte) ('0' + v % 10);
+        v /= 10;
+      }
+      length += digits;
+    }
+
+    void writeString(String value) {
+      int count = value.length();
+      // Worst case per char: a six byte \\u escape, or three UTF-8 bytes
+      ensureCapacity(count * 6 + 2);
+      bytes[length++] = '"';
+      for (int i = 0; i < count; i++) {
+        char c = value.charAt(i);
+        if (c == '"' || c == '\\') {
+          bytes[length++] = '\\';
+          bytes[length++] = (byte) c;
+        } else if (c < 0x20) {
+          writeControl(c);
+        } else if (c < 0x80) {
+          bytes[length++] = (byte) c;
+        } else if (c < 0x800) {
+          bytes[length++] = (byte) (0xC0 | (c >> 6));
+          bytes[length++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c)
+            && i + 1 < count
+            && Character.isLowSurrogate(value.charAt(i + 1))) {
+          int codePoint = Character.toCodePoint(c, value.charAt(++i));
+          bytes[length++] = (byte) (0xF0 | (codePoint >> 18));
+          bytes[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+          bytes[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+          bytes[length++] = (byte) (0x80 | (codePoint & 0x3F));
+        } else if (Character.isSurrogate(c)) {
+          // Unpaired surrogate: not encodable in UTF-8, replaced like String.getBytes does
+          bytes[length++] = '?';
+        } else {
+          bytes[length++] = (byte) (0xE0 | (c >> 12));
+          bytes[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+          bytes[length++] = (byte) (0x80 | (c & 0x3F));
+        }
+      }
+      bytes[length++] = '"';
+    }
+
+    private void writeControl(char c) {
+      bytes[length++] = '\\';
+      switch (c) {
+        case '\n' -> bytes[length++] = 'n';
+        case '\r' -> bytes[length++] = 'r';
+        case '\t' -> bytes[length++] = 't';
+        case '\b' -> bytes[length++] = 'b';
+        case '\f' -> bytes[length++] = 'f';
+        default -> {
+          bytes[length++] = 'u';
+          bytes[length++] = '0';
+          bytes[length++] = '0';
+          bytes[length++] = HEX[c >> 4];
+          bytes[length++] = HEX[c & 0xF];
+        }
+      }
+    }
+
+    private void ensureCapacity(int extra) {
+      if (length + extra > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+      }
+    }
+  }
+}
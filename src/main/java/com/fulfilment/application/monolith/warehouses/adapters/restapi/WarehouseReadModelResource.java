@@ -0,0 +1,35 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseReadModel;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.WebApplicationException;
+
+/** Generation, size and hit rate of the warehouse read model, and its consistency check. */
+@Path("warehouse-read-model")
+@ApplicationScoped
+@Produces("application/json")
+public class WarehouseReadModelResource {
+
+  @Inject WarehouseReadModel warehouseReadModel;
+
+  @GET
+  public WarehouseReadModel.Stats stats() {
+    return warehouseReadModel.stats();
+  }
+
+  /** Compares the read model with the database; {@code repair=true} rebuilds it if they differ. */
+  @POST
+  @Path("check")
+  public WarehouseReadModel.CheckResult check(@QueryParam("repair") boolean repair) {
+    if (!warehouseReadModel.isEnabled()) {
+      throw new WebApplicationException("The warehouse read model is disabled", 409);
+    }
+    return warehouseReadModel.check(repair);
+  }
+}
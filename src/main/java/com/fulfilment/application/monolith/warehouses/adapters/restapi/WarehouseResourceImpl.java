@@ -1,47 +1,66 @@
 package com.fulfilment.application.monolith.warehouses.adapters.restapi;
 
+import com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse;
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseReadModel;
 import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository;
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseSnapshot;
+import com.fulfilment.application.monolith.warehouses.domain.models.ArchiveOutcome;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseUnit;
 import com.fulfilment.application.monolith.warehouses.domain.ports.ArchiveWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.domain.ports.CreateWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.domain.ports.ReplaceWarehouseOperation;
 import com.warehouse.api.WarehouseResource;
 import com.warehouse.api.beans.Warehouse;
+import com.warehouse.api.beans.WarehouseArchiveOutcome;
+import com.warehouse.api.beans.WarehouseArchiveRequest;
+import com.warehouse.api.beans.WarehouseArchiveResult;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.WebApplicationException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @RequestScoped
 public class WarehouseResourceImpl implements WarehouseResource {
 
   @Inject private WarehouseRepository warehouseRepository;
+  @Inject private WarehouseReadModel warehouseReadModel;
   @Inject private CreateWarehouseOperation createWarehouseOperation;
   @Inject private ArchiveWarehouseOperation archiveWarehouseOperation;
   @Inject private ReplaceWarehouseOperation replaceWarehouseOperation;
 
   @Override
-  public List<Warehouse> listAllWarehousesUnits() {
-    return warehouseRepository.getAll().stream().map(this::toWarehouseResponse).toList();
+  public List<Warehouse> listAllWarehousesUnits(Boolean includeArchived) {
+    if (!Boolean.TRUE.equals(includeArchived)) {
+      List<WarehouseSnapshot.Entry> active = warehouseReadModel.listActive();
+      if (active != null) {
+        return active.stream().map(WarehouseResourceImpl::toWarehouseResponse).toList();
+      }
+    }
+    // Read-only: entities map straight to the API bean, WarehouseJsonWriter serializes them
+    return warehouseRepository.getAllEntities(Boolean.TRUE.equals(includeArchived)).stream()
+        .map(WarehouseResourceImpl::toWarehouseResponse)
+        .toList();
   }
 
+  /** A dry run validates outside any transaction; only a real create opens one. */
   @Override
-  @Transactional
-  public Warehouse createANewWarehouseUnit(@NotNull Warehouse data) {
-    // Convert API model to domain model
-    var domainWarehouse = new com.fulfilment.application.monolith.warehouses.domain.models.Warehouse();
-    domainWarehouse.businessUnitCode = data.getBusinessUnitCode();
-    domainWarehouse.location = data.getLocation();
-    domainWarehouse.capacity = data.getCapacity();
-    domainWarehouse.stock = data.getStock() != null ? data.getStock() : 0;
-
+  public Warehouse createANewWarehouseUnit(Boolean dryRun, @NotNull Warehouse data) {
     try {
-      // Create warehouse through use case (includes validations)
-      createWarehouseOperation.create(domainWarehouse);
-      
+      // Convert API model to domain model, then create through the use case (validations)
+      var warehouse = toWarehouseUnit(data.getBusinessUnitCode(), data);
+      var created =
+          Boolean.TRUE.equals(dryRun)
+              ? createWarehouseOperation.preview(warehouse)
+              : QuarkusTransaction.requiringNew()
+                  .call(() -> createWarehouseOperation.create(warehouse));
+
       // Return the created warehouse
-      return toWarehouseResponse(domainWarehouse);
+      return toWarehouseResponse(created);
     } catch (IllegalArgumentException e) {
       throw new WebApplicationException(e.getMessage(), 400);
     }
@@ -49,14 +68,20 @@ public class WarehouseResourceImpl implements WarehouseResource {
 
   @Override
   public Warehouse getAWarehouseUnitByID(String id) {
+    // Active warehouses from the read model; archived-only codes still need the database
+    var entry = warehouseReadModel.findActive(id);
+    if (entry != null) {
+      return toWarehouseResponse(entry);
+    }
+
     // Find warehouse by business unit code
-    var domainWarehouse = warehouseRepository.findByBusinessUnitCode(id);
-    
-    if (domainWarehouse == null) {
+    var dbWarehouse = warehouseRepository.findEntityByBusinessUnitCode(id);
+
+    if (dbWarehouse == null) {
       throw new WebApplicationException("Warehouse with business unit code '" + id + "' not found", 404);
     }
-    
-    return toWarehouseResponse(domainWarehouse);
+
+    return toWarehouseResponse(dbWarehouse);
   }
 
   @Override
@@ -79,29 +104,81 @@ public class WarehouseResourceImpl implements WarehouseResource {
 
   @Override
   @Transactional
-  public Warehouse replaceTheCurrentActiveWarehouse(
-      String businessUnitCode, @NotNull Warehouse data) {
-    // Convert API model to domain model
-    var domainWarehouse = new com.fulfilment.application.monolith.warehouses.domain.models.Warehouse();
-    domainWarehouse.businessUnitCode = businessUnitCode; // Use businessUnitCode from path
-    domainWarehouse.location = data.getLocation();
-    domainWarehouse.capacity = data.getCapacity();
-    domainWarehouse.stock = data.getStock() != null ? data.getStock() : 0;
+  public WarehouseArchiveResult archiveWarehouseUnitsInBulk(@NotNull WarehouseArchiveRequest data) {
+    boolean byLocation = data.getLocation() != null && !data.getLocation().isBlank();
+    boolean byCodes = data.getBusinessUnitCodes() != null && !data.getBusinessUnitCodes().isEmpty();
+    if (byLocation == byCodes) {
+      throw new WebApplicationException(
+          "Exactly one of 'location' or 'businessUnitCodes' must be given", 400);
+    }
+
+    Map<String, ArchiveOutcome> outcomes =
+        byLocation
+            ? archiveWarehouseOperation.archiveAllAtLocation(data.getLocation())
+            : archiveWarehouseOperation.archiveAll(data.getBusinessUnitCodes());
+
+    List<WarehouseArchiveOutcome> results = new ArrayList<>(outcomes.size());
+    int archived = 0;
+    for (Map.Entry<String, ArchiveOutcome> entry : outcomes.entrySet()) {
+      var result = new WarehouseArchiveOutcome();
+      result.setBusinessUnitCode(entry.getKey());
+      result.setStatus(entry.getValue().name());
+      results.add(result);
+      if (entry.getValue() == ArchiveOutcome.ARCHIVED) {
+        archived++;
+      }
+    }
+
+    var response = new WarehouseArchiveResult();
+    response.setArchived(archived);
+    response.setResults(results);
+    return response;
+  }
 
+  /** A dry run validates outside any transaction; only a real replacement opens one. */
+  @Override
+  public Warehouse replaceTheCurrentActiveWarehouse(
+      String businessUnitCode, Boolean dryRun, @NotNull Warehouse data) {
     try {
-      // Replace warehouse through use case (includes validations)
-      replaceWarehouseOperation.replace(domainWarehouse);
+      // Use businessUnitCode from path; replace through the use case (includes validations)
+      var warehouse = toWarehouseUnit(businessUnitCode, data);
+      var successor =
+          Boolean.TRUE.equals(dryRun)
+              ? replaceWarehouseOperation.preview(warehouse)
+              : QuarkusTransaction.requiringNew()
+                  .call(() -> replaceWarehouseOperation.replace(warehouse));
 
-      // Return the updated warehouse
-      var updated = warehouseRepository.findByBusinessUnitCode(businessUnitCode);
-      return toWarehouseResponse(updated);
+      // Return the successor as stored
+      return toWarehouseResponse(successor);
     } catch (IllegalArgumentException e) {
       throw new WebApplicationException(e.getMessage(), 400);
     }
   }
 
-  private Warehouse toWarehouseResponse(
-      com.fulfilment.application.monolith.warehouses.domain.models.Warehouse warehouse) {
+  /** Missing capacity is rejected by the builder; missing stock means 0. */
+  static WarehouseUnit toWarehouseUnit(String businessUnitCode, Warehouse data) {
+    var builder =
+        WarehouseUnit.builder().businessUnitCode(businessUnitCode).location(data.getLocation());
+    if (data.getCapacity() != null) {
+      builder.capacity(data.getCapacity());
+    }
+    if (data.getStock() != null) {
+      builder.stock(data.getStock());
+    }
+    return builder.build();
+  }
+
+  private static Warehouse toWarehouseResponse(WarehouseUnit warehouse) {
+    var response = new Warehouse();
+    response.setBusinessUnitCode(warehouse.businessUnitCode());
+    response.setLocation(warehouse.location());
+    response.setCapacity(warehouse.capacity());
+    response.setStock(warehouse.stock());
+
+    return response;
+  }
+
+  static Warehouse toWarehouseResponse(DbWarehouse warehouse) {
     var response = new Warehouse();
     response.setBusinessUnitCode(warehouse.businessUnitCode);
     response.setLocation(warehouse.location);
@@ -110,4 +187,14 @@ public class WarehouseResourceImpl implements WarehouseResource {
 
     return response;
   }
+
+  static Warehouse toWarehouseResponse(WarehouseSnapshot.Entry warehouse) {
+    var response = new Warehouse();
+    response.setBusinessUnitCode(warehouse.businessUnitCode());
+    response.setLocation(warehouse.location());
+    response.setCapacity(warehouse.capacity());
+    response.setStock(warehouse.stock());
+
+    return response;
+  }
 }
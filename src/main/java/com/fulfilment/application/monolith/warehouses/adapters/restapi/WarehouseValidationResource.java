@@ -0,0 +1,181 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationLoad;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseUnit;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ValidateWarehouseBatchOperation;
+import com.fulfilment.application.monolith.warehouses.domain.validation.WarehouseBatchVerdicts;
+import com.warehouse.api.beans.Warehouse;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.WebApplicationException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * What-if for a batch of warehouses, as they would be created or would replace the active ones,
+ * without storing or locking anything. Returns counts for the whole batch, the first {@code limit}
+ * violations in input order, and for each location the valid ones touch its projected load.
+ *
+ * The batch is a JSON array here, within {@code quarkus.http.limits.max-body-size}; batches larger
+ * than that are sent as NDJSON, which {@link WarehouseValidationRoute} streams.
+ */
+@Path("warehouse-validation")
+@ApplicationScoped
+@Consumes("application/json")
+@Produces("application/json")
+public class WarehouseValidationResource {
+
+  /** Error code for records the rules never see: no business unit code, capacity missing. */
+  static final String MALFORMED = "MALFORMED";
+
+  @Inject ValidateWarehouseBatchOperation validateWarehouseBatchOperation;
+
+  @POST
+  public BatchValidationResult validate(
+      List<Warehouse> data,
+      @QueryParam("mode") @DefaultValue("create") String mode,
+      @QueryParam("limit") @DefaultValue("100") int limit) {
+    if (data == null) {
+      throw new WebApplicationException("A list of warehouses is required", 400);
+    }
+    boolean replace = replace(mode);
+    checkLimit(limit);
+    Batch batch = new Batch(data.size());
+    data.forEach(batch::add);
+    return validate(batch, replace, limit);
+  }
+
+  /** Validates a collected batch; {@link WarehouseValidationRoute} calls it from a worker. */
+  @ActivateRequestContext
+  BatchValidationResult validate(Batch batch, boolean replace, int limit) {
+    WarehouseBatchVerdicts verdicts =
+        replace
+            ? validateWarehouseBatchOperation.validateReplacements(batch.units)
+            : validateWarehouseBatchOperation.validateCreates(batch.units);
+
+    List<Violation> violations = new ArrayList<>(Math.min(limit, batch.records));
+    int unit = 0;
+    for (int i = 0; i < batch.records && violations.size() < limit; i++) {
+      Violation malformed = batch.malformed.get(i);
+      if (malformed != null) {
+        violations.add(malformed);
+      } else {
+        if (!verdicts.isValid(unit)) {
+          violations.add(
+              new Violation(
+                  i,
+                  verdicts.warehouse(unit).businessUnitCode(),
+                  verdicts.violation(unit).name(),
+                  verdicts.message(unit)));
+        }
+        unit++;
+      }
+    }
+
+    int invalid = batch.malformed.size() + verdicts.invalidCount();
+    return new BatchValidationResult(
+        batch.records,
+        batch.records - invalid,
+        invalid,
+        violations,
+        verdicts.locationLoads().stream().map(LocationResult::of).toList());
+  }
+
+  static boolean replace(String mode) {
+    return switch (mode) {
+      case "create" -> false;
+      case "replace" -> true;
+      default ->
+          throw new WebApplicationException(
+              "mode must be 'create' or 'replace', not '" + mode + "'", 400);
+    };
+  }
+
+  static void checkLimit(int limit) {
+    if (limit < 0) {
+      throw new WebApplicationException("limit must not be negative", 400);
+    }
+  }
+
+  /**
+   * The records of one request in input order: those the builder accepts as units for the rules,
+   * the others as {@link #MALFORMED} violations by index.
+   */
+  static final class Batch {
+
+    private final List<WarehouseUnit> units;
+    private final NavigableMap<Integer, Violation> malformed = new TreeMap<>();
+    private int records;
+
+    Batch(int expectedSize) {
+      units = new ArrayList<>(expectedSize);
+    }
+
+    void add(Warehouse record) {
+      int index = records++;
+      if (record == null) {
+        malformed.put(index, new Violation(index, null, MALFORMED, "Warehouse is required"));
+        return;
+      }
+      try {
+        units.add(WarehouseResourceImpl.toWarehouseUnit(record.getBusinessUnitCode(), record));
+      } catch (IllegalArgumentException e) {
+        malformed.put(
+            index, new Violation(index, record.getBusinessUnitCode(), MALFORMED, e.getMessage()));
+      }
+    }
+
+    /** A record that could not even be read as a warehouse. */
+    void addUnreadable(String message) {
+      int index = records++;
+      malformed.put(index, new Violation(index, null, MALFORMED, message));
+    }
+  }
+
+  @RegisterForReflection
+  public record BatchValidationResult(
+      int records,
+      int valid,
+      int invalid,
+      List<Violation> violations,
+      List<LocationResult> locations) {}
+
+  /** {@code index} is the record's position in the request. */
+  @RegisterForReflection
+  public record Violation(int index, String businessUnitCode, String code, String message) {}
+
+  /** Active warehouses and their summed capacity at a location, now and with the batch. */
+  @RegisterForReflection
+  public record LocationResult(
+      String location,
+      int maxNumberOfWarehouses,
+      int maxCapacity,
+      int warehouses,
+      long capacity,
+      int projectedWarehouses,
+      long projectedCapacity,
+      boolean withinLimits) {
+
+    static LocationResult of(LocationLoad load) {
+      return new LocationResult(
+          load.location(),
+          load.maxNumberOfWarehouses(),
+          load.maxCapacity(),
+          load.warehouses(),
+          load.capacity(),
+          load.projectedWarehouses(),
+          load.projectedCapacity(),
+          load.withinLimits());
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fulfilment.application.monolith.http.RequestBodyInputStream;
+import com.fulfilment.application.monolith.http.RouteResponses;
+import com.warehouse.api.beans.Warehouse;
+import io.quarkus.vertx.http.runtime.RouteConstants;
+import io.vertx.core.Vertx;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.WebApplicationException;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import org.jboss.logging.Logger;
+
+/**
+ * {@code POST /warehouse-validation} with an NDJSON body ({@code application/x-ndjson}, one
+ * warehouse per line): the same validation and response as {@link WarehouseValidationResource},
+ * for batches too large for a JSON array under {@code quarkus.http.limits.max-body-size}.
+ *
+ * Ordered before the handler that enforces that limit, like the product import. Lines are parsed
+ * as they arrive on a worker thread and only the units the rules need are kept, so a batch of a
+ * million warehouses costs their units, not the request body. Other media types are passed on to
+ * the JAX-RS resource.
+ */
+@ApplicationScoped
+public class WarehouseValidationRoute {
+
+  private static final Logger LOGGER = Logger.getLogger(WarehouseValidationRoute.class.getName());
+
+  private static final String NDJSON = "application/x-ndjson";
+
+  @Inject WarehouseValidationResource warehouseValidationResource;
+
+  @Inject ObjectMapper objectMapper;
+
+  void register(@Observes Router router) {
+    router
+        .post("/warehouse-validation")
+        .order(RouteConstants.ROUTE_ORDER_UPLOAD_LIMIT - 1)
+        .handler(this::handle);
+  }
+
+  private void handle(RoutingContext context) {
+    String contentType = context.request().getHeader("Content-Type");
+    if (contentType == null
+        || !contentType.split(";")[0].trim().toLowerCase(Locale.ROOT).equals(NDJSON)) {
+      context.next();
+      return;
+    }
+    boolean replace;
+    int limit;
+    try {
+      String mode = context.queryParams().get("mode");
+      replace = WarehouseValidationResource.replace(mode == null ? "create" : mode);
+      String limitParam = context.queryParams().get("limit");
+      limit = limitParam == null ? 100 : Integer.parseInt(limitParam);
+      WarehouseValidationResource.checkLimit(limit);
+    } catch (NumberFormatException e) {
+      RouteResponses.error(context, objectMapper, 400, "limit must be a number");
+      return;
+    } catch (WebApplicationException e) {
+      RouteResponses.error(context, objectMapper, 400, e.getMessage());
+      return;
+    }
+
+    RequestBodyInputStream body =
+        new RequestBodyInputStream(context.request(), Vertx.currentContext());
+    context
+        .vertx()
+        .executeBlocking(
+            () -> {
+              WarehouseValidationResource.Batch batch = read(body);
+              return objectMapper.writeValueAsString(
+                  warehouseValidationResource.validate(batch, replace, limit));
+            },
+            false)
+        .onComplete(
+            result -> {
+              if (result.succeeded()) {
+                RouteResponses.json(context, 200, result.result());
+              } else {
+                LOGGER.error("Warehouse batch validation failed", result.cause());
+                RouteResponses.error(context, objectMapper, 500, result.cause().getMessage());
+              }
+            });
+  }
+
+  private WarehouseValidationResource.Batch read(RequestBodyInputStream body) throws Exception {
+    WarehouseValidationResource.Batch batch = new WarehouseValidationResource.Batch(1024);
+    try (BufferedReader reader =
+        new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.isBlank()) {
+          continue;
+        }
+        Warehouse record;
+        try {
+          record = objectMapper.readValue(line, Warehouse.class);
+        } catch (JsonProcessingException e) {
+          batch.addUnreadable("Malformed JSON: " + e.getOriginalMessage());
+          continue;
+        }
+        batch.add(record);
+      }
+    }
+    return batch;
+  }
+}
@@ -0,0 +1,27 @@
+package com.fulfilment.application.monolith.warehouses.adapters.scheduler;
+
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseReadModel;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Repairs the warehouse read model every {@code warehouse.read-model.check-interval}, catching
+ * up with writes that did not go through this instance's repository.
+ */
+@ApplicationScoped
+public class WarehouseReadModelCheckJob {
+
+  @Inject WarehouseReadModel warehouseReadModel;
+
+  @Scheduled(
+      identity = "warehouse-read-model-check",
+      every = "{warehouse.read-model.check-interval}",
+      concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+  void run() {
+    if (warehouseReadModel.isEnabled()) {
+      // Differences are logged by the check itself
+      warehouseReadModel.check(true);
+    }
+  }
+}
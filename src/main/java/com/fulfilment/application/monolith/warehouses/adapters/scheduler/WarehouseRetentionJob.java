@@ -0,0 +1,68 @@
+package com.fulfilment.application.monolith.warehouses.adapters.scheduler;
+
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Hard-deletes warehouses that have been archived for longer than {@code
+ * warehouse.retention.max-age}, keeping the warehouse table and its indexes sized by the active
+ * units rather than by history.
+ *
+ * Rows are deleted in batches of {@code warehouse.retention.batch-size}, each in its own short
+ * transaction with a pause in between, so the job never holds many row locks or blocks writers
+ * for long.
+ */
+@ApplicationScoped
+public class WarehouseRetentionJob {
+
+  private static final Logger LOGGER = Logger.getLogger(WarehouseRetentionJob.class.getName());
+
+  @Inject WarehouseStore warehouseStore;
+
+  @ConfigProperty(name = "warehouse.retention.max-age", defaultValue = "P365D")
+  Duration maxAge;
+
+  @ConfigProperty(name = "warehouse.retention.batch-size", defaultValue = "200")
+  int batchSize;
+
+  @ConfigProperty(name = "warehouse.retention.batch-pause", defaultValue = "100ms")
+  Duration batchPause;
+
+  @Scheduled(
+      identity = "warehouse-retention",
+      cron = "{warehouse.retention.cron}",
+      concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+  void run() {
+    int purged = purge(LocalDateTime.now().minus(maxAge));
+    if (purged > 0) {
+      LOGGER.infof("Purged %d warehouses archived for more than %s", purged, maxAge);
+    }
+  }
+
+  /** Purges everything archived before the cutoff and returns the number of deleted rows. */
+  int purge(LocalDateTime cutoff) {
+    int total = 0;
+    while (true) {
+      int deleted =
+          QuarkusTransaction.requiringNew()
+              .call(() -> warehouseStore.purgeArchivedBefore(cutoff, batchSize));
+      total += deleted;
+      if (deleted < batchSize) {
+        return total;
+      }
+      try {
+        Thread.sleep(batchPause.toMillis());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return total;
+      }
+    }
+  }
+}
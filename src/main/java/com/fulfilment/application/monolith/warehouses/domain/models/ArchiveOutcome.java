@@ -0,0 +1,8 @@
+package com.fulfilment.application.monolith.warehouses.domain.models;
+
+/** Result of archiving one warehouse as part of a bulk archive. */
+public enum ArchiveOutcome {
+  ARCHIVED,
+  ALREADY_ARCHIVED,
+  NOT_FOUND
+}
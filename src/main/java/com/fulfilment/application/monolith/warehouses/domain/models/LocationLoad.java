@@ -0,0 +1,20 @@
+package com.fulfilment.application.monolith.warehouses.domain.models;
+
+/**
+ * The active warehouses at a location and their summed capacity, as they are and as they would be
+ * once a batch is applied, next to the location's limits.
+ */
+public record LocationLoad(
+    String location,
+    int maxNumberOfWarehouses,
+    int maxCapacity,
+    int warehouses,
+    long capacity,
+    int projectedWarehouses,
+    long projectedCapacity) {
+
+  /** Whether the projected warehouses fit the location, in number and in total capacity. */
+  public boolean withinLimits() {
+    return projectedWarehouses <= maxNumberOfWarehouses && projectedCapacity <= maxCapacity;
+  }
+}
@@ -0,0 +1,129 @@
+package com.fulfilment.application.monolith.warehouses.domain.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable counterpart of {@link Warehouse} with capacity and stock as plain ints, so the
+ * validations in the use cases compare primitives and a missing value is rejected once, when the
+ * value is built, instead of surfacing as a {@link NullPointerException} on unboxing.
+ *
+ * Build one with {@link #builder()}; {@link #from(Warehouse)} and {@link #toWarehouse()} convert
+ * from and to the mutable model that the store's read methods still return.
+ */
+public record WarehouseUnit(
+    String businessUnitCode,
+    String location,
+    int capacity,
+    int stock,
+    LocalDateTime createdAt,
+    LocalDateTime archivedAt) {
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Rejects missing capacity or stock with an {@link IllegalArgumentException}. */
+  public static WarehouseUnit from(Warehouse warehouse) {
+    if (warehouse.capacity == null) {
+      throw new IllegalArgumentException("Warehouse capacity is required");
+    }
+    if (warehouse.stock == null) {
+      throw new IllegalArgumentException("Warehouse stock is required");
+    }
+    return builder()
+        .businessUnitCode(warehouse.businessUnitCode)
+        .location(warehouse.location)
+        .capacity(warehouse.capacity)
+        .stock(warehouse.stock)
+        .createdAt(warehouse.createdAt)
+        .archivedAt(warehouse.archivedAt)
+        .build();
+  }
+
+  public boolean isArchived() {
+    return archivedAt != null;
+  }
+
+  /** This warehouse as a new active generation created at {@code createdAt}. */
+  public WarehouseUnit activeFrom(LocalDateTime createdAt) {
+    return new WarehouseUnit(businessUnitCode, location, capacity, stock, createdAt, null);
+  }
+
+  public Warehouse toWarehouse() {
+    var warehouse = new Warehouse();
+    warehouse.businessUnitCode = businessUnitCode;
+    warehouse.location = location;
+    warehouse.capacity = capacity;
+    warehouse.stock = stock;
+    warehouse.createdAt = createdAt;
+    warehouse.archivedAt = archivedAt;
+    return warehouse;
+  }
+
+  /**
+   * Checks what a warehouse needs regardless of where it is: a business unit code, a capacity and
+   * a stock that are not negative. Whether the location exists and the numbers fit it is up to
+   * the use cases. Stock defaults to 0.
+   */
+  public static final class Builder {
+
+    private String businessUnitCode;
+    private String location;
+    private int capacity;
+    private boolean capacitySet;
+    private int stock;
+    private LocalDateTime createdAt;
+    private LocalDateTime archivedAt;
+
+    private Builder() {}
+
+    public Builder businessUnitCode(String businessUnitCode) {
+      this.businessUnitCode = businessUnitCode;
+      return this;
+    }
+
+    public Builder location(String location) {
+      this.location = location;
+      return this;
+    }
+
+    public Builder capacity(int capacity) {
+      this.capacity = capacity;
+      this.capacitySet = true;
+      return this;
+    }
+
+    public Builder stock(int stock) {
+      this.stock = stock;
+      return this;
+    }
+
+    public Builder createdAt(LocalDateTime createdAt) {
+      this.createdAt = createdAt;
+      return this;
+    }
+
+    public Builder archivedAt(LocalDateTime archivedAt) {
+      this.archivedAt = archivedAt;
+      return this;
+    }
+
+    public WarehouseUnit build() {
+      if (businessUnitCode == null || businessUnitCode.isBlank()) {
+        throw new IllegalArgumentException("Warehouse business unit code is required");
+      }
+      if (!capacitySet) {
+        throw new IllegalArgumentException("Warehouse capacity is required");
+      }
+      if (capacity < 0) {
+        throw new IllegalArgumentException(
+            "Warehouse capacity (" + capacity + ") must not be negative");
+      }
+      if (stock < 0) {
+        throw new IllegalArgumentException("Warehouse stock (" + stock + ") must not be negative");
+      }
+      return new WarehouseUnit(
+          businessUnitCode, location, capacity, stock, createdAt, archivedAt);
+    }
+  }
+}
@@ -1,7 +1,16 @@
 package com.fulfilment.application.monolith.warehouses.domain.ports;
 
+import com.fulfilment.application.monolith.warehouses.domain.models.ArchiveOutcome;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import java.util.Collection;
+import java.util.Map;
 
 public interface ArchiveWarehouseOperation {
   void archive(Warehouse warehouse);
+
+  /** Archives the given warehouses; outcomes are keyed by code, in request order. */
+  Map<String, ArchiveOutcome> archiveAll(Collection<String> businessUnitCodes);
+
+  /** Archives every active warehouse at the location; outcomes are keyed by code. */
+  Map<String, ArchiveOutcome> archiveAllAtLocation(String location);
 }
@@ -1,7 +1,21 @@
 package com.fulfilment.application.monolith.warehouses.domain.ports;
 
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseUnit;
 
 public interface CreateWarehouseOperation {
-  void create(Warehouse warehouse);
+
+  /** Validates and stores a new warehouse; returns it as stored, with its creation time. */
+  WarehouseUnit create(WarehouseUnit warehouse);
+
+  /**
+   * Validates as {@link #create} does and returns what it would store; stores nothing. Needs no
+   * transaction, and the code check may read a replica, so it can lag concurrent writes.
+   */
+  WarehouseUnit preview(WarehouseUnit warehouse);
+
+  /** As {@link #create(WarehouseUnit)}, setting the creation time on the given warehouse. */
+  default void create(Warehouse warehouse) {
+    warehouse.createdAt = create(WarehouseUnit.from(warehouse)).createdAt();
+  }
 }
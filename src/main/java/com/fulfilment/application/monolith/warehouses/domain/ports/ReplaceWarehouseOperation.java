@@ -1,7 +1,22 @@
 package com.fulfilment.application.monolith.warehouses.domain.ports;
 
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseUnit;
 
 public interface ReplaceWarehouseOperation {
-  void replace(Warehouse warehouse);
+
+  /** Validates and stores the successor of the active warehouse with its code; returns it. */
+  WarehouseUnit replace(WarehouseUnit warehouse);
+
+  /**
+   * Validates as {@link #replace} does and returns the successor it would store; no writes. Needs
+   * no transaction, and the code check may read a replica, so it can lag concurrent writes.
+   */
+  WarehouseUnit preview(WarehouseUnit warehouse);
+
+  /** As {@link #replace(WarehouseUnit)}, setting the creation time on the given warehouse. */
+  default void replace(Warehouse warehouse) {
+    warehouse.createdAt = replace(WarehouseUnit.from(warehouse)).createdAt();
+    warehouse.archivedAt = null;
+  }
 }
@@ -0,0 +1,18 @@
+package com.fulfilment.application.monolith.warehouses.domain.ports;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseUnit;
+import com.fulfilment.application.monolith.warehouses.domain.validation.WarehouseBatchVerdicts;
+import java.util.List;
+
+/**
+ * Checks many warehouses at once without storing or locking anything: verdicts in input order,
+ * and the load the valid ones would put on their locations.
+ */
+public interface ValidateWarehouseBatchOperation {
+
+  /** Each warehouse as {@link CreateWarehouseOperation} would check it, codes unique per batch. */
+  WarehouseBatchVerdicts validateCreates(List<WarehouseUnit> warehouses);
+
+  /** Each warehouse as {@link ReplaceWarehouseOperation} would check it. */
+  WarehouseBatchVerdicts validateReplacements(List<WarehouseUnit> warehouses);
+}
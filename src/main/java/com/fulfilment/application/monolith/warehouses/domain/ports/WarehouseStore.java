@@ -1,17 +1,67 @@
 package com.fulfilment.application.monolith.warehouses.domain.ports;
 
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseUnit;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface WarehouseStore {
 
   List<Warehouse> getAll();
 
-  void create(Warehouse warehouse);
+  /** Warehouses that are not archived; stays cheap however much history accumulates. */
+  List<Warehouse> getAllActive();
 
+  void create(WarehouseUnit warehouse);
+
+  /** As {@link #create(WarehouseUnit)}; rejects a warehouse without capacity or stock. */
+  default void create(Warehouse warehouse) {
+    create(WarehouseUnit.from(warehouse));
+  }
+
+  /** Updates the active warehouse with this code; archived generations are left alone. */
   void update(Warehouse warehouse);
 
+  /**
+   * Archives the active warehouse with the successor's code and creates the successor in its
+   * place, in the caller's transaction. Returns false, changing nothing, if there is no active
+   * warehouse with that code (any more).
+   */
+  boolean replaceActive(WarehouseUnit successor, LocalDateTime archivedAt);
+
+  /** Removes this generation of the warehouse, told apart from the others by its archivedAt. */
   void remove(Warehouse warehouse);
 
+  /** The active warehouse with this code, or else its most recently archived generation. */
   Warehouse findByBusinessUnitCode(String buCode);
+
+  /**
+   * As {@link #findByBusinessUnitCode}, for checks that write nothing, such as dry runs: it may
+   * answer from a cache or a read replica instead of the primary, and so lag writes in flight.
+   */
+  default Warehouse findByBusinessUnitCodeForRead(String buCode) {
+    return findByBusinessUnitCode(buCode);
+  }
+
+  /** The warehouse with this code unless it is archived. */
+  Warehouse findActiveByBusinessUnitCode(String buCode);
+
+  /** As {@link #findByBusinessUnitCode}, one warehouse per code found. */
+  List<Warehouse> findByBusinessUnitCodes(Collection<String> buCodes);
+
+  List<String> findActiveBusinessUnitCodesByLocation(String location);
+
+  /** Every business unit code in use, mapped to whether it has an active warehouse. */
+  Map<String, Boolean> findBusinessUnitCodeStates();
+
+  /** Sets archivedAt on those of the given warehouses that are still active, in one statement. */
+  int archiveAll(Collection<String> buCodes, LocalDateTime archivedAt);
+
+  /**
+   * Hard-deletes up to {@code limit} warehouses archived before {@code cutoff}, oldest first.
+   * Returns the number deleted; less than {@code limit} means nothing older is left.
+   */
+  int purgeArchivedBefore(LocalDateTime cutoff, int limit);
 }
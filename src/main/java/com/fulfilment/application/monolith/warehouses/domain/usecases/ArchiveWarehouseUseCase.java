@@ -1,13 +1,26 @@
 package com.fulfilment.application.monolith.warehouses.domain.usecases;
 
+import com.fulfilment.application.monolith.warehouses.domain.models.ArchiveOutcome;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import com.fulfilment.application.monolith.warehouses.domain.ports.ArchiveWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
 import jakarta.enterprise.context.ApplicationScoped;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 
 @ApplicationScoped
 public class ArchiveWarehouseUseCase implements ArchiveWarehouseOperation {
 
+  /** Codes per SELECT/UPDATE pair in bulk archives; bounds the IN list size. */
+  static final int CHUNK_SIZE = 500;
+
   private final WarehouseStore warehouseStore;
 
   public ArchiveWarehouseUseCase(WarehouseStore warehouseStore) {
@@ -35,4 +48,55 @@ public class ArchiveWarehouseUseCase implements ArchiveWarehouseOperation {
     // Update the warehouse
     warehouseStore.update(existing);
   }
+
+  @Override
+  public Map<String, ArchiveOutcome> archiveAll(Collection<String> businessUnitCodes) {
+    List<String> codes = new ArrayList<>(new LinkedHashSet<>(businessUnitCodes));
+    Map<String, ArchiveOutcome> outcomes = new LinkedHashMap<>();
+    // Same archive timestamp for the whole request; microseconds is what the column keeps
+    LocalDateTime archivedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+    for (int from = 0; from < codes.size(); from += CHUNK_SIZE) {
+      archiveChunk(codes.subList(from, Math.min(from + CHUNK_SIZE, codes.size())), archivedAt)
+          .forEach(outcomes::put);
+    }
+    return outcomes;
+  }
+
+  @Override
+  public Map<String, ArchiveOutcome> archiveAllAtLocation(String location) {
+    return archiveAll(warehouseStore.findActiveBusinessUnitCodesByLocation(location));
+  }
+
+  /** Two statements per chunk: read the current state, then one UPDATE for the active ones. */
+  private Map<String, ArchiveOutcome> archiveChunk(List<String> codes, LocalDateTime archivedAt) {
+    Map<String, Warehouse> existing = new HashMap<>();
+    for (Warehouse warehouse : warehouseStore.findByBusinessUnitCodes(codes)) {
+      existing.put(warehouse.businessUnitCode, warehouse);
+    }
+
+    Map<String, ArchiveOutcome> outcomes = new LinkedHashMap<>();
+    List<String> active = new ArrayList<>();
+    for (String code : codes) {
+      Warehouse warehouse = existing.get(code);
+      if (warehouse == null) {
+        outcomes.put(code, ArchiveOutcome.NOT_FOUND);
+      } else if (warehouse.archivedAt != null) {
+        outcomes.put(code, ArchiveOutcome.ALREADY_ARCHIVED);
+      } else {
+        outcomes.put(code, ArchiveOutcome.ARCHIVED);
+        active.add(code);
+      }
+    }
+
+    if (!active.isEmpty() && warehouseStore.archiveAll(active, archivedAt) != active.size()) {
+      // Some were archived concurrently in between: ours carry this request's timestamp
+      for (Warehouse warehouse : warehouseStore.findByBusinessUnitCodes(active)) {
+        if (!archivedAt.equals(warehouse.archivedAt)) {
+          outcomes.put(warehouse.businessUnitCode, ArchiveOutcome.ALREADY_ARCHIVED);
+        }
+      }
+    }
+    return outcomes;
+  }
 }
@@ -1,10 +1,11 @@
 package com.fulfilment.application.monolith.warehouses.domain.usecases;
 
-import com.fulfilment.application.monolith.warehouses.domain.models.Location;
-import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseUnit;
 import com.fulfilment.application.monolith.warehouses.domain.ports.CreateWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import com.fulfilment.application.monolith.warehouses.domain.validation.WarehouseSubject;
+import com.fulfilment.application.monolith.warehouses.domain.validation.WarehouseValidator;
 import jakarta.enterprise.context.ApplicationScoped;
 
 @ApplicationScoped
@@ -19,40 +20,25 @@ public class CreateWarehouseUseCase implements CreateWarehouseOperation {
   }
 
   @Override
-  public void create(Warehouse warehouse) {
-    // Validation 1: Business unit code must be unique
-    Warehouse existing = warehouseStore.findByBusinessUnitCode(warehouse.businessUnitCode);
-    if (existing != null) {
-      throw new IllegalArgumentException(
-          "Warehouse with business unit code '" + warehouse.businessUnitCode + "' already exists");
-    }
-
-    // Validation 2: Location must be valid (must exist)
-    Location location = locationResolver.resolveByIdentifier(warehouse.location);
-    if (location == null) {
-      throw new IllegalArgumentException(
-          "Location '" + warehouse.location + "' is not valid");
-    }
-
-    // Validation 3: Capacity validation
-    // - Capacity cannot exceed location's max capacity
-    if (warehouse.capacity > location.maxCapacity()) {
-      throw new IllegalArgumentException(
-          "Warehouse capacity (" + warehouse.capacity + 
-          ") exceeds location max capacity (" + location.maxCapacity() + ")");
-    }
-
-    // - Stock cannot exceed capacity
-    if (warehouse.stock > warehouse.capacity) {
-      throw new IllegalArgumentException(
-          "Warehouse stock (" + warehouse.stock + 
-          ") exceeds warehouse capacity (" + warehouse.capacity + ")");
-    }
-
-    // Set creation timestamp
-    warehouse.createdAt = java.time.LocalDateTime.now();
+  public WarehouseUnit create(WarehouseUnit warehouse) {
+    WarehouseUnit created =
+        validated(new WarehouseSubject(warehouse, locationResolver, warehouseStore));
 
     // All validations passed, create the warehouse
-    warehouseStore.create(warehouse);
+    warehouseStore.create(created);
+    return created;
+  }
+
+  @Override
+  public WarehouseUnit preview(WarehouseUnit warehouse) {
+    return validated(WarehouseSubject.forPreview(warehouse, locationResolver, warehouseStore));
+  }
+
+  private static WarehouseUnit validated(WarehouseSubject subject) {
+    // Fields first, then the location, then the store; stops at the first violation
+    WarehouseValidator.CREATE.validate(subject);
+
+    // Set creation timestamp
+    return subject.warehouse().activeFrom(java.time.LocalDateTime.now());
   }
 }
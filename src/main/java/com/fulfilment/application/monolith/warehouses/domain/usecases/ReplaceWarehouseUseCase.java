@@ -1,11 +1,14 @@
 package com.fulfilment.application.monolith.warehouses.domain.usecases;
 
-import com.fulfilment.application.monolith.warehouses.domain.models.Location;
-import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseUnit;
 import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
 import com.fulfilment.application.monolith.warehouses.domain.ports.ReplaceWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import com.fulfilment.application.monolith.warehouses.domain.validation.WarehouseSubject;
+import com.fulfilment.application.monolith.warehouses.domain.validation.WarehouseValidator;
 import jakarta.enterprise.context.ApplicationScoped;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 @ApplicationScoped
 public class ReplaceWarehouseUseCase implements ReplaceWarehouseOperation {
@@ -19,48 +22,29 @@ public class ReplaceWarehouseUseCase implements ReplaceWarehouseOperation {
   }
 
   @Override
-  public void replace(Warehouse newWarehouse) {
-    // Validation 1: Warehouse must exist
-    Warehouse existing = warehouseStore.findByBusinessUnitCode(newWarehouse.businessUnitCode);
-    if (existing == null) {
+  public WarehouseUnit replace(WarehouseUnit newWarehouse) {
+    // Archive the current warehouse and create the replacement in its place, as one swap. The
+    // predecessor is kept as history and archived at the successor's creation time.
+    WarehouseUnit successor =
+        validated(new WarehouseSubject(newWarehouse, locationResolver, warehouseStore));
+    if (!warehouseStore.replaceActive(successor, successor.createdAt())) {
       throw new IllegalArgumentException(
-          "Warehouse with business unit code '" + newWarehouse.businessUnitCode + "' does not exist");
-    }
-
-    // Validation 2: Warehouse must not be archived
-    if (existing.archivedAt != null) {
-      throw new IllegalArgumentException(
-          "Warehouse with business unit code '" + newWarehouse.businessUnitCode + "' is archived and cannot be replaced");
-    }
-
-    // Validation 3: Location must be valid
-    Location location = locationResolver.resolveByIdentifier(newWarehouse.location);
-    if (location == null) {
-      throw new IllegalArgumentException(
-          "Location '" + newWarehouse.location + "' is not valid");
-    }
-
-    // Validation 4: Capacity validation
-    // - Capacity cannot exceed location's max capacity
-    if (newWarehouse.capacity > location.maxCapacity()) {
-      throw new IllegalArgumentException(
-          "Warehouse capacity (" + newWarehouse.capacity +
-          ") exceeds location max capacity (" + location.maxCapacity() + ")");
+          "Warehouse with business unit code '" + newWarehouse.businessUnitCode()
+              + "' was archived or replaced concurrently");
     }
+    return successor;
+  }
 
-    // - Stock cannot exceed capacity
-    if (newWarehouse.stock > newWarehouse.capacity) {
-      throw new IllegalArgumentException(
-          "Warehouse stock (" + newWarehouse.stock +
-          ") exceeds warehouse capacity (" + newWarehouse.capacity + ")");
-    }
+  @Override
+  public WarehouseUnit preview(WarehouseUnit newWarehouse) {
+    return validated(WarehouseSubject.forPreview(newWarehouse, locationResolver, warehouseStore));
+  }
 
-    // Update warehouse fields (preserve createdAt, businessUnitCode, archivedAt)
-    existing.location = newWarehouse.location;
-    existing.capacity = newWarehouse.capacity;
-    existing.stock = newWarehouse.stock;
+  private static WarehouseUnit validated(WarehouseSubject subject) {
+    // Fields first, then the location, then the store; stops at the first violation
+    WarehouseValidator.REPLACE.validate(subject);
 
-    // Update the warehouse
-    warehouseStore.update(existing);
+    // Microseconds is what the timestamp columns keep
+    return subject.warehouse().activeFrom(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
   }
 }
@@ -0,0 +1,214 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationLoad;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseUnit;
+import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ValidateWarehouseBatchOperation;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import com.fulfilment.application.monolith.warehouses.domain.validation.WarehouseBatchVerdicts;
+import com.fulfilment.application.monolith.warehouses.domain.validation.WarehouseRule;
+import com.fulfilment.application.monolith.warehouses.domain.validation.WarehouseSubject;
+import com.fulfilment.application.monolith.warehouses.domain.validation.WarehouseValidator;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Validates batches on the common {@link ForkJoinPool}. The store is read up front, for the state
+ * of every code in use and the active warehouses, and locations come from the resolver's in-memory
+ * catalog, so the records are checked without I/O and split across the pool's threads in slices
+ * of {@link #SLICE_SIZE}.
+ *
+ * Nothing is written or locked: a batch is a what-if, and its valid warehouses are projected onto
+ * the active ones to show how full each location they touch would be.
+ */
+@ApplicationScoped
+public class ValidateWarehouseBatchUseCase implements ValidateWarehouseBatchOperation {
+
+  /** Records per task; batches up to this size are validated on the calling thread. */
+  static final int SLICE_SIZE = 4096;
+
+  private final WarehouseStore warehouseStore;
+  private final LocationResolver locationResolver;
+
+  public ValidateWarehouseBatchUseCase(
+      WarehouseStore warehouseStore, LocationResolver locationResolver) {
+    this.warehouseStore = warehouseStore;
+    this.locationResolver = locationResolver;
+  }
+
+  @Override
+  public WarehouseBatchVerdicts validateCreates(List<WarehouseUnit> warehouses) {
+    return validate(warehouses, WarehouseValidator.CREATE_BATCH, false);
+  }
+
+  @Override
+  public WarehouseBatchVerdicts validateReplacements(List<WarehouseUnit> warehouses) {
+    return validate(warehouses, WarehouseValidator.REPLACE_BATCH, true);
+  }
+
+  private WarehouseBatchVerdicts validate(
+      List<WarehouseUnit> warehouses, WarehouseValidator validator, boolean replace) {
+    List<WarehouseUnit> records =
+        warehouses instanceof RandomAccess ? warehouses : new ArrayList<>(warehouses);
+    Map<String, Boolean> codesInUse = warehouseStore.findBusinessUnitCodeStates();
+
+    // First the lowest index of each code, so a repeat is reported on the later records
+    // whichever thread gets to them first
+    Map<String, Integer> firstIndex = new ConcurrentHashMap<>();
+    forEachSlice(
+        records.size(),
+        (from, to) -> {
+          for (int i = from; i < to; i++) {
+            firstIndex.merge(records.get(i).businessUnitCode(), i, Math::min);
+          }
+        });
+
+    // Then the rules; each slice reuses one subject and writes only its own verdicts
+    WarehouseRule[] violations = new WarehouseRule[records.size()];
+    forEachSlice(
+        records.size(),
+        (from, to) -> {
+          WarehouseSubject subject = WarehouseSubject.forBatch(locationResolver, codesInUse);
+          for (int i = from; i < to; i++) {
+            WarehouseUnit warehouse = records.get(i);
+            boolean repeated = firstIndex.get(warehouse.businessUnitCode()) != i;
+            violations[i] = validator.firstViolation(subject.reset(warehouse, repeated));
+          }
+        });
+
+    return new WarehouseBatchVerdicts(
+        records, violations, locationResolver, project(records, violations, replace));
+  }
+
+  /**
+   * Adds the valid warehouses to the active ones at their locations; a successor also takes its
+   * predecessor away from wherever that was. Valid codes are unique, so none is counted twice.
+   */
+  private List<LocationLoad> project(
+      List<WarehouseUnit> records, WarehouseRule[] violations, boolean replace) {
+    Map<String, Tally> active = new HashMap<>();
+    Map<String, Warehouse> activeByCode = new HashMap<>();
+    for (Warehouse warehouse : warehouseStore.getAllActive()) {
+      active.computeIfAbsent(warehouse.location, location -> new Tally()).add(capacity(warehouse));
+      if (replace) {
+        activeByCode.put(warehouse.businessUnitCode, warehouse);
+      }
+    }
+
+    Map<String, Tally> touched = new LinkedHashMap<>();
+    for (int i = 0; i < records.size(); i++) {
+      if (violations[i] != null) {
+        continue;
+      }
+      WarehouseUnit warehouse = records.get(i);
+      Warehouse predecessor = replace ? activeByCode.get(warehouse.businessUnitCode()) : null;
+      if (predecessor != null) {
+        touched(touched, active, predecessor.location).remove(capacity(predecessor));
+      }
+      touched(touched, active, warehouse.location()).add(warehouse.capacity());
+    }
+
+    List<LocationLoad> loads = new ArrayList<>(touched.size());
+    touched.forEach(
+        (identifier, projected) -> {
+          Location location = locationResolver.resolveByIdentifier(identifier);
+          if (location == null) {
+            // Only a predecessor can be somewhere that is no location any more
+            return;
+          }
+          Tally current = active.getOrDefault(identifier, new Tally());
+          loads.add(
+              new LocationLoad(
+                  identifier,
+                  location.maxNumberOfWarehouses(),
+                  location.maxCapacity(),
+                  current.warehouses,
+                  current.capacity,
+                  projected.warehouses,
+                  projected.capacity));
+        });
+    return loads;
+  }
+
+  private static Tally touched(
+      Map<String, Tally> touched, Map<String, Tally> active, String location) {
+    return touched.computeIfAbsent(
+        location, key -> active.getOrDefault(key, new Tally()).copy());
+  }
+
+  private static int capacity(Warehouse warehouse) {
+    return warehouse.capacity != null ? warehouse.capacity : 0;
+  }
+
+  /** Runs {@code slice} over [0, size) in parallel; returns once every slice is done. */
+  private static void forEachSlice(int size, Slice slice) {
+    if (size <= SLICE_SIZE) {
+      slice.run(0, size);
+    } else {
+      ForkJoinPool.commonPool().invoke(new SliceTask(0, size, slice));
+    }
+  }
+
+  @FunctionalInterface
+  private interface Slice {
+    void run(int from, int to);
+  }
+
+  /** Halves its range until it is at most {@link #SLICE_SIZE} long. */
+  private static final class SliceTask extends RecursiveAction {
+
+    private final int from;
+    private final int to;
+    private final Slice slice;
+
+    SliceTask(int from, int to, Slice slice) {
+      this.from = from;
+      this.to = to;
+      this.slice = slice;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= SLICE_SIZE) {
+        slice.run(from, to);
+        return;
+      }
+      int middle = (from + to) >>> 1;
+      invokeAll(new SliceTask(from, middle, slice), new SliceTask(middle, to, slice));
+    }
+  }
+
+  /** Number and summed capacity of warehouses at one location. */
+  private static final class Tally {
+
+    private int warehouses;
+    private long capacity;
+
+    void add(int capacity) {
+      this.warehouses++;
+      this.capacity += capacity;
+    }
+
+    void remove(int capacity) {
+      this.warehouses--;
+      this.capacity -= capacity;
+    }
+
+    Tally copy() {
+      Tally copy = new Tally();
+      copy.warehouses = warehouses;
+      copy.capacity = capacity;
+      return copy;
+    }
+  }
+}
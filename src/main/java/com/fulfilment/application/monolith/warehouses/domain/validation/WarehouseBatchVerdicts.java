@@ -0,0 +1,89 @@
+package com.fulfilment.application.monolith.warehouses.domain.validation;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationLoad;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseUnit;
+import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
+import java.util.List;
+
+/**
+ * The outcome of validating a batch: for each warehouse, by index, the first rule it violates or
+ * null. Kept as one array parallel to the input, so a million valid records cost a million null
+ * slots and nothing else; messages are only formatted for the verdicts someone reads.
+ *
+ * {@link #locationLoads()} projects the valid warehouses onto the locations they touch.
+ */
+public final class WarehouseBatchVerdicts {
+
+  private final List<WarehouseUnit> warehouses;
+  private final WarehouseRule[] violations;
+  private final LocationResolver locationResolver;
+  private final List<LocationLoad> locationLoads;
+  private final int invalidCount;
+
+  public WarehouseBatchVerdicts(
+      List<WarehouseUnit> warehouses,
+      WarehouseRule[] violations,
+      LocationResolver locationResolver,
+      List<LocationLoad> locationLoads) {
+    if (warehouses.size() != violations.length) {
+      throw new IllegalArgumentException(
+          "Expected " + warehouses.size() + " verdicts, got " + violations.length);
+    }
+    this.warehouses = warehouses;
+    this.violations = violations;
+    this.locationResolver = locationResolver;
+    this.locationLoads = List.copyOf(locationLoads);
+    int invalid = 0;
+    for (WarehouseRule violation : violations) {
+      if (violation != null) {
+        invalid++;
+      }
+    }
+    this.invalidCount = invalid;
+  }
+
+  public int size() {
+    return violations.length;
+  }
+
+  public int invalidCount() {
+    return invalidCount;
+  }
+
+  public int validCount() {
+    return violations.length - invalidCount;
+  }
+
+  /** The locations the valid warehouses would add to or leave, in order of first mention. */
+  public List<LocationLoad> locationLoads() {
+    return locationLoads;
+  }
+
+  public WarehouseUnit warehouse(int index) {
+    return warehouses.get(index);
+  }
+
+  public boolean isValid(int index) {
+    return violations[index] == null;
+  }
+
+  /** The first rule the warehouse at {@code index} violates, or null if it is valid. */
+  public WarehouseRule violation(int index) {
+    return violations[index];
+  }
+
+  /** The message for {@link #violation}, or null if the warehouse is valid. */
+  public String message(int index) {
+    WarehouseRule rule = violations[index];
+    if (rule == null) {
+      return null;
+    }
+    WarehouseUnit warehouse = warehouses.get(index);
+    // Only one rule's message needs the location; look it up again rather than keep them all
+    return rule.message(
+        warehouse,
+        rule.cost() == WarehouseRule.Cost.LOCATION
+            ? locationResolver.resolveByIdentifier(warehouse.location())
+            : null);
+  }
+}
@@ -0,0 +1,138 @@
+package com.fulfilment.application.monolith.warehouses.domain.validation;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseUnit;
+
+/**
+ * The rules a new or replacing warehouse is checked against. The constant name is the error code
+ * reported when a rule is violated; the message is only formatted when someone reads it.
+ *
+ * Rules are stateless singletons and read what they need from a {@link WarehouseSubject}, so
+ * checking them allocates nothing. Each has a {@link Cost}; {@link WarehouseValidator} runs the
+ * cheap ones first and stops at the first violation.
+ */
+public enum WarehouseRule {
+
+  /** Stock cannot exceed capacity. */
+  STOCK_WITHIN_CAPACITY(Cost.FIELDS) {
+    @Override
+    boolean holds(WarehouseSubject subject) {
+      return subject.warehouse().stock() <= subject.warehouse().capacity();
+    }
+
+    @Override
+    String message(WarehouseUnit warehouse, Location location) {
+      return "Warehouse stock (" + warehouse.stock()
+          + ") exceeds warehouse capacity (" + warehouse.capacity() + ")";
+    }
+  },
+
+  /** In a batch, no earlier record has the same business unit code. */
+  CODE_UNIQUE_IN_BATCH(Cost.FIELDS) {
+    @Override
+    boolean holds(WarehouseSubject subject) {
+      return !subject.repeatedInBatch();
+    }
+
+    @Override
+    String message(WarehouseUnit warehouse, Location location) {
+      return "Warehouse with business unit code '" + warehouse.businessUnitCode()
+          + "' appears earlier in the batch";
+    }
+  },
+
+  /** The location must exist. */
+  LOCATION_EXISTS(Cost.LOCATION) {
+    @Override
+    boolean holds(WarehouseSubject subject) {
+      return subject.location() != null;
+    }
+
+    @Override
+    String message(WarehouseUnit warehouse, Location location) {
+      return "Location '" + warehouse.location() + "' is not valid";
+    }
+  },
+
+  /** Capacity cannot exceed the location's max capacity; holds for unknown locations. */
+  CAPACITY_WITHIN_LOCATION(Cost.LOCATION) {
+    @Override
+    boolean holds(WarehouseSubject subject) {
+      Location location = subject.location();
+      return location == null || subject.warehouse().capacity() <= location.maxCapacity();
+    }
+
+    @Override
+    String message(WarehouseUnit warehouse, Location location) {
+      return "Warehouse capacity (" + warehouse.capacity()
+          + ") exceeds location max capacity (" + location.maxCapacity() + ")";
+    }
+  },
+
+  /** No warehouse, active or archived, has the business unit code yet. */
+  CODE_UNUSED(Cost.STORE) {
+    @Override
+    boolean holds(WarehouseSubject subject) {
+      return !subject.codeInUse();
+    }
+
+    @Override
+    String message(WarehouseUnit warehouse, Location location) {
+      return "Warehouse with business unit code '" + warehouse.businessUnitCode()
+          + "' already exists";
+    }
+  },
+
+  /** A warehouse with the business unit code exists. */
+  CODE_EXISTS(Cost.STORE) {
+    @Override
+    boolean holds(WarehouseSubject subject) {
+      return subject.codeInUse();
+    }
+
+    @Override
+    String message(WarehouseUnit warehouse, Location location) {
+      return "Warehouse with business unit code '" + warehouse.businessUnitCode()
+          + "' does not exist";
+    }
+  },
+
+  /** The warehouse with the business unit code is not archived; holds for unknown codes. */
+  CODE_ACTIVE(Cost.STORE) {
+    @Override
+    boolean holds(WarehouseSubject subject) {
+      return !subject.codeInUse() || subject.codeActive();
+    }
+
+    @Override
+    String message(WarehouseUnit warehouse, Location location) {
+      return "Warehouse with business unit code '" + warehouse.businessUnitCode()
+          + "' is archived and cannot be replaced";
+    }
+  };
+
+  /** What checking a rule takes, cheapest first. */
+  public enum Cost {
+    /** Only the warehouse's own fields. */
+    FIELDS,
+    /** The location, resolved once per subject from the in-memory catalog. */
+    LOCATION,
+    /** The existing warehouse, loaded once per subject from the store or a pre-fetched set. */
+    STORE
+  }
+
+  private final Cost cost;
+
+  WarehouseRule(Cost cost) {
+    this.cost = cost;
+  }
+
+  public Cost cost() {
+    return cost;
+  }
+
+  abstract boolean holds(WarehouseSubject subject);
+
+  /** {@code location} is the resolved location, null unless the rule needed it. */
+  abstract String message(WarehouseUnit warehouse, Location location);
+}
@@ -0,0 +1,129 @@
+package com.fulfilment.application.monolith.warehouses.domain.validation;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseUnit;
+import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A warehouse being validated, together with what the rules look up about it. The location and
+ * the existing warehouse with the same code are looked up on first use and kept, so however many
+ * rules need them they cost one lookup each, and none if a cheaper rule fails first.
+ *
+ * For batches ({@link #forBatch}) the codes in use are fetched up front and one subject is
+ * {@link #reset} for each record instead of creating a new one. Dry runs ({@link #forPreview})
+ * look the existing warehouse up with {@link WarehouseStore#findByBusinessUnitCodeForRead}.
+ *
+ * Not thread-safe: one subject per warehouse and validation, or per thread in a batch.
+ */
+public final class WarehouseSubject {
+
+  private final LocationResolver locationResolver;
+  private final Function<String, Warehouse> existingLookup;
+  private final Map<String, Boolean> codesInUse;
+
+  private WarehouseUnit warehouse;
+  private boolean repeatedInBatch;
+
+  private Location location;
+  private boolean locationResolved;
+  private Warehouse existing;
+  private boolean existingLoaded;
+
+  public WarehouseSubject(
+      WarehouseUnit warehouse, LocationResolver locationResolver, WarehouseStore warehouseStore) {
+    this(locationResolver, warehouseStore::findByBusinessUnitCode, null);
+    this.warehouse = warehouse;
+  }
+
+  private WarehouseSubject(
+      LocationResolver locationResolver,
+      Function<String, Warehouse> existingLookup,
+      Map<String, Boolean> codesInUse) {
+    this.locationResolver = locationResolver;
+    this.existingLookup = existingLookup;
+    this.codesInUse = codesInUse;
+  }
+
+  /** A subject for a validation that writes nothing; the store may answer from a replica. */
+  public static WarehouseSubject forPreview(
+      WarehouseUnit warehouse, LocationResolver locationResolver, WarehouseStore warehouseStore) {
+    WarehouseSubject subject =
+        new WarehouseSubject(
+            locationResolver, warehouseStore::findByBusinessUnitCodeForRead, null);
+    subject.warehouse = warehouse;
+    return subject;
+  }
+
+  /**
+   * A subject that answers code checks from {@code codesInUse}, every business unit code in use
+   * mapped to whether it has an active warehouse, and never touches the store. Set each record
+   * with {@link #reset}.
+   */
+  public static WarehouseSubject forBatch(
+      LocationResolver locationResolver, Map<String, Boolean> codesInUse) {
+    return new WarehouseSubject(locationResolver, null, codesInUse);
+  }
+
+  /** Makes this the subject for another record, forgetting what was looked up for the last. */
+  public WarehouseSubject reset(WarehouseUnit warehouse, boolean repeatedInBatch) {
+    this.warehouse = warehouse;
+    this.repeatedInBatch = repeatedInBatch;
+    this.location = null;
+    this.locationResolved = false;
+    this.existing = null;
+    this.existingLoaded = false;
+    return this;
+  }
+
+  public WarehouseUnit warehouse() {
+    return warehouse;
+  }
+
+  /** The warehouse's location, or null if there is no such location. */
+  public Location location() {
+    if (!locationResolved) {
+      location = locationResolver.resolveByIdentifier(warehouse.location());
+      locationResolved = true;
+    }
+    return location;
+  }
+
+  /** Whether any warehouse, active or archived, has this code. */
+  public boolean codeInUse() {
+    if (codesInUse != null) {
+      return codesInUse.containsKey(warehouse.businessUnitCode());
+    }
+    return existing() != null;
+  }
+
+  /** Whether the code has an active warehouse. */
+  public boolean codeActive() {
+    if (codesInUse != null) {
+      return Boolean.TRUE.equals(codesInUse.get(warehouse.businessUnitCode()));
+    }
+    return existing() != null && existing().archivedAt == null;
+  }
+
+  /** Whether an earlier record of the same batch has this code. */
+  public boolean repeatedInBatch() {
+    return repeatedInBatch;
+  }
+
+  /** The location if a rule has resolved it already, without resolving it. */
+  Location resolvedLocation() {
+    return location;
+  }
+
+  /** The current warehouse with the same code (active, else latest archived), or null. */
+  private Warehouse existing() {
+    if (!existingLoaded) {
+      existing = existingLookup.apply(warehouse.businessUnitCode());
+      existingLoaded = true;
+    }
+    return existing;
+  }
+}
@@ -0,0 +1,40 @@
+package com.fulfilment.application.monolith.warehouses.domain.validation;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseUnit;
+
+/**
+ * A violated {@link WarehouseRule}. {@link #code()} identifies the rule; the message is formatted
+ * from the warehouse when it is first read, not when the exception is thrown.
+ */
+public class WarehouseValidationException extends IllegalArgumentException {
+
+  private final WarehouseRule rule;
+  private final transient WarehouseUnit warehouse;
+  private final transient Location location;
+  private String message;
+
+  public WarehouseValidationException(
+      WarehouseRule rule, WarehouseUnit warehouse, Location location) {
+    this.rule = rule;
+    this.warehouse = warehouse;
+    this.location = location;
+  }
+
+  public WarehouseRule rule() {
+    return rule;
+  }
+
+  /** The error code: the name of the violated rule. */
+  public String code() {
+    return rule.name();
+  }
+
+  @Override
+  public String getMessage() {
+    if (message == null) {
+      message = rule.message(warehouse, location);
+    }
+    return message;
+  }
+}
@@ -0,0 +1,84 @@
+package com.fulfilment.application.monolith.warehouses.domain.validation;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * An ordered set of {@link WarehouseRule}s, compiled once into an array sorted by cost (and by
+ * declaration order within a cost), so that a validation is a plain loop that stops at the first
+ * violated rule. Immutable and safe to share between threads; {@link #and} composes a new one.
+ */
+public final class WarehouseValidator {
+
+  /** What any warehouse, new or replacing, must satisfy given its location. */
+  public static final WarehouseValidator CAPACITY_AND_STOCK =
+      of(
+          WarehouseRule.LOCATION_EXISTS,
+          WarehouseRule.CAPACITY_WITHIN_LOCATION,
+          WarehouseRule.STOCK_WITHIN_CAPACITY);
+
+  /** A new warehouse: valid, and its code not used before. */
+  public static final WarehouseValidator CREATE = CAPACITY_AND_STOCK.and(WarehouseRule.CODE_UNUSED);
+
+  /** The successor of an active warehouse. */
+  public static final WarehouseValidator REPLACE =
+      CAPACITY_AND_STOCK.and(WarehouseRule.CODE_EXISTS, WarehouseRule.CODE_ACTIVE);
+
+  /** {@link #CREATE} for one record of a batch. */
+  public static final WarehouseValidator CREATE_BATCH =
+      CREATE.and(WarehouseRule.CODE_UNIQUE_IN_BATCH);
+
+  /** {@link #REPLACE} for one record of a batch. */
+  public static final WarehouseValidator REPLACE_BATCH =
+      REPLACE.and(WarehouseRule.CODE_UNIQUE_IN_BATCH);
+
+  private final EnumSet<WarehouseRule> ruleSet;
+  private final WarehouseRule[] rules;
+
+  private WarehouseValidator(EnumSet<WarehouseRule> ruleSet) {
+    this.ruleSet = ruleSet;
+    // EnumSet iterates in declaration order and the sort is stable
+    this.rules =
+        ruleSet.stream()
+            .sorted(Comparator.comparing(WarehouseRule::cost))
+            .toArray(WarehouseRule[]::new);
+  }
+
+  public static WarehouseValidator of(WarehouseRule first, WarehouseRule... rest) {
+    return new WarehouseValidator(EnumSet.of(first, rest));
+  }
+
+  /** This validator with more rules, each placed by its cost. */
+  public WarehouseValidator and(WarehouseRule first, WarehouseRule... rest) {
+    EnumSet<WarehouseRule> combined = EnumSet.copyOf(ruleSet);
+    combined.add(first);
+    combined.addAll(Arrays.asList(rest));
+    return new WarehouseValidator(combined);
+  }
+
+  /** The rules in the order they are checked. */
+  public List<WarehouseRule> rules() {
+    return List.of(rules);
+  }
+
+  /** The first rule the subject violates, or null if it satisfies all of them. */
+  public WarehouseRule firstViolation(WarehouseSubject subject) {
+    for (WarehouseRule rule : rules) {
+      if (!rule.holds(subject)) {
+        return rule;
+      }
+    }
+    return null;
+  }
+
+  /** Throws a {@link WarehouseValidationException} for the first rule the subject violates. */
+  public void validate(WarehouseSubject subject) {
+    WarehouseRule violated = firstViolation(subject);
+    if (violated != null) {
+      throw new WarehouseValidationException(
+          violated, subject.warehouse(), subject.resolvedLocation());
+    }
+  }
+}
@@ -0,0 +1,36 @@
+-- Schema as mapped by the entities; dev and test still let Hibernate generate it.
+
+CREATE SEQUENCE store_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE product_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE warehouse_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE store (
+    id BIGINT NOT NULL,
+    name VARCHAR(40),
+    quantityProductsInStock INTEGER NOT NULL,
+    CONSTRAINT store_pkey PRIMARY KEY (id),
+    CONSTRAINT store_name_key UNIQUE (name)
+);
+
+CREATE TABLE product (
+    id BIGINT NOT NULL,
+    name VARCHAR(40),
+    description VARCHAR(255),
+    price NUMERIC(10, 2),
+    stock INTEGER NOT NULL,
+    CONSTRAINT product_pkey PRIMARY KEY (id),
+    CONSTRAINT product_name_key UNIQUE (name)
+);
+
+CREATE TABLE warehouse (
+    id BIGINT NOT NULL,
+    version BIGINT,
+    businessUnitCode VARCHAR(255) NOT NULL,
+    location VARCHAR(255),
+    capacity INTEGER,
+    stock INTEGER,
+    createdAt TIMESTAMP(6),
+    archivedAt TIMESTAMP(6),
+    CONSTRAINT warehouse_pkey PRIMARY KEY (id),
+    CONSTRAINT warehouse_businessUnitCode_key UNIQUE (businessUnitCode)
+);
@@ -0,0 +1,15 @@
+-- Store changes the legacy sync gave up on (LegacySyncDeadLetter); replayed via /legacy-sync.
+
+CREATE SEQUENCE legacy_sync_dead_letter_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE legacy_sync_dead_letter (
+    id BIGINT NOT NULL,
+    operation VARCHAR(10) NOT NULL,
+    storeId BIGINT,
+    storeName VARCHAR(40),
+    quantityProductsInStock INTEGER NOT NULL,
+    attempts INTEGER NOT NULL,
+    lastError VARCHAR(2000),
+    failedAt TIMESTAMP(6),
+    CONSTRAINT legacy_sync_dead_letter_pkey PRIMARY KEY (id)
+);
@@ -0,0 +1,6 @@
+-- Optimistic-lock version of stores; orders store changes sent to the legacy system.
+
+ALTER TABLE store ADD COLUMN version BIGINT;
+UPDATE store SET version = 0;
+
+ALTER TABLE legacy_sync_dead_letter ADD COLUMN storeVersion BIGINT;
@@ -0,0 +1,11 @@
+-- Active warehouses (archivedAt IS NULL) are what almost every query asks for. Partial indexes
+-- only hold those rows, so they stay small however many archived rows accumulate.
+-- CONCURRENTLY keeps the table writable while building; see the .conf for the transaction mode.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS warehouse_active_business_unit_code_idx
+    ON warehouse (businessUnitCode)
+    WHERE archivedAt IS NULL;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS warehouse_active_location_idx
+    ON warehouse (location, businessUnitCode)
+    WHERE archivedAt IS NULL;
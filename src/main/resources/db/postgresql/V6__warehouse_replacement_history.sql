@@ -0,0 +1,17 @@
+-- Replacing a warehouse archives the current row and inserts its successor under the same
+-- businessUnitCode, so a code is only unique among active rows (archivedAt IS NULL). The partial
+-- unique index is built before the table-wide constraint is dropped, so no duplicate active
+-- warehouse can slip in between. CONCURRENTLY as in V3; see the .conf for the transaction mode.
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS warehouse_active_business_unit_code_key
+    ON warehouse (businessUnitCode)
+    WHERE archivedAt IS NULL;
+
+-- Lookups over a code's history: the active row, or else the most recently archived one
+CREATE INDEX CONCURRENTLY IF NOT EXISTS warehouse_business_unit_code_idx
+    ON warehouse (businessUnitCode);
+
+ALTER TABLE warehouse DROP CONSTRAINT IF EXISTS warehouse_businessUnitCode_key;
+
+-- Superseded by the unique partial index
+DROP INDEX CONCURRENTLY IF EXISTS warehouse_active_business_unit_code_idx;
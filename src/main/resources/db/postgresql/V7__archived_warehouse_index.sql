@@ -0,0 +1,8 @@
+-- The retention purge (WarehouseRepository.purgeArchivedBefore) picks its batches with
+-- "archivedAt < :cutoff ORDER BY archivedAt LIMIT n". Without an index on archivedAt each batch
+-- scans and sorts the whole table. Partial on archived rows, the complement of V3 and V6, so
+-- active rows cost nothing. CONCURRENTLY as in V3; see the .conf for the transaction mode.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS warehouse_archived_at_idx
+    ON warehouse (archivedAt)
+    WHERE archivedAt IS NOT NULL;
@@ -0,0 +1,37 @@
+package com.fulfilment.application.monolith;
+
+import io.quarkus.test.common.QuarkusTestResourceLifecycleManager;
+import java.util.Map;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Starts a throwaway PostgreSQL for tests that run the packaged application ({@code *IT}), which
+ * uses the {@code prod} profile: Flyway migrations against a real PostgreSQL, which also serves
+ * as the read replica.
+ */
+public class PostgresTestResource implements QuarkusTestResourceLifecycleManager {
+
+  private PostgreSQLContainer<?> postgres;
+
+  @Override
+  public Map<String, String> start() {
+    postgres = new PostgreSQLContainer<>("postgres:13.3");
+    postgres.start();
+    // The prod profile enables the read replica; point it at the same container, so GETs go
+    // through ReadRouter as in production instead of failing over from localhost:15432
+    return Map.of(
+        "quarkus.datasource.jdbc.url", postgres.getJdbcUrl(),
+        "quarkus.datasource.username", postgres.getUsername(),
+        "quarkus.datasource.password", postgres.getPassword(),
+        "quarkus.datasource.read.jdbc.url", postgres.getJdbcUrl(),
+        "quarkus.datasource.read.username", postgres.getUsername(),
+        "quarkus.datasource.read.password", postgres.getPassword());
+  }
+
+  @Override
+  public void stop() {
+    if (postgres != null) {
+      postgres.stop();
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package com.fulfilment.application.monolith.cache;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fulfilment.application.monolith.stores.Store;
+import io.quarkus.panache.common.Sort;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.stat.Statistics;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Benchmark-style test for the second-level and query cache.
+ *
+ * Runs the same sorted list query with and without the query cache hint and compares the number
+ * of JDBC statements Hibernate had to prepare, i.e. the number of database round trips.
+ */
+@QuarkusTest
+public class SecondLevelCacheTest {
+
+  private static final Logger LOGGER = Logger.getLogger(SecondLevelCacheTest.class.getName());
+
+  private static final int ITERATIONS = 50;
+
+  @Inject
+  SessionFactory sessionFactory;
+
+  @Test
+  @Transactional
+  public void testQueryCacheReducesDatabaseRoundTrips() {
+    Statistics statistics = sessionFactory.getStatistics();
+
+    // Uncached: every execution goes to the database
+    statistics.clear();
+    for (int i = 0; i < ITERATIONS; i++) {
+      Store.listAll(Sort.by("name"));
+    }
+    long uncachedRoundTrips = statistics.getPrepareStatementCount();
+
+    // Cached: only the first execution (at most) goes to the database
+    statistics.clear();
+    for (int i = 0; i < ITERATIONS; i++) {
+      Store.findAll(Sort.by("name")).withHint(HibernateHints.HINT_CACHEABLE, true).list();
+    }
+    long cachedRoundTrips = statistics.getPrepareStatementCount();
+
+    LOGGER.infof(
+        "Store list x%d: %d round trips uncached, %d round trips with query cache",
+        ITERATIONS, uncachedRoundTrips, cachedRoundTrips);
+
+    assertEquals(ITERATIONS, uncachedRoundTrips);
+    assertTrue(cachedRoundTrips <= 1, "Expected at most one round trip, got " + cachedRoundTrips);
+    assertTrue(statistics.getQueryCacheHitCount() >= ITERATIONS - 1);
+  }
+
+  @Test
+  public void testStatisticsEndpoint() {
+    given().when().get("store").then().statusCode(200);
+    given().when().get("store").then().statusCode(200);
+
+    given()
+        .when()
+        .get("cache/statistics")
+        .then()
+        .statusCode(200)
+        .body("enabled", is(true));
+  }
+}
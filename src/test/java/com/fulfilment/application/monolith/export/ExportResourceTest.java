@@ -0,0 +1,99 @@
+package com.fulfilment.application.monolith.export;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class ExportResourceTest {
+
+  @Test
+  public void testProductExportAsCsv() {
+    String name = "Export, \"quoted\" " + (System.currentTimeMillis() % 100000);
+
+    given()
+        .contentType("application/json")
+        .body("{\"name\": \"" + name.replace("\"", "\\\"") + "\", \"stock\": 3}")
+        .when().post("/product")
+        .then()
+        .statusCode(201);
+
+    given()
+        .when().get("/export/products?format=csv")
+        .then()
+        .statusCode(200)
+        .contentType(startsWith("text/csv"))
+        .body(
+            startsWith("id,name,description,price,stock\n"),
+            containsString("\"" + name.replace("\"", "\"\"") + "\""));
+  }
+
+  @Test
+  public void testStoreExportAsNdjson() {
+    String name = "ExportStore_" + System.currentTimeMillis();
+
+    given()
+        .contentType("application/json")
+        .body("{\"name\": \"" + name + "\", \"quantityProductsInStock\": 12}")
+        .when().post("/store")
+        .then()
+        .statusCode(201);
+
+    given()
+        .when().get("/export/stores")
+        .then()
+        .statusCode(200)
+        .contentType(startsWith("application/x-ndjson"))
+        .body(containsString("\"name\":\"" + name + "\",\"quantityProductsInStock\":12}"));
+  }
+
+  @Test
+  public void testWarehouseExportWithGzip() {
+    // RestAssured transparently decompresses the gzip body
+    given()
+        .header("Accept-Encoding", "gzip")
+        .when().get("/export/warehouses")
+        .then()
+        .statusCode(200)
+        .header("Content-Encoding", is("gzip"))
+        .header("Vary", is("Accept-Encoding"));
+  }
+
+  @Test
+  public void testGzipRefusedWithZeroQualityIsNotUsed() {
+    given()
+        .header("Accept-Encoding", "gzip;q=0, identity")
+        .when().get("/export/stores")
+        .then()
+        .statusCode(200)
+        .header("Content-Encoding", nullValue())
+        .header("Vary", is("Accept-Encoding"))
+        .body(containsString("\"quantityProductsInStock\""));
+  }
+
+  @Test
+  public void testAcceptEncodingQualityValues() {
+    assertTrue(ExportResource.acceptsGzip("gzip"));
+    assertTrue(ExportResource.acceptsGzip("deflate, GZIP;q=0.5"));
+    assertTrue(ExportResource.acceptsGzip("x-gzip"));
+    assertTrue(ExportResource.acceptsGzip("br;q=1.0, *;q=0.1"));
+    assertFalse(ExportResource.acceptsGzip(null));
+    assertFalse(ExportResource.acceptsGzip("identity"));
+    assertFalse(ExportResource.acceptsGzip("gzip;q=0"));
+    assertFalse(ExportResource.acceptsGzip("gzip; q=0.000, *"));
+    assertFalse(ExportResource.acceptsGzip("gzip;q=oops"));
+    assertFalse(ExportResource.acceptsGzip("gzipped"));
+  }
+
+  @Test
+  public void testUnknownFormatIsRejected() {
+    given().when().get("/export/products?format=xml").then().statusCode(400);
+  }
+}
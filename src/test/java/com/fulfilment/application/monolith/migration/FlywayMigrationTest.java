@@ -0,0 +1,59 @@
+package com.fulfilment.application.monolith.migration;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import java.util.Map;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Boots the application the way production does: schema and reference data from the Flyway
+ * migrations, Hibernate only validating the schema against the entity mappings.
+ *
+ * Runs on H2 in PostgreSQL mode, so an entity change without a matching migration fails here.
+ */
+@QuarkusTest
+@TestProfile(FlywayMigrationTest.MigrationsProfile.class)
+public class FlywayMigrationTest {
+
+  public static class MigrationsProfile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return Map.of(
+          "quarkus.datasource.jdbc.url",
+          "jdbc:h2:mem:migrations;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+          "quarkus.hibernate-orm.database.generation", "validate",
+          "quarkus.hibernate-orm.sql-load-script", "no-file",
+          "quarkus.flyway.migrate-at-start", "true",
+          // H2 stand-ins for the PostgreSQL-only migrations
+          "quarkus.flyway.locations", "db/migration,db/h2");
+    }
+  }
+
+  @Inject Flyway flyway;
+
+  @Test
+  public void testMigrationsCreateValidSchemaAndSeedData() {
+    assertEquals(7, flyway.info().applied().length);
+
+    given()
+        .when()
+        .get("warehouse")
+        .then()
+        .statusCode(200)
+        .body(containsString("MWH.001"), containsString("MWH.012"), containsString("MWH.023"));
+
+    given()
+        .when()
+        .get("store")
+        .then()
+        .statusCode(200)
+        .body(containsString("TONSTAD"), containsString("KALLAX"));
+  }
+}
@@ -0,0 +1,13 @@
+package com.fulfilment.application.monolith.products;
+
+import com.fulfilment.application.monolith.PostgresTestResource;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusIntegrationTest;
+
+/**
+ * Runs {@link ProductImportTest} against the packaged application: the native executable when built
+ * with {@code -Dnative}.
+ */
+@QuarkusIntegrationTest
+@QuarkusTestResource(value = PostgresTestResource.class, restrictToAnnotatedClass = true)
+public class ProductImportIT extends ProductImportTest {}
@@ -0,0 +1,218 @@
+package com.fulfilment.application.monolith.products;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.quarkus.test.junit.QuarkusTest;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the streaming product import.
+ *
+ * The throughput test defaults to 20,000 rows; run it with {@code -Dproduct.import.rows=1000000}
+ * to measure a million-row catalog.
+ */
+@QuarkusTest
+public class ProductImportTest {
+
+  private static final Logger LOGGER = Logger.getLogger(ProductImportTest.class.getName());
+
+  @Test
+  public void testCsvImportUpsertsByNameAndReportsRowErrors() {
+    String prefix = "CSV-" + System.currentTimeMillis() + "-";
+    String csv =
+        "name,description,price,stock\n"
+            + prefix + "A,\"Chair, oak\",49.95,10\n"
+            + prefix + "B,Table,149.00,3\n"
+            + ",Missing name,1.00,1\n"
+            + prefix + "C,Lamp,abc,1\n";
+
+    given()
+        .contentType("text/csv")
+        .body(csv)
+        .when().post("/product/import")
+        .then()
+        .statusCode(200)
+        .body("received", is(2), "inserted", is(2), "updated", is(0), "failed", is(2))
+        .body("errors[0].line", is(4), "errors[1].line", is(5));
+
+    // Importing the same names again updates the existing rows
+    given()
+        .contentType("text/csv")
+        .body("name,stock\n" + prefix + "A,99\n")
+        .when().post("/product/import")
+        .then()
+        .statusCode(200)
+        .body("inserted", is(0), "updated", is(1));
+  }
+
+  @Test
+  public void testCsvExportImportsBackUnchanged() {
+    String name = "ROUNDTRIP-" + System.currentTimeMillis();
+    String description = "Line one, \"quoted\"\nline two\r\nline three";
+    int id =
+        given()
+            .contentType("application/json")
+            .body(
+                "{\"name\": \"" + name + "\", \"description\": \""
+                    + description.replace("\"", "\\\"").replace("\n", "\\n")
+                        .replace("\r", "\\r")
+                    + "\", \"price\": 12.50, \"stock\": 7}")
+            .when().post("/product")
+            .then()
+            .statusCode(201)
+            .extract().path("id");
+
+    // Every product, the new one with a description over three lines
+    String csv =
+        given()
+            .when().get("/export/products?format=csv")
+            .then()
+            .statusCode(200)
+            .extract().asString();
+
+    given()
+        .contentType("text/csv")
+        .body(csv)
+        .when().post("/product/import")
+        .then()
+        .statusCode(200)
+        .body("failed", is(0), "inserted", is(0));
+
+    given()
+        .when().get("/product/" + id)
+        .then()
+        .statusCode(200)
+        .body("name", is(name), "description", is(description), "stock", is(7));
+  }
+
+  @Test
+  public void testCsvErrorsAreReportedAtTheLineTheRecordStarts() {
+    String prefix = "MULTILINE-" + System.currentTimeMillis() + "-";
+    String csv =
+        "name,description,stock\n"
+            + prefix + "A,\"first\nsecond\nthird\",1\n"
+            + prefix + "B,plain,many\n"
+            + prefix + "C,\"never closed\n"
+            + prefix + "D,swallowed,1\n";
+
+    given()
+        .contentType("text/csv")
+        .body(csv)
+        .when().post("/product/import")
+        .then()
+        .statusCode(200)
+        .body("inserted", is(1), "failed", is(2))
+        .body("errors[0].line", is(5), "errors[0].error", is("Invalid stock 'many'"))
+        .body("errors[1].line", is(6), "errors[1].error", is("Unterminated quoted field"));
+  }
+
+  @Test
+  public void testNdjsonImport() {
+    String prefix = "NDJSON-" + System.currentTimeMillis() + "-";
+    String ndjson =
+        "{\"name\": \"" + prefix + "A\", \"price\": 10.50, \"stock\": 4}\n"
+            + "{not json}\n"
+            + "{\"name\": \"" + prefix + "B\", \"description\": \"Shelf\"}\n";
+
+    given()
+        .contentType("application/x-ndjson")
+        .body(ndjson)
+        .when().post("/product/import")
+        .then()
+        .statusCode(200)
+        .body("inserted", is(2), "failed", is(1), "errors[0].line", is(2));
+  }
+
+  @Test
+  public void testCsvWithoutNameColumnIsRejected() {
+    given()
+        .contentType("text/csv")
+        .body("description,stock\nfoo,1\n")
+        .when().post("/product/import")
+        .then()
+        .statusCode(422);
+  }
+
+  @Test
+  public void testImportIsNotCappedByTheBodyLimit() {
+    // 1,000 rows padded to 16 KB each: 16 MB, above the 10M limit of the JSON endpoints
+    String prefix = "LARGE-" + System.currentTimeMillis() + "-";
+    String padding = "x".repeat(16 * 1024);
+    StringBuilder ndjson = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      ndjson.append("{\"name\": \"").append(prefix).append(i).append("\", \"stock\": 1, ")
+          .append("\"padding\": \"").append(padding).append("\"}\n");
+    }
+    byte[] body = ndjson.toString().getBytes(StandardCharsets.UTF_8);
+    assertTrue(body.length > 16_000_000);
+
+    given()
+        .contentType("application/x-ndjson")
+        .body(body)
+        .when().post("/product/import")
+        .then()
+        .statusCode(200)
+        .body("received", is(1000), "inserted", is(1000), "failed", is(0));
+
+    // The JSON endpoints still refuse a body that size
+    given()
+        .contentType("application/json")
+        .body(("{\"name\": \"" + prefix + "\", \"description\": \"" + "x".repeat(16_000_000)
+            + "\"}").getBytes(StandardCharsets.UTF_8))
+        .when().post("/product")
+        .then()
+        .statusCode(413);
+  }
+
+  @Test
+  public void testUnsupportedImportFormatIsRejected() {
+    given()
+        .contentType("application/json")
+        .body("[]")
+        .when().post("/product/import")
+        .then()
+        .statusCode(415);
+  }
+
+  @Test
+  public void testImportThroughput() throws IOException {
+    int rows = Integer.getInteger("product.import.rows", 20_000);
+    String prefix = "BULK-" + System.currentTimeMillis() + "-";
+
+    Path file = Files.createTempFile("products", ".csv");
+    try {
+      try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+        writer.write("name,description,price,stock\n");
+        for (int i = 0; i < rows; i++) {
+          writer.write(prefix + i + ",Imported product,9.99," + (i % 100) + "\n");
+        }
+      }
+
+      long started = System.nanoTime();
+      int inserted =
+          given()
+              .contentType("text/csv")
+              .body(file.toFile())
+              .when().post("/product/import")
+              .then()
+              .statusCode(200)
+              .extract().path("inserted");
+      long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+
+      LOGGER.infof(
+          "Imported %d products in %d ms (%d rows/s)",
+          rows, elapsedMillis, rows * 1000L / elapsedMillis);
+      assertEquals(rows, inserted);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}
@@ -0,0 +1,128 @@
+package com.fulfilment.application.monolith.readreplica;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.startsWith;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Routing between the primary and a read replica, with two in-memory H2 databases standing in
+ * for them. The replica holds different rows than the primary, so every response shows which
+ * database served it.
+ */
+@QuarkusTest
+@TestProfile(ReadReplicaRoutingTest.ReplicaProfile.class)
+public class ReadReplicaRoutingTest {
+
+  public static class ReplicaProfile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return Map.of(
+          "read-replica.enabled", "true",
+          "read-replica.max-lag", "1m",
+          "quarkus.datasource.read.jdbc.url",
+          "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:replica-test.sql'");
+    }
+  }
+
+  @Test
+  public void testReadsWithoutTokenGoToReplica() {
+    given()
+        .when().get("/product")
+        .then()
+        .statusCode(200)
+        .body(containsString("REPLICA-PRODUCT"), not(containsString("KALLAX")));
+
+    given()
+        .when().get("/warehouse/MWH.REPLICA")
+        .then()
+        .statusCode(200)
+        .body("location", is("AMSTERDAM-001"));
+
+    given().when().get("/store/by-name/REPLICA-STORE").then().statusCode(200);
+  }
+
+  @Test
+  public void testConsistencyTokenReadsYourWrites() {
+    String name = "ReadYourWrites_" + System.currentTimeMillis();
+
+    String token =
+        given()
+            .contentType("application/json")
+            .body("{\"name\": \"" + name + "\", \"quantityProductsInStock\": 2}")
+            .when().post("/store")
+            .then()
+            .statusCode(201)
+            .header(ReadRouter.TOKEN_HEADER, startsWith("t:"))
+            .extract()
+            .header(ReadRouter.TOKEN_HEADER);
+
+    // The replica has not seen the write...
+    given()
+        .when().get("/store")
+        .then()
+        .statusCode(200)
+        .body(containsString("REPLICA-STORE"), not(containsString(name)));
+
+    // ...so a read presenting the token is served by the primary
+    given()
+        .header(ReadRouter.TOKEN_HEADER, token)
+        .when().get("/store")
+        .then()
+        .statusCode(200)
+        .body(containsString(name), not(containsString("REPLICA-STORE")));
+  }
+
+  @Test
+  public void testNoTokenWithoutCommittedWrite() {
+    given()
+        .contentType("application/json")
+        .body(
+            "[{\"businessUnitCode\": \"MWH.TOKEN\", \"location\": \"VETSBY-001\","
+                + " \"capacity\": 10, \"stock\": 1}]")
+        .when().post("/warehouse-validation")
+        .then()
+        .statusCode(200)
+        .header(ReadRouter.TOKEN_HEADER, nullValue());
+
+    given()
+        .contentType("application/json")
+        .body(
+            "{\"businessUnitCode\": \"MWH.TOKEN\", \"location\": \"VETSBY-001\","
+                + " \"capacity\": 10, \"stock\": 1}")
+        .queryParam("dryRun", true)
+        .when().post("/warehouse")
+        .then()
+        .statusCode(200)
+        .header(ReadRouter.TOKEN_HEADER, nullValue());
+
+    int id =
+        given()
+            .contentType("application/json")
+            .body("{\"name\": \"NoToken_" + System.currentTimeMillis() + "\","
+                + " \"quantityProductsInStock\": 5}")
+            .when().post("/store")
+            .then()
+            .statusCode(201)
+            .header(ReadRouter.TOKEN_HEADER, startsWith("t:"))
+            .extract()
+            .path("id");
+
+    // Only buffered, the flush thread writes it later
+    given()
+        .contentType("application/json")
+        .body("{\"delta\": 1}")
+        .when().post("/store/" + id + "/stock/delta")
+        .then()
+        .statusCode(202)
+        .header(ReadRouter.TOKEN_HEADER, nullValue());
+  }
+}
@@ -0,0 +1,108 @@
+package com.fulfilment.application.monolith.stores;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.json.JsonObject;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embedded stand-in for the legacy store manager's HTTP API, as spoken by {@link
+ * HttpLegacyStoreTransport}. Every request is answered after {@code latency}, and a share {@code
+ * errorRate} of them with a 503, so sync throughput and retry behaviour can be measured without
+ * the real system. Latency is a timer, not a sleep, so concurrent requests overlap as they would
+ * against a real server.
+ */
+public class LegacyStandInServer implements AutoCloseable {
+
+  private final Vertx vertx = Vertx.vertx();
+  private final Map<Long, JsonObject> stores = new ConcurrentHashMap<>();
+  private final AtomicLong received = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+  private volatile Duration latency;
+  private volatile double errorRate;
+  private HttpServer server;
+
+  public LegacyStandInServer(Duration latency, double errorRate) {
+    this.latency = latency;
+    this.errorRate = errorRate;
+  }
+
+  public LegacyStandInServer start() throws Exception {
+    server =
+        vertx
+            .createHttpServer()
+            .requestHandler(this::handle)
+            .listen(0, "localhost")
+            .toCompletionStage()
+            .toCompletableFuture()
+            .get(10, TimeUnit.SECONDS);
+    return this;
+  }
+
+  public URI uri() {
+    return URI.create("http://localhost:" + server.actualPort() + "/legacy");
+  }
+
+  public void setLatency(Duration latency) {
+    this.latency = latency;
+  }
+
+  public void setErrorRate(double errorRate) {
+    this.errorRate = errorRate;
+  }
+
+  public long received() {
+    return received.get();
+  }
+
+  public long failed() {
+    return failed.get();
+  }
+
+  /** The last accepted payload for a store id, or {@code null}. */
+  public JsonObject store(Long id) {
+    return stores.get(id);
+  }
+
+  private void handle(HttpServerRequest request) {
+    request
+        .body()
+        .onSuccess(
+            body -> {
+              received.incrementAndGet();
+              long delay = latency.toMillis();
+              if (delay > 0) {
+                vertx.setTimer(delay, id -> respond(request, body.toJsonObject()));
+              } else {
+                respond(request, body.toJsonObject());
+              }
+            });
+  }
+
+  private void respond(HttpServerRequest request, JsonObject store) {
+    boolean known = request.path().matches("/legacy/stores(/\\d+)?");
+    if (!known) {
+      request.response().setStatusCode(404).end();
+    } else if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+      failed.incrementAndGet();
+      request.response().setStatusCode(503).end();
+    } else {
+      if (store.getLong("id") != null) {
+        stores.put(store.getLong("id"), store);
+      }
+      request.response().setStatusCode(request.method().name().equals("POST") ? 201 : 204).end();
+    }
+  }
+
+  @Override
+  public void close() throws Exception {
+    vertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+  }
+}
@@ -0,0 +1,108 @@
+package com.fulfilment.application.monolith.stores;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.vertx.core.Vertx;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Runs both transports outside Quarkus, the HTTP one against {@link LegacyStandInServer}. */
+public class LegacyStoreTransportTest {
+
+  private Vertx vertx;
+  private LegacyStandInServer server;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    vertx = Vertx.vertx();
+    server = new LegacyStandInServer(Duration.ofMillis(5), 0.0).start();
+  }
+
+  @AfterEach
+  public void tearDown() throws Exception {
+    server.close();
+    vertx.close().toCompletionStage().toCompletableFuture().get();
+  }
+
+  @Test
+  public void testConcurrentSendsSharePipelinedConnections() throws Exception {
+    HttpLegacyStoreTransport transport = http(1, 8);
+    ExecutorService workers = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> sends = new ArrayList<>();
+      for (long id = 1; id <= 200; id++) {
+        StoreSnapshot store = store(id, "HTTP-" + id);
+        sends.add(workers.submit(() -> transport.send(LegacySyncTask.Operation.CREATE, store)));
+      }
+      for (Future<?> send : sends) {
+        send.get();
+      }
+    } finally {
+      workers.shutdown();
+      transport.close();
+    }
+
+    assertEquals(200, server.received());
+    assertEquals("HTTP-42", server.store(42L).getString("name"));
+    assertEquals(42, server.store(42L).getInteger("quantityProductsInStock"));
+  }
+
+  @Test
+  public void testInjectedErrorsAndTimeoutsAreThrown() {
+    HttpLegacyStoreTransport transport = http(2, 1);
+    try {
+      server.setErrorRate(1.0);
+      UncheckedIOException rejected =
+          assertThrows(
+              UncheckedIOException.class,
+              () -> transport.send(LegacySyncTask.Operation.UPDATE, store(7L, "HTTP-ERR")));
+      assertTrue(rejected.getMessage().contains("503"), rejected.getMessage());
+
+      server.setErrorRate(0.0);
+      server.setLatency(Duration.ofSeconds(2));
+      assertThrows(
+          UncheckedIOException.class,
+          () -> transport.send(LegacySyncTask.Operation.UPDATE, store(7L, "HTTP-SLOW")));
+    } finally {
+      transport.close();
+    }
+  }
+
+  @Test
+  public void testFileTransportAppendsOneLinePerChange(@TempDir Path dir) throws Exception {
+    Path file = dir.resolve("legacy.log");
+    FileLegacyStoreTransport transport = new FileLegacyStoreTransport(file, true);
+    try {
+      transport.send(LegacySyncTask.Operation.CREATE, store(1L, "FILE\tONE"));
+      transport.send(LegacySyncTask.Operation.UPDATE, store(1L, "FILE-ONE"));
+    } finally {
+      transport.close();
+    }
+
+    assertEquals(
+        List.of("CREATE\t1\tFILE ONE\t1", "UPDATE\t1\tFILE-ONE\t1"), Files.readAllLines(file));
+  }
+
+  private HttpLegacyStoreTransport http(int poolSize, int pipeliningLimit) {
+    return new HttpLegacyStoreTransport(
+        vertx, server.uri(), poolSize, pipeliningLimit, Duration.ofMillis(500));
+  }
+
+  private static StoreSnapshot store(Long id, String name) {
+    return new StoreSnapshot(id, name, id.intValue(), 1, Instant.now());
+  }
+}
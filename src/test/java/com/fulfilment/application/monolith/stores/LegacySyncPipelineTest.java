@@ -0,0 +1,218 @@
+package com.fulfilment.application.monolith.stores;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.mockito.InjectMock;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+@QuarkusTest
+public class LegacySyncPipelineTest {
+
+  @Inject LegacySyncPipeline legacySyncPipeline;
+
+  @InjectMock LegacyStoreManagerGateway legacyGateway;
+
+  @BeforeEach
+  public void setup() {
+    Mockito.reset(legacyGateway);
+    QuarkusTransaction.requiringNew().run(LegacySyncDeadLetter::deleteAll);
+  }
+
+  @Test
+  public void testFailedSyncIsRetriedUntilItSucceeds() throws InterruptedException {
+    doThrow(new UncheckedIOException(new IOException("legacy down")))
+        .doThrow(new UncheckedIOException(new IOException("legacy down")))
+        .doNothing()
+        .when(legacyGateway)
+        .updateStoreOnLegacySystem(any(StoreSnapshot.class));
+
+    StoreSnapshot snapshot = store(999_001L, "RETRY", 0);
+    legacySyncPipeline.submit(LegacySyncTask.of(LegacySyncTask.Operation.UPDATE, snapshot));
+
+    awaitTrue(() -> mockingDetails(legacyGateway).getInvocations().size() == 3);
+    // Every attempt sends the snapshot taken at commit, changedAt included
+    verify(legacyGateway, times(3)).updateStoreOnLegacySystem(snapshot);
+    assertEquals(0L, QuarkusTransaction.requiringNew().call(LegacySyncDeadLetter::count));
+  }
+
+  @Test
+  public void testExhaustedSyncIsDeadLetteredAndCanBeReplayed() throws InterruptedException {
+    doThrow(new UncheckedIOException(new IOException("legacy down")))
+        .when(legacyGateway)
+        .createStoreOnLegacySystem(any(StoreSnapshot.class));
+
+    legacySyncPipeline.submit(
+        LegacySyncTask.of(LegacySyncTask.Operation.CREATE, store(999_002L, "DEAD", 0)));
+
+    awaitTrue(() -> QuarkusTransaction.requiringNew().call(LegacySyncDeadLetter::count) == 1);
+    verify(legacyGateway, times(3)).createStoreOnLegacySystem(any(StoreSnapshot.class));
+    LegacySyncDeadLetter deadLetter =
+        QuarkusTransaction.requiringNew()
+            .call(() -> LegacySyncDeadLetter.<LegacySyncDeadLetter>findAll().firstResult());
+    assertEquals("LEGACY-SYNC-DEAD", deadLetter.storeName);
+    assertEquals(3, deadLetter.attempts);
+    assertTrue(deadLetter.lastError.contains("legacy down"));
+
+    given()
+        .when()
+        .get("legacy-sync/metrics")
+        .then()
+        .statusCode(200)
+        .body("deadLettered", greaterThanOrEqualTo(1), "retried", greaterThanOrEqualTo(2));
+
+    Mockito.reset(legacyGateway);
+    doNothing().when(legacyGateway).createStoreOnLegacySystem(any(StoreSnapshot.class));
+
+    given()
+        .when()
+        .post("legacy-sync/dead-letters/" + deadLetter.id + "/replay")
+        .then()
+        .statusCode(202);
+
+    awaitTrue(() -> !mockingDetails(legacyGateway).getInvocations().isEmpty());
+    verify(legacyGateway, times(1)).createStoreOnLegacySystem(any(StoreSnapshot.class));
+    assertEquals(0L, QuarkusTransaction.requiringNew().call(LegacySyncDeadLetter::count));
+
+    given()
+        .when()
+        .post("legacy-sync/dead-letters/" + deadLetter.id + "/replay")
+        .then()
+        .statusCode(404);
+  }
+
+  @Test
+  public void testChangesOfOneStoreAreSerializedAndCoalesced() throws InterruptedException {
+    CountDownLatch firstCallStarted = new CountDownLatch(1);
+    CountDownLatch releaseFirstCall = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              firstCallStarted.countDown();
+              releaseFirstCall.await(5, TimeUnit.SECONDS);
+              return null;
+            })
+        .doNothing()
+        .when(legacyGateway)
+        .updateStoreOnLegacySystem(any(StoreSnapshot.class));
+
+    legacySyncPipeline.submit(
+        LegacySyncTask.of(LegacySyncTask.Operation.UPDATE, store(999_003L, "LANE", 1)));
+    assertTrue(firstCallStarted.await(5, TimeUnit.SECONDS));
+    // Arrive while version 1 is with the legacy system, out of order
+    for (long version : new long[] {3, 5, 2, 4, 1}) {
+      legacySyncPipeline.submit(
+          LegacySyncTask.of(LegacySyncTask.Operation.UPDATE, store(999_003L, "LANE", version)));
+    }
+    releaseFirstCall.countDown();
+
+    awaitTrue(() -> legacySyncPipeline.isIdle(999_003L));
+    ArgumentCaptor<StoreSnapshot> sent = ArgumentCaptor.forClass(StoreSnapshot.class);
+    verify(legacyGateway, times(2)).updateStoreOnLegacySystem(sent.capture());
+    assertEquals(
+        List.of(1L, 5L), sent.getAllValues().stream().map(StoreSnapshot::version).toList());
+    assertEquals(5, sent.getAllValues().get(1).quantityProductsInStock());
+
+    // Older than what was synced: dropped on submit, so the store never becomes busy again
+    long superseded = legacySyncPipeline.metrics().superseded();
+    legacySyncPipeline.submit(
+        LegacySyncTask.of(LegacySyncTask.Operation.UPDATE, store(999_003L, "LANE", 4)));
+    assertTrue(legacySyncPipeline.isIdle(999_003L));
+    assertTrue(legacySyncPipeline.metrics().superseded() > superseded);
+    verify(legacyGateway, times(2)).updateStoreOnLegacySystem(any(StoreSnapshot.class));
+  }
+
+  @Test
+  public void testReplayAllSendsCurrentStoreStatesPageByPage() throws InterruptedException {
+    doNothing().when(legacyGateway).updateStoreOnLegacySystem(any(StoreSnapshot.class));
+    String prefix = "REPLAY-" + System.currentTimeMillis() + "-";
+    Long changed = persistStore(prefix + "A", 1);
+    Long unchanged = persistStore(prefix + "B", 2);
+    Long other = persistStore(prefix + "C", 3);
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              deadLetter(changed);
+              deadLetter(unchanged);
+              LegacySyncDeadLetter.of(
+                      LegacySyncTask.of(
+                          LegacySyncTask.Operation.UPDATE, store(999_010L, "GONE", 0)),
+                      "legacy down")
+                  .persist();
+              deadLetter(other);
+            });
+    // Changed after its change was dead-lettered: the replay must not send the old state
+    QuarkusTransaction.requiringNew()
+        .run(() -> Store.<Store>findById(changed).quantityProductsInStock = 10);
+
+    // Four letters in pages of two (%test.legacy-sync.replay-batch-size)
+    given()
+        .when()
+        .post("legacy-sync/dead-letters/replay")
+        .then()
+        .statusCode(200)
+        .body("replayed", is(3), "queued", is(3), "dropped", is(1));
+
+    awaitTrue(() -> mockingDetails(legacyGateway).getInvocations().size() == 3);
+    ArgumentCaptor<StoreSnapshot> sent = ArgumentCaptor.forClass(StoreSnapshot.class);
+    verify(legacyGateway, times(3)).updateStoreOnLegacySystem(sent.capture());
+    StoreSnapshot changedSent =
+        sent.getAllValues().stream().filter(s -> s.id().equals(changed)).findFirst().orElseThrow();
+    assertEquals(10, changedSent.quantityProductsInStock());
+    assertEquals(1L, changedSent.version());
+    assertEquals(0L, QuarkusTransaction.requiringNew().call(LegacySyncDeadLetter::count));
+  }
+
+  private static Long persistStore(String name, int quantity) {
+    return QuarkusTransaction.requiringNew()
+        .call(
+            () -> {
+              Store store = new Store(name);
+              store.quantityProductsInStock = quantity;
+              store.persist();
+              return store.id;
+            });
+  }
+
+  private static void deadLetter(Long storeId) {
+    Store store = Store.findById(storeId);
+    LegacySyncDeadLetter.of(
+            LegacySyncTask.of(LegacySyncTask.Operation.UPDATE, StoreSnapshot.of(store)),
+            "legacy down")
+        .persist();
+  }
+
+  private static StoreSnapshot store(Long id, String suffix, long version) {
+    return new StoreSnapshot(id, "LEGACY-SYNC-" + suffix, (int) version, version, Instant.now());
+  }
+
+  private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (!condition.getAsBoolean()) {
+      assertTrue(System.currentTimeMillis() < deadline, "Condition not met within 5s");
+      Thread.sleep(20);
+    }
+  }
+}
@@ -0,0 +1,130 @@
+package com.fulfilment.application.monolith.stores;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.mockito.InjectMock;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+@QuarkusTest
+public class StoreBatchUpdateTest {
+
+  @InjectMock LegacyStoreManagerGateway legacyGateway;
+
+  @BeforeEach
+  public void setup() {
+    Mockito.reset(legacyGateway);
+  }
+
+  @Test
+  public void testBatchReportsEveryItemAndUpdatesCachedStores() {
+    List<Long> ids = createStores("BATCH-ITEMS", 2);
+    // Warm the second-level cache with the old state
+    given().when().get("/store/" + ids.get(0)).then().body("quantityProductsInStock", equalTo(0));
+
+    String body =
+        "["
+            + item(ids.get(0), "11")
+            + ","
+            + item(ids.get(1), "22")
+            + ","
+            + item(987_654_321L, "1")
+            + ","
+            + item(ids.get(0), "33")
+            + ","
+            + item(ids.get(1), "-1")
+            + ",{\"quantityProductsInStock\":1}]";
+
+    given()
+        .contentType("application/json")
+        .body(body)
+        .when()
+        .patch("/store/batch")
+        .then()
+        .statusCode(200)
+        .body("updated", equalTo(2))
+        .body("results", hasSize(6))
+        .body("results[0].status", equalTo("UPDATED"), "results[0].version", equalTo(1))
+        .body("results[1].status", equalTo("UPDATED"))
+        .body("results[2].status", equalTo("NOT_FOUND"))
+        .body("results[3].status", equalTo("DUPLICATE"))
+        .body("results[4].status", equalTo("INVALID"))
+        .body("results[5].status", equalTo("INVALID"), "results[5].id", nullValue());
+
+    given()
+        .when()
+        .get("/store/" + ids.get(0))
+        .then()
+        .body("quantityProductsInStock", equalTo(11), "version", equalTo(1));
+    given().when().get("/store/" + ids.get(1)).then().body("quantityProductsInStock", equalTo(22));
+  }
+
+  @Test
+  public void testLargeBatchIsChunkedAndSyncedToLegacy() throws InterruptedException {
+    List<Long> ids = createStores("BATCH-LARGE", 1200);
+    StringBuilder body = new StringBuilder("[");
+    for (int i = 0; i < ids.size(); i++) {
+      body.append(i == 0 ? "" : ",").append(item(ids.get(i), Integer.toString(i)));
+    }
+    body.append(']');
+
+    given()
+        .contentType("application/json")
+        .body(body.toString())
+        .when()
+        .patch("/store/batch")
+        .then()
+        .statusCode(200)
+        .body("updated", equalTo(1200));
+
+    long deadline = System.currentTimeMillis() + 10_000;
+    while (mockingDetails(legacyGateway).getInvocations().size() < 1200) {
+      assertTrue(System.currentTimeMillis() < deadline, "Legacy sync did not catch up in 10s");
+      Thread.sleep(50);
+    }
+    verify(legacyGateway, times(1200)).updateStoreOnLegacySystem(any(StoreSnapshot.class));
+  }
+
+  @Test
+  public void testEmptyBatchIsRejected() {
+    given()
+        .contentType("application/json")
+        .body("[]")
+        .when()
+        .patch("/store/batch")
+        .then()
+        .statusCode(422);
+  }
+
+  private static String item(Long id, String quantity) {
+    return "{\"id\":" + id + ",\"quantityProductsInStock\":" + quantity + "}";
+  }
+
+  private static List<Long> createStores(String prefix, int count) {
+    String unique = prefix + "-" + System.nanoTime() % 1_000_000_000L;
+    return QuarkusTransaction.requiringNew()
+        .call(
+            () -> {
+              List<Long> ids = new ArrayList<>();
+              for (int i = 0; i < count; i++) {
+                Store store = new Store(unique + "-" + i);
+                store.persist();
+                ids.add(store.id);
+              }
+              return ids;
+            });
+  }
+}
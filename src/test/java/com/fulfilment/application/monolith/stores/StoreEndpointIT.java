@@ -0,0 +1,13 @@
+package com.fulfilment.application.monolith.stores;
+
+import com.fulfilment.application.monolith.PostgresTestResource;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusIntegrationTest;
+
+/**
+ * Runs {@link StoreEndpointTest} against the packaged application: the native executable when built
+ * with {@code -Dnative}.
+ */
+@QuarkusIntegrationTest
+@QuarkusTestResource(value = PostgresTestResource.class, restrictToAnnotatedClass = true)
+public class StoreEndpointIT extends StoreEndpointTest {}
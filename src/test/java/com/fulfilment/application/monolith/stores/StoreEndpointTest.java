@@ -0,0 +1,44 @@
+package com.fulfilment.application.monolith.stores;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class StoreEndpointTest {
+
+  @Test
+  public void testLookupByName() {
+    String name = "ByName_" + System.currentTimeMillis();
+
+    given()
+        .contentType("application/json")
+        .body("{\"name\": \"" + name + "\", \"quantityProductsInStock\": 7}")
+        .when().post("/store")
+        .then()
+        .statusCode(201);
+
+    // First lookup resolves the natural id, the second one is served from the natural-id cache
+    for (int i = 0; i < 2; i++) {
+      given()
+          .when().get("/store/by-name/" + name)
+          .then()
+          .statusCode(200)
+          .body("name", is(name), "quantityProductsInStock", is(7));
+    }
+
+    given()
+        .when().get("/cache/statistics")
+        .then()
+        .statusCode(200)
+        .body("naturalIdCacheHitCount", greaterThanOrEqualTo(1));
+  }
+
+  @Test
+  public void testLookupByUnknownNameReturns404() {
+    given().when().get("/store/by-name/DOES-NOT-EXIST").then().statusCode(404);
+  }
+}
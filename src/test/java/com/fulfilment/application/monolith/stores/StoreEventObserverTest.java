@@ -41,7 +41,7 @@ public class StoreEventObserverTest {
     
     Thread.sleep(100);
     
-    verify(legacyGateway, times(1)).createStoreOnLegacySystem(any(Store.class));
+    verify(legacyGateway, times(1)).createStoreOnLegacySystem(any(StoreSnapshot.class));
   }
 
   @Test
@@ -53,6 +53,6 @@ public class StoreEventObserverTest {
     
     Thread.sleep(100);
     
-    verify(legacyGateway, times(1)).updateStoreOnLegacySystem(any(Store.class));
+    verify(legacyGateway, times(1)).updateStoreOnLegacySystem(any(StoreSnapshot.class));
   }
 }
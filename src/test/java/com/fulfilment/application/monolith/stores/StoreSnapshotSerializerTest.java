@@ -0,0 +1,66 @@
+package com.fulfilment.application.monolith.stores;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that {@link StoreSnapshotSerializer} produces what the legacy system reads, including
+ * names that need escaping and a buffer reused across snapshots of different sizes.
+ */
+public class StoreSnapshotSerializerTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  public void testJsonRoundTripsEscapedNames() throws Exception {
+    String name = "STORE \"Q\"\\1\n\u0001-€-📦";
+
+    JsonNode json =
+        objectMapper.readTree(text(StoreSnapshotSerializer.json(snapshot(-7L, name, -42))));
+
+    assertEquals(-7L, json.get("id").asLong());
+    assertEquals(name, json.get("name").asText());
+    assertEquals(-42, json.get("quantityProductsInStock").asInt());
+    assertEquals(3, json.size());
+  }
+
+  @Test
+  public void testLineReplacesSeparatorsInName() {
+    StoreSnapshot tabbed = snapshot(12L, "A\tB\r\nC-€", Integer.MAX_VALUE);
+    assertEquals(
+        "UPDATE\t12\tA B  C-€\t2147483647\n",
+        text(StoreSnapshotSerializer.line(LegacySyncTask.Operation.UPDATE, tabbed)));
+
+    StoreSnapshot empty = snapshot(null, null, 0);
+    assertEquals(
+        "CREATE\tnull\t\t0\n",
+        text(StoreSnapshotSerializer.line(LegacySyncTask.Operation.CREATE, empty)));
+  }
+
+  @Test
+  public void testReusedBufferDoesNotLeakPreviousContent() {
+    text(StoreSnapshotSerializer.json(snapshot(1L, "X".repeat(50_000), 1)));
+
+    assertEquals(
+        "{\"id\":2,\"name\":\"Y\",\"quantityProductsInStock\":2}",
+        text(StoreSnapshotSerializer.json(snapshot(2L, "Y", 2))));
+  }
+
+  private static StoreSnapshot snapshot(Long id, String name, int quantity) {
+    return new StoreSnapshot(id, name, quantity, 1, Instant.now());
+  }
+
+  private static String text(ByteBuffer bytes) {
+    return new String(
+        bytes.array(),
+        bytes.arrayOffset() + bytes.position(),
+        bytes.remaining(),
+        StandardCharsets.UTF_8);
+  }
+}
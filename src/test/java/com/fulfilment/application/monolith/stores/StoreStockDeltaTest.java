@@ -0,0 +1,150 @@
+package com.fulfilment.application.monolith.stores;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.mockito.InjectMock;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class StoreStockDeltaTest {
+
+  @InjectMock LegacyStoreManagerGateway legacyGateway;
+
+  @Inject StoreStockCounters storeStockCounters;
+
+  @Test
+  public void testConcurrentDeltasAreAllApplied() throws Exception {
+    Long id = createStore("DELTA-" + System.nanoTime() % 1_000_000_000L, 10);
+
+    ExecutorService clients = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> requests = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+        int delta = i % 4 == 0 ? -1 : 1;
+        requests.add(
+            clients.submit(
+                () ->
+                    given()
+                        .contentType("application/json")
+                        .body("{\"delta\":" + delta + "}")
+                        .when()
+                        .post("/store/" + id + "/stock/delta")
+                        .then()
+                        .statusCode(202)));
+      }
+      for (Future<?> request : requests) {
+        request.get();
+      }
+    } finally {
+      clients.shutdown();
+    }
+
+    // 150 increments and 50 decrements
+    given().when().get("/store/" + id + "/stock").then().body("current", equalTo(110));
+
+    // The periodic flush is off in tests (%test.store.stock.flush-interval)
+    storeStockCounters.flush();
+    assertEquals(0, storeStockCounters.pending(id));
+    given()
+        .when()
+        .get("/store/" + id + "/stock")
+        .then()
+        .body("persisted", equalTo(110), "pending", equalTo(0));
+    given().when().get("/store/" + id).then().body("quantityProductsInStock", equalTo(110));
+  }
+
+  @Test
+  public void testUnknownStoreAndMissingDeltaAreRejected() {
+    given()
+        .contentType("application/json")
+        .body("{\"delta\":1}")
+        .when()
+        .post("/store/987654321/stock/delta")
+        .then()
+        .statusCode(404);
+    given().when().get("/store/987654321/stock").then().statusCode(404);
+
+    Long id = createStore("DELTA-BAD-" + System.nanoTime() % 1_000_000_000L, 0);
+    given()
+        .contentType("application/json")
+        .body("{}")
+        .when()
+        .post("/store/" + id + "/stock/delta")
+        .then()
+        .statusCode(422);
+  }
+
+  @Test
+  public void testDeltasOutOfRangeAreRejected() {
+    Long id = createStore("DELTA-RANGE-" + System.nanoTime() % 1_000_000_000L, 5);
+    given()
+        .contentType("application/json")
+        .body("{\"delta\":2000000}")
+        .when()
+        .post("/store/" + id + "/stock/delta")
+        .then()
+        .statusCode(422);
+    given()
+        .contentType("application/json")
+        .body("{\"delta\":-6}")
+        .when()
+        .post("/store/" + id + "/stock/delta")
+        .then()
+        .statusCode(422);
+    assertEquals(0, storeStockCounters.pending(id));
+  }
+
+  @Test
+  public void testUnappliableDeltaIsDroppedWithoutFailingTheFlush() {
+    Long lowStock = createStore("DELTA-SHORT-" + System.nanoTime() % 1_000_000_000L, 10);
+    Long other = createStore("DELTA-OTHER-" + System.nanoTime() % 1_000_000_000L, 10);
+
+    // Past the endpoint's check, as concurrent deltas could be
+    storeStockCounters.add(lowStock, -11);
+    storeStockCounters.add(other, 5);
+    storeStockCounters.flush();
+
+    assertEquals(0, storeStockCounters.pending(lowStock));
+    assertEquals(0, storeStockCounters.pending(other));
+    given().when().get("/store/" + lowStock).then().body("quantityProductsInStock", equalTo(10));
+    given().when().get("/store/" + other).then().body("quantityProductsInStock", equalTo(15));
+
+    // Not re-queued: the next flush has nothing to do for it
+    assertEquals(0, storeStockCounters.flush());
+  }
+
+  @Test
+  public void testDeltasAreAppliedInTheOrderTheyWereCounted() {
+    Long id = createStore("DELTA-ORDER-" + System.nanoTime() % 1_000_000_000L, 10);
+
+    // Each -8 passed the endpoint's check alone; together they would overdraw the store
+    storeStockCounters.add(id, -8);
+    storeStockCounters.add(id, -8);
+    storeStockCounters.add(id, 5);
+    storeStockCounters.flush();
+
+    assertEquals(0, storeStockCounters.pending(id));
+    given().when().get("/store/" + id).then().body("quantityProductsInStock", equalTo(7));
+  }
+
+  private static Long createStore(String name, int quantity) {
+    return QuarkusTransaction.requiringNew()
+        .call(
+            () -> {
+              Store store = new Store(name);
+              store.quantityProductsInStock = quantity;
+              store.persist();
+              return store.id;
+            });
+  }
+}
@@ -0,0 +1,123 @@
+package com.fulfilment.application.monolith.stores;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.junit.mockito.InjectMock;
+import io.restassured.response.ValidatableResponse;
+import jakarta.inject.Inject;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Stock deltas with {@code store.stock.durability=sync}: each request waits for the flush that
+ * contains its delta and answers with that delta's own outcome. Flushes are triggered by the test.
+ */
+@QuarkusTest
+@TestProfile(StoreStockSyncDeltaTest.SyncProfile.class)
+public class StoreStockSyncDeltaTest {
+
+  public static class SyncProfile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return Map.of("store.stock.durability", "sync", "store.stock.sync-timeout", "30s");
+    }
+  }
+
+  @InjectMock LegacyStoreManagerGateway legacyGateway;
+
+  @Inject StoreStockCounters storeStockCounters;
+
+  @Test
+  public void testDurableDeltaAnswersWithTheCommittedStock() throws Exception {
+    Long id = createStore("SYNC-DELTA-" + System.nanoTime() % 1_000_000_000L, 10);
+    // Caches the store at its stock before the delta
+    given().when().get("/store/" + id + "/stock").then().body("persisted", equalTo(10));
+
+    CompletableFuture<ValidatableResponse> request = postDelta(id, 4);
+    awaitTrue(() -> storeStockCounters.pending(id) == 4);
+    storeStockCounters.flush();
+
+    request
+        .get()
+        .statusCode(200)
+        .body("persisted", equalTo(14), "pending", equalTo(0), "current", equalTo(14));
+  }
+
+  @Test
+  public void testDeltaOverdrawnByAConcurrentWriteIsRejected() throws Exception {
+    Long id = createStore("SYNC-CONFLICT-" + System.nanoTime() % 1_000_000_000L, 10);
+
+    CompletableFuture<ValidatableResponse> request = postDelta(id, -8);
+    awaitTrue(() -> storeStockCounters.pending(id) == -8);
+    // Stock counted while the delta waits for its flush
+    given()
+        .contentType("application/json")
+        .body("[{\"id\": " + id + ", \"quantityProductsInStock\": 3}]")
+        .when().patch("/store/batch")
+        .then()
+        .statusCode(200);
+    storeStockCounters.flush();
+
+    request.get().statusCode(409);
+    assertEquals(0, storeStockCounters.pending(id));
+    given().when().get("/store/" + id).then().body("quantityProductsInStock", equalTo(3));
+  }
+
+  @Test
+  public void testConcurrentDeltasEachGetTheirOwnOutcome() throws Exception {
+    Long id = createStore("SYNC-BOTH-" + System.nanoTime() % 1_000_000_000L, 10);
+
+    // Both past the endpoint's check at once: only one of them fits
+    CompletableFuture<StoreStockCounters.Outcome> first =
+        CompletableFuture.supplyAsync(() -> storeStockCounters.add(id, -8));
+    CompletableFuture<StoreStockCounters.Outcome> second =
+        CompletableFuture.supplyAsync(() -> storeStockCounters.add(id, -8));
+    awaitTrue(() -> storeStockCounters.pending(id) == -16);
+    storeStockCounters.flush();
+
+    List<StoreStockCounters.Outcome> outcomes = List.of(first.get(), second.get());
+    assertTrue(outcomes.contains(StoreStockCounters.Outcome.DURABLE), outcomes.toString());
+    assertTrue(outcomes.contains(StoreStockCounters.Outcome.REJECTED), outcomes.toString());
+    given().when().get("/store/" + id).then().body("quantityProductsInStock", equalTo(2));
+  }
+
+  private static CompletableFuture<ValidatableResponse> postDelta(Long id, int delta) {
+    return CompletableFuture.supplyAsync(
+        () ->
+            given()
+                .contentType("application/json")
+                .body("{\"delta\":" + delta + "}")
+                .when()
+                .post("/store/" + id + "/stock/delta")
+                .then());
+  }
+
+  private static Long createStore(String name, int quantity) {
+    return QuarkusTransaction.requiringNew()
+        .call(
+            () -> {
+              Store store = new Store(name);
+              store.quantityProductsInStock = quantity;
+              store.persist();
+              return store.id;
+            });
+  }
+
+  private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (!condition.getAsBoolean()) {
+      assertTrue(System.currentTimeMillis() < deadline, "Condition not met within 5s");
+      Thread.sleep(20);
+    }
+  }
+}
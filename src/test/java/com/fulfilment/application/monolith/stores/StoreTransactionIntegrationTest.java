@@ -39,7 +39,7 @@ public class StoreTransactionIntegrationTest {
     Thread.sleep(1000);
 
     // Legacy system should be notified for the successful creation
-    verify(legacyGateway, times(1)).createStoreOnLegacySystem(any(Store.class));
+    verify(legacyGateway, times(1)).createStoreOnLegacySystem(any(StoreSnapshot.class));
 
     // Reset for next assertion
     Mockito.reset(legacyGateway);
@@ -56,6 +56,6 @@ public class StoreTransactionIntegrationTest {
     Thread.sleep(1000);
 
     // Legacy system should NOT be notified for a failed transaction
-    verify(legacyGateway, never()).createStoreOnLegacySystem(any(Store.class));
+    verify(legacyGateway, never()).createStoreOnLegacySystem(any(StoreSnapshot.class));
   }
 }
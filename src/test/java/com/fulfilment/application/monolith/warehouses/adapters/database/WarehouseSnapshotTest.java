@@ -0,0 +1,124 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the columnar {@link WarehouseSnapshot} gives back the rows it was built from, and
+ * that a generation built from changes matches one built from scratch.
+ */
+public class WarehouseSnapshotTest {
+
+  private static final LocalDateTime CREATED = LocalDateTime.of(2024, 5, 1, 12, 30, 15);
+
+  @Test
+  public void testRowsRoundTripIncludingNulls() {
+    WarehouseSnapshot.Entry full = entry(1L, "MWH.002", "ZWOLLE-001", 40, 5);
+    WarehouseSnapshot.Entry empty =
+        new WarehouseSnapshot.Entry(2L, null, "MWH.€1", null, null, null, null);
+
+    WarehouseSnapshot snapshot = WarehouseSnapshot.of(1, List.of(empty, full));
+
+    assertEquals(2, snapshot.size());
+    assertEquals(full, snapshot.byCode("MWH.002"));
+    assertEquals(empty, snapshot.byCode("MWH.€1"));
+    assertNull(snapshot.byCode("MWH.003"));
+    assertEquals(List.of(full, empty), snapshot.all());
+    assertEquals(List.of(full), snapshot.byLocation("ZWOLLE-001"));
+    assertTrue(snapshot.byLocation("TILBURG-001").isEmpty());
+    assertEquals(1, snapshot.locations());
+  }
+
+  @Test
+  public void testWithChangesMatchesFreshBuild() {
+    WarehouseSnapshot.Entry kept = entry(1L, "MWH.001", "AMSTERDAM-001", 50, 1);
+    WarehouseSnapshot.Entry replaced = entry(2L, "MWH.002", "AMSTERDAM-001", 50, 2);
+    WarehouseSnapshot.Entry archived = entry(3L, "MWH.003", "TILBURG-001", 30, 3);
+    WarehouseSnapshot.Entry successor = entry(4L, "MWH.002", "ZWOLLE-001", 40, 2);
+    WarehouseSnapshot.Entry created = entry(5L, "MWH.000", "ZWOLLE-001", 20, 0);
+
+    WarehouseSnapshot changed =
+        WarehouseSnapshot.of(1, List.of(kept, replaced, archived))
+            .withChanges(Set.of("MWH.002", "MWH.003", "MWH.000"), List.of(successor, created));
+    WarehouseSnapshot fresh = WarehouseSnapshot.of(2, List.of(kept, successor, created));
+
+    assertEquals(2, changed.generation());
+    assertEquals(fresh.all(), changed.all());
+    assertEquals(List.of(created, successor), changed.byLocation("ZWOLLE-001"));
+    assertEquals(List.of(kept), changed.byLocation("AMSTERDAM-001"));
+    assertTrue(changed.byLocation("TILBURG-001").isEmpty());
+    assertEquals(fresh.estimatedBytes(), changed.estimatedBytes());
+  }
+
+  @Test
+  public void testChangesAcrossSegmentsMatchFreshBuild() {
+    int segment = WarehouseSnapshot.SEGMENT_ROWS;
+    List<WarehouseSnapshot.Entry> entries = new ArrayList<>();
+    for (int i = 0; i < 3 * segment; i++) {
+      entries.add(entry((long) i, code(i * 4), "ZWOLLE-001", 10, 1));
+    }
+    WarehouseSnapshot snapshot = WarehouseSnapshot.of(1, entries);
+    assertEquals(3, snapshot.segments());
+
+    // Triple the middle segment, which splits it in three, and empty the last one
+    Set<String> codes = new HashSet<>();
+    List<WarehouseSnapshot.Entry> active = new ArrayList<>();
+    for (int i = segment; i < 2 * segment - 1; i++) {
+      for (int offset = 1; offset <= 2; offset++) {
+        WarehouseSnapshot.Entry inserted =
+            entry(10L * segment + active.size(), code(i * 4 + offset), "TILBURG-001", 20, 2);
+        codes.add(inserted.businessUnitCode());
+        active.add(inserted);
+      }
+    }
+    for (int i = 2 * segment; i < 3 * segment; i++) {
+      codes.add(entries.get(i).businessUnitCode());
+    }
+    List<WarehouseSnapshot.Entry> expected = new ArrayList<>(entries.subList(0, 2 * segment));
+    expected.addAll(active);
+    expected.sort(Comparator.comparing(WarehouseSnapshot.Entry::businessUnitCode));
+
+    WarehouseSnapshot changed = snapshot.withChanges(codes, active);
+
+    assertEquals(expected, changed.all());
+    assertEquals(WarehouseSnapshot.of(2, expected).all(), changed.all());
+    assertEquals(4, changed.segments());
+    assertEquals(active, changed.byLocation("TILBURG-001"));
+    assertEquals(entries.get(2 * segment - 1), changed.byCode(code((2 * segment - 1) * 4)));
+    assertNull(changed.byCode(code(2 * segment * 4)));
+  }
+
+  @Test
+  public void testOverBudgetGenerationIsNotBuilt() {
+    List<WarehouseSnapshot.Entry> entries = List.of(entry(1L, "MWH.001", "ZWOLLE-001", 40, 5));
+    WarehouseSnapshot snapshot = WarehouseSnapshot.of(1, entries);
+
+    assertNull(WarehouseSnapshot.of(1, entries, snapshot.estimatedBytes() - 1));
+    assertEquals(
+        snapshot.estimatedBytes(),
+        WarehouseSnapshot.of(1, entries, snapshot.estimatedBytes()).estimatedBytes());
+    assertNull(
+        snapshot.withChanges(
+            Set.of("MWH.002"),
+            List.of(entry(2L, "MWH.002", "ZWOLLE-001", 40, 5)),
+            snapshot.estimatedBytes()));
+  }
+
+  private static String code(int number) {
+    return String.format("MWH.%06d", number);
+  }
+
+  private static WarehouseSnapshot.Entry entry(
+      Long id, String code, String location, int capacity, int stock) {
+    return new WarehouseSnapshot.Entry(id, 1L, code, location, capacity, stock, CREATED);
+  }
+}
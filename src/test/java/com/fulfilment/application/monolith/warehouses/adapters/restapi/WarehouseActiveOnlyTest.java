@@ -0,0 +1,73 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse;
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+/** Active-only reads: archived warehouses are left out unless explicitly asked for. */
+@QuarkusTest
+public class WarehouseActiveOnlyTest {
+
+  @Inject WarehouseRepository warehouseRepository;
+
+  @Test
+  public void testListLeavesOutArchivedUnlessRequested() {
+    String suffix = Long.toString(System.currentTimeMillis());
+    createWarehouse("ACTIVE-" + suffix, null);
+    createWarehouse("ARCHIVED-" + suffix, LocalDateTime.now());
+
+    given()
+        .when().get("/warehouse")
+        .then()
+        .statusCode(200)
+        .body(containsString("ACTIVE-" + suffix), not(containsString("ARCHIVED-" + suffix)));
+
+    given()
+        .queryParam("includeArchived", true)
+        .when().get("/warehouse")
+        .then()
+        .statusCode(200)
+        .body(containsString("ACTIVE-" + suffix), containsString("ARCHIVED-" + suffix));
+  }
+
+  @Test
+  public void testActiveOnlyStoreMethods() {
+    String suffix = Long.toString(System.currentTimeMillis());
+    createWarehouse("STORE-ACTIVE-" + suffix, null);
+    createWarehouse("STORE-ARCHIVED-" + suffix, LocalDateTime.now());
+
+    assertNotNull(warehouseRepository.findActiveByBusinessUnitCode("STORE-ACTIVE-" + suffix));
+    assertNull(warehouseRepository.findActiveByBusinessUnitCode("STORE-ARCHIVED-" + suffix));
+    assertNotNull(warehouseRepository.findByBusinessUnitCode("STORE-ARCHIVED-" + suffix));
+
+    assertTrue(
+        warehouseRepository.getAllActive().stream().allMatch(w -> w.archivedAt == null));
+    assertTrue(
+        warehouseRepository.getAllActive().stream()
+            .anyMatch(w -> w.businessUnitCode.equals("STORE-ACTIVE-" + suffix)));
+  }
+
+  private void createWarehouse(String businessUnitCode, LocalDateTime archivedAt) {
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              DbWarehouse warehouse = new DbWarehouse();
+              warehouse.businessUnitCode = businessUnitCode;
+              warehouse.location = "AMSTERDAM-001";
+              warehouse.capacity = 10;
+              warehouse.stock = 1;
+              warehouse.createdAt = LocalDateTime.now();
+              warehouse.archivedAt = archivedAt;
+              warehouseRepository.persist(warehouse);
+            });
+  }
+}
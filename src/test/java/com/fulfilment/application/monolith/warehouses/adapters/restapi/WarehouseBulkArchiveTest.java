@@ -0,0 +1,116 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse;
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import java.time.LocalDateTime;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@code POST /warehouse/archive}: per-code outcomes, and a statement count that grows
+ * with the number of chunks rather than the number of warehouses.
+ */
+@QuarkusTest
+public class WarehouseBulkArchiveTest {
+
+  @Inject WarehouseRepository warehouseRepository;
+
+  @Inject SessionFactory sessionFactory;
+
+  @Test
+  public void testArchiveByCodesReportsOutcomePerCode() {
+    String prefix = "BULK-" + System.currentTimeMillis() + "-";
+    createWarehouses(prefix, "AMSTERDAM-001", 1, null);
+    createWarehouses(prefix + "OLD-", "AMSTERDAM-001", 1, LocalDateTime.now().minusDays(1));
+
+    given()
+        .contentType("application/json")
+        .body(
+            "{\"businessUnitCodes\": [\"" + prefix + "0\", \"" + prefix + "OLD-0\", \""
+                + prefix + "MISSING\", \"" + prefix + "0\"]}")
+        .when().post("/warehouse/archive")
+        .then()
+        .statusCode(200)
+        .body("archived", is(1), "results.size()", is(3))
+        .body("results[0].businessUnitCode", is(prefix + "0"), "results[0].status", is("ARCHIVED"))
+        .body("results[1].status", is("ALREADY_ARCHIVED"), "results[2].status", is("NOT_FOUND"));
+
+    assertNotNull(warehouseRepository.findByBusinessUnitCode(prefix + "0").archivedAt);
+
+    // Archiving again keeps the "already archived" rule
+    given()
+        .contentType("application/json")
+        .body("{\"businessUnitCodes\": [\"" + prefix + "0\"]}")
+        .when().post("/warehouse/archive")
+        .then()
+        .statusCode(200)
+        .body("archived", is(0), "results[0].status", is("ALREADY_ARCHIVED"));
+  }
+
+  @Test
+  public void testArchiveByLocationUsesStatementsPerChunk() {
+    String location = "BULK-LOCATION-" + System.currentTimeMillis();
+    int count = 1_200;
+    createWarehouses(location + "-", location, count, null);
+
+    Statistics statistics = sessionFactory.getStatistics();
+    statistics.clear();
+
+    given()
+        .contentType("application/json")
+        .body("{\"location\": \"" + location + "\"}")
+        .when().post("/warehouse/archive")
+        .then()
+        .statusCode(200)
+        .body("archived", is(count), "results.size()", is(count));
+
+    // One query for the codes, then a SELECT and an UPDATE per chunk of 500
+    long statements = statistics.getPrepareStatementCount();
+    assertTrue(statements <= 1 + 2 * 3, "Expected at most 7 statements, got " + statements);
+    assertEquals(
+        0, warehouseRepository.findActiveBusinessUnitCodesByLocation(location).size());
+  }
+
+  @Test
+  public void testRequestNeedsExactlyOneSelector() {
+    given()
+        .contentType("application/json")
+        .body("{}")
+        .when().post("/warehouse/archive")
+        .then()
+        .statusCode(400);
+
+    given()
+        .contentType("application/json")
+        .body("{\"location\": \"ZWOLLE-001\", \"businessUnitCodes\": [\"MWH.001\"]}")
+        .when().post("/warehouse/archive")
+        .then()
+        .statusCode(400);
+  }
+
+  private void createWarehouses(
+      String codePrefix, String location, int count, LocalDateTime archivedAt) {
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              for (int i = 0; i < count; i++) {
+                DbWarehouse warehouse = new DbWarehouse();
+                warehouse.businessUnitCode = codePrefix + i;
+                warehouse.location = location;
+                warehouse.capacity = 10;
+                warehouse.stock = 1;
+                warehouse.createdAt = LocalDateTime.now();
+                warehouse.archivedAt = archivedAt;
+                warehouseRepository.persist(warehouse);
+              }
+            });
+  }
+}
@@ -0,0 +1,78 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@code ?dryRun=true} on create and replace: same validation, nothing stored. */
+@QuarkusTest
+public class WarehouseDryRunTest {
+
+  @Test
+  public void testDryRunCreateValidatesWithoutStoring() {
+    String code = "DRY-RUN-" + System.currentTimeMillis();
+    given()
+        .contentType("application/json")
+        .body(warehouse(code, "VETSBY-001", 80, 10))
+        .queryParam("dryRun", true)
+        .when().post("/warehouse")
+        .then()
+        .statusCode(200)
+        .body("businessUnitCode", is(code), "capacity", is(80));
+
+    given().when().get("/warehouse/" + code).then().statusCode(404);
+
+    given()
+        .contentType("application/json")
+        .body(warehouse(code, "VETSBY-001", 91, 10))
+        .queryParam("dryRun", true)
+        .when().post("/warehouse")
+        .then()
+        .statusCode(400)
+        .body(containsString("exceeds location max capacity (90)"));
+
+    // The code check of a dry run reads the cached lookup, not the primary
+    given()
+        .contentType("application/json")
+        .body(warehouse("MWH.001", "ZWOLLE-001", 30, 10))
+        .queryParam("dryRun", true)
+        .when().post("/warehouse")
+        .then()
+        .statusCode(400)
+        .body(containsString("'MWH.001' already exists"));
+  }
+
+  @Test
+  public void testDryRunReplaceKeepsTheActiveWarehouse() {
+    given()
+        .contentType("application/json")
+        .body(warehouse("MWH.012", "AMSTERDAM-002", 70, 7))
+        .queryParam("dryRun", true)
+        .when().post("/warehouse/MWH.012/replacement")
+        .then()
+        .statusCode(200)
+        .body("location", is("AMSTERDAM-002"), "capacity", is(70));
+
+    given()
+        .when().get("/warehouse/MWH.012")
+        .then()
+        .statusCode(200)
+        .body("location", is("AMSTERDAM-001"), "capacity", is(50));
+
+    given()
+        .contentType("application/json")
+        .body(warehouse("MWH.DRY-RUN-UNKNOWN", "AMSTERDAM-002", 70, 7))
+        .queryParam("dryRun", true)
+        .when().post("/warehouse/MWH.DRY-RUN-UNKNOWN/replacement")
+        .then()
+        .statusCode(400);
+  }
+
+  private static String warehouse(String code, String location, int capacity, int stock) {
+    return "{\"businessUnitCode\": \"" + code + "\", \"location\": \"" + location
+        + "\", \"capacity\": " + capacity + ", \"stock\": " + stock + "}";
+  }
+}
@@ -2,11 +2,17 @@ package com.fulfilment.application.monolith.warehouses.adapters.restapi;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.Matchers.lessThan;
 
+import com.fulfilment.application.monolith.PostgresTestResource;
+import io.quarkus.test.common.QuarkusTestResource;
 import io.quarkus.test.junit.QuarkusIntegrationTest;
 import org.junit.jupiter.api.Test;
 
 @QuarkusIntegrationTest
+@QuarkusTestResource(value = PostgresTestResource.class, restrictToAnnotatedClass = true)
 public class WarehouseEndpointIT {
 
   @Test
@@ -23,6 +29,38 @@ public class WarehouseEndpointIT {
         .body(containsString("MWH.001"), containsString("MWH.012"), containsString("MWH.023"));
   }
 
+  @Test
+  public void testCreateAndGetWarehouse() {
+    // Generated API bean in, hand-written JSON writer out: both need to work in the native image
+    given()
+        .contentType("application/json")
+        .body(
+            "{\"businessUnitCode\": \"MWH.IT1\", \"location\": \"VETSBY-001\","
+                + " \"capacity\": 40, \"stock\": 4}")
+        .when()
+        .post("warehouse")
+        .then()
+        .statusCode(lessThan(300));
+
+    given()
+        .when()
+        .get("warehouse/MWH.IT1")
+        .then()
+        .statusCode(200)
+        .body("location", is("VETSBY-001"), "capacity", is(40), "stock", is(4));
+  }
+
+  @Test
+  public void testCacheStatistics() {
+    // The packaged application runs in prod, where Hibernate statistics are off
+    given()
+        .when()
+        .get("cache/statistics")
+        .then()
+        .statusCode(200)
+        .body("enabled", is(false), "regions", notNullValue());
+  }
+
   @Test
   public void testSimpleCheckingArchivingWarehouses() {
 
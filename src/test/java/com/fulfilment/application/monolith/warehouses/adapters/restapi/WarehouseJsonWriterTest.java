@@ -0,0 +1,94 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.warehouse.api.beans.Warehouse;
+import jakarta.ws.rs.core.MediaType;
+import java.io.ByteArrayOutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that {@link WarehouseJsonWriter} produces JSON that Jackson reads back into the same
+ * beans, including strings that need escaping and lists spanning several buffer flushes.
+ */
+public class WarehouseJsonWriterTest {
+
+  private static final Type LIST_TYPE = new TypeReference<List<Warehouse>>() {}.getType();
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final WarehouseJsonWriter writer = new WarehouseJsonWriter();
+
+  @Test
+  public void testSingleWarehouse() throws Exception {
+    String json = write(warehouse("MWH.001", "ZWOLLE-001", 100, 10), Warehouse.class);
+
+    assertEquals(
+        "{\"businessUnitCode\":\"MWH.001\",\"location\":\"ZWOLLE-001\","
+            + "\"capacity\":100,\"stock\":10}",
+        json);
+  }
+
+  @Test
+  public void testEscapingAndNulls() throws Exception {
+    Warehouse tricky = warehouse("MWH.\"Q\"\\1", "ÅRHUS\n\u0001-€-📦", -42, null);
+    tricky.setId("7");
+
+    Warehouse read = objectMapper.readValue(write(tricky, Warehouse.class), Warehouse.class);
+
+    assertEquals("7", read.getId());
+    assertEquals(tricky.getBusinessUnitCode(), read.getBusinessUnitCode());
+    assertEquals(tricky.getLocation(), read.getLocation());
+    assertEquals(-42, read.getCapacity());
+    assertNull(read.getStock());
+  }
+
+  @Test
+  public void testListSpanningSeveralFlushes() throws Exception {
+    List<Warehouse> warehouses = new ArrayList<>();
+    for (int i = 0; i < 2_000; i++) {
+      warehouses.add(warehouse("MWH." + i, "AMSTERDAM-001", i, Integer.MAX_VALUE - i));
+    }
+
+    List<Warehouse> read =
+        objectMapper.readValue(write(warehouses, LIST_TYPE), new TypeReference<>() {});
+
+    assertEquals(warehouses.size(), read.size());
+    for (int i = 0; i < warehouses.size(); i++) {
+      assertEquals(warehouses.get(i).getBusinessUnitCode(), read.get(i).getBusinessUnitCode());
+      assertEquals(warehouses.get(i).getCapacity(), read.get(i).getCapacity());
+      assertEquals(warehouses.get(i).getStock(), read.get(i).getStock());
+    }
+    assertEquals("[]", write(List.of(), LIST_TYPE));
+  }
+
+  private String write(Object entity, Type genericType) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writer.writeTo(
+        entity,
+        entity.getClass(),
+        genericType,
+        new Annotation[0],
+        MediaType.APPLICATION_JSON_TYPE,
+        null,
+        out);
+    return out.toString(StandardCharsets.UTF_8);
+  }
+
+  private static Warehouse warehouse(
+      String businessUnitCode, String location, Integer capacity, Integer stock) {
+    Warehouse warehouse = new Warehouse();
+    warehouse.setBusinessUnitCode(businessUnitCode);
+    warehouse.setLocation(location);
+    warehouse.setCapacity(capacity);
+    warehouse.setStock(stock);
+    return warehouse;
+  }
+}
@@ -0,0 +1,118 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseReadModel;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Reads served by the warehouse read model: every write through the API shows up in the next
+ * read, and a write behind its back is found and repaired by the consistency check.
+ */
+@QuarkusTest
+@TestProfile(WarehouseReadModelTest.ReadModelProfile.class)
+public class WarehouseReadModelTest {
+
+  public static class ReadModelProfile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return Map.of("warehouse.read-model.enabled", "true");
+    }
+  }
+
+  @Inject WarehouseReadModel warehouseReadModel;
+
+  @Inject EntityManager entityManager;
+
+  @Test
+  public void testReadsSeeEveryWriteThroughTheApi() {
+    String code = "RM-" + System.currentTimeMillis();
+    long hitsBefore = warehouseReadModel.stats().hits();
+
+    given()
+        .contentType("application/json")
+        .body(
+            "{\"businessUnitCode\": \"" + code + "\", \"location\": \"AMSTERDAM-001\","
+                + " \"capacity\": 50, \"stock\": 5}")
+        .when().post("/warehouse")
+        .then()
+        .statusCode(lessThan(300));
+    given()
+        .when().get("/warehouse/" + code)
+        .then()
+        .statusCode(200)
+        .body("location", is("AMSTERDAM-001"), "capacity", is(50), "stock", is(5));
+
+    given()
+        .contentType("application/json")
+        .body("{\"location\": \"TILBURG-001\", \"capacity\": 30, \"stock\": 5}")
+        .when().post("/warehouse/" + code + "/replacement")
+        .then()
+        .statusCode(lessThan(300));
+    given()
+        .when().get("/warehouse/" + code)
+        .then()
+        .statusCode(200)
+        .body("location", is("TILBURG-001"), "capacity", is(30));
+    given().when().get("/warehouse").then().statusCode(200).body(containsString(code));
+
+    given().when().delete("/warehouse/" + code).then().statusCode(204);
+    given().when().get("/warehouse").then().statusCode(200).body(not(containsString(code)));
+
+    WarehouseReadModel.Stats stats = warehouseReadModel.stats();
+    assertTrue(stats.serving());
+    assertTrue(stats.hits() >= hitsBefore + 4);
+  }
+
+  @Test
+  public void testCheckFindsAndRepairsWritesBehindItsBack() {
+    String code = "RM-DRIFT-" + System.currentTimeMillis();
+    given()
+        .contentType("application/json")
+        .body(
+            "{\"businessUnitCode\": \"" + code + "\", \"location\": \"AMSTERDAM-001\","
+                + " \"capacity\": 50, \"stock\": 5}")
+        .when().post("/warehouse")
+        .then()
+        .statusCode(lessThan(300));
+
+    QuarkusTransaction.requiringNew()
+        .run(
+            () ->
+                entityManager
+                    .createQuery(
+                        "UPDATE DbWarehouse w SET w.stock = 7 WHERE w.businessUnitCode = :code")
+                    .setParameter("code", code)
+                    .executeUpdate());
+    given().when().get("/warehouse/" + code).then().statusCode(200).body("stock", is(5));
+
+    WarehouseReadModel.CheckResult found = warehouseReadModel.check(false);
+    assertFalse(found.consistent());
+    assertFalse(found.repaired());
+    assertTrue(found.stale().contains(code));
+
+    WarehouseReadModel.CheckResult repaired = warehouseReadModel.check(true);
+    assertTrue(repaired.repaired());
+    given().when().get("/warehouse/" + code).then().statusCode(200).body("stock", is(7));
+
+    given()
+        .when().post("/warehouse-read-model/check")
+        .then()
+        .statusCode(200)
+        .body("consistent", is(true), "staleCount", is(0));
+    assertTrue(warehouseReadModel.stats().lastCheck().consistent());
+  }
+}
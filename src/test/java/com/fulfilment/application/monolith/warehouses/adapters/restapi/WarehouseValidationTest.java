@@ -0,0 +1,179 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.path.json.JsonPath;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@code POST /warehouse-validation}: verdicts by index, location loads with the valid
+ * warehouses, nothing stored.
+ *
+ * The NDJSON batch test defaults to 400,000 records (over 32 MB); run it with
+ * {@code -Dwarehouse.validation.records=1000000} to measure a million-record batch.
+ */
+@QuarkusTest
+public class WarehouseValidationTest {
+
+  private static final Logger LOGGER = Logger.getLogger(WarehouseValidationTest.class.getName());
+
+  @Test
+  public void testCreateModeReportsViolationsInInputOrder() {
+    String code = "VALIDATE-" + System.currentTimeMillis();
+    given()
+        .contentType("application/json")
+        .body(
+            "["
+                + record(code, "ZWOLLE-001", 30, 10) + ","
+                + record("MWH.001", "ZWOLLE-001", 30, 10) + ","
+                + "{\"businessUnitCode\": \"" + code + "-X\", \"location\": \"ZWOLLE-001\"},"
+                + record(code, "ZWOLLE-001", 30, 10)
+                + "]")
+        .when().post("/warehouse-validation")
+        .then()
+        .statusCode(200)
+        .body("records", is(4), "valid", is(1), "invalid", is(3))
+        .body("violations[0].index", is(1), "violations[0].code", is("CODE_UNUSED"))
+        .body("violations[1].index", is(2), "violations[1].code", is("MALFORMED"))
+        .body("violations[1].message", is("Warehouse capacity is required"))
+        .body("violations[2].index", is(3), "violations[2].code", is("CODE_UNIQUE_IN_BATCH"));
+
+    // Validating stored nothing
+    given().when().get("/warehouse/" + code).then().statusCode(404);
+  }
+
+  @Test
+  public void testReplaceModeAndLimit() {
+    given()
+        .contentType("application/json")
+        .body(
+            "["
+                + record("MWH.012", "AMSTERDAM-001", 101, 5) + ","
+                + record("MWH.UNKNOWN", "AMSTERDAM-001", 50, 5) + ","
+                + record("MWH.023", "TILBURG-001", 30, 27)
+                + "]")
+        .queryParam("mode", "replace")
+        .queryParam("limit", 1)
+        .when().post("/warehouse-validation")
+        .then()
+        .statusCode(200)
+        .body("valid", is(1), "invalid", is(2), "violations.size()", is(1))
+        .body("violations[0].code", is("CAPACITY_WITHIN_LOCATION"))
+        .body("violations[0].message",
+            is("Warehouse capacity (101) exceeds location max capacity (100)"));
+  }
+
+  @Test
+  public void testLocationLoadsCountOnlyValidWarehouses() {
+    String code = "WHAT-IF-" + System.currentTimeMillis();
+    JsonPath result =
+        given()
+            .contentType("application/json")
+            .body(
+                "["
+                    + record(code + "-A", "VETSBY-001", 30, 10) + ","
+                    + record(code + "-B", "VETSBY-001", 40, 10) + ","
+                    + record(code + "-C", "VETSBY-001", 91, 10)
+                    + "]")
+            .when().post("/warehouse-validation")
+            .then()
+            .statusCode(200)
+            .body("valid", is(2), "locations.size()", is(1))
+            .body("locations[0].location", is("VETSBY-001"))
+            .body("locations[0].maxNumberOfWarehouses", is(1), "locations[0].maxCapacity", is(90))
+            .body("locations[0].withinLimits", is(false))
+            .extract().jsonPath();
+
+    assertEquals(
+        result.getInt("locations[0].warehouses") + 2,
+        result.getInt("locations[0].projectedWarehouses"));
+    assertEquals(
+        result.getLong("locations[0].capacity") + 70,
+        result.getLong("locations[0].projectedCapacity"));
+  }
+
+  @Test
+  public void testUnknownModeIsRejected() {
+    given()
+        .contentType("application/json")
+        .body("[]")
+        .queryParam("mode", "upsert")
+        .when().post("/warehouse-validation")
+        .then()
+        .statusCode(400);
+
+    given()
+        .contentType("application/json")
+        .body("[]")
+        .when().post("/warehouse-validation")
+        .then()
+        .statusCode(200)
+        .body("records", is(0), "violations.size()", is(0));
+  }
+
+  @Test
+  public void testNdjsonBatchReportsUnreadableLinesByIndex() {
+    String code = "NDJSON-" + System.currentTimeMillis();
+    given()
+        .contentType("application/x-ndjson")
+        .body(
+            record(code, "ZWOLLE-001", 30, 10) + "\n"
+                + "{not json}\n"
+                + "\n"
+                + record("MWH.001", "ZWOLLE-001", 30, 10) + "\n")
+        .queryParam("limit", 10)
+        .when().post("/warehouse-validation")
+        .then()
+        .statusCode(200)
+        .body("records", is(3), "valid", is(1), "invalid", is(2))
+        .body("violations[0].index", is(1), "violations[0].code", is("MALFORMED"))
+        .body("violations[1].index", is(2), "violations[1].code", is("CODE_UNUSED"));
+
+    given()
+        .contentType("application/x-ndjson")
+        .body(record(code, "ZWOLLE-001", 30, 10))
+        .queryParam("mode", "upsert")
+        .when().post("/warehouse-validation")
+        .then()
+        .statusCode(400);
+  }
+
+  @Test
+  public void testNdjsonBatchLargerThanTheBodyLimit() {
+    int records = Integer.getInteger("warehouse.validation.records", 400_000);
+    String prefix = "LARGE-BATCH-" + System.currentTimeMillis() + "-";
+    ByteArrayOutputStream body = new ByteArrayOutputStream(records * 100);
+    for (int i = 0; i < records; i++) {
+      body.writeBytes((record(prefix + i, "ZWOLLE-001", 30, 10) + "\n")
+          .getBytes(StandardCharsets.UTF_8));
+    }
+    byte[] bytes = body.toByteArray();
+    assertTrue(bytes.length > 32 * 1024 * 1024, "Body is only " + bytes.length + " bytes");
+
+    long started = System.nanoTime();
+    given()
+        .contentType("application/x-ndjson")
+        .body(bytes)
+        .when().post("/warehouse-validation")
+        .then()
+        .statusCode(200)
+        .body("records", is(records), "valid", is(records), "invalid", is(0));
+    long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+
+    LOGGER.infof(
+        "Validated %d warehouses (%d MB) in %d ms, upload and parsing included",
+        records, bytes.length / (1024 * 1024), elapsedMillis);
+  }
+
+  private static String record(String code, String location, int capacity, int stock) {
+    return "{\"businessUnitCode\": \"" + code + "\", \"location\": \"" + location
+        + "\", \"capacity\": " + capacity + ", \"stock\": " + stock + "}";
+  }
+}
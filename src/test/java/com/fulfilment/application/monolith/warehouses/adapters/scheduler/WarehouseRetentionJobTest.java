@@ -0,0 +1,106 @@
+package com.fulfilment.application.monolith.warehouses.adapters.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse;
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseUnit;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the retention purge and {@code WarehouseStore.remove}. The scheduler is disabled in
+ * tests, so the job is invoked directly.
+ */
+@QuarkusTest
+public class WarehouseRetentionJobTest {
+
+  @Inject WarehouseRetentionJob retentionJob;
+
+  @Inject WarehouseRepository warehouseRepository;
+
+  @Test
+  public void testPurgesOnlyWarehousesArchivedBeforeCutoffInBatches() {
+    String prefix = "RETENTION-" + System.currentTimeMillis() + "-";
+    LocalDateTime twoYearsAgo = LocalDateTime.now().minusYears(2);
+    // More than two batches of the default batch size (200)
+    createWarehouses(prefix + "OLD-", 450, twoYearsAgo);
+    createWarehouses(prefix + "RECENT-", 1, LocalDateTime.now().minusDays(1));
+    createWarehouses(prefix + "ACTIVE-", 1, null);
+
+    int purged = retentionJob.purge(LocalDateTime.now().minusYears(1));
+
+    assertTrue(purged >= 450, "Expected at least 450 purged, got " + purged);
+    assertEquals(0, warehouseRepository.count("businessUnitCode like ?1", prefix + "OLD-%"));
+    assertNotNull(warehouseRepository.findByBusinessUnitCode(prefix + "RECENT-0"));
+    assertNotNull(warehouseRepository.findByBusinessUnitCode(prefix + "ACTIVE-0"));
+
+    // Nothing left to purge
+    assertEquals(0, retentionJob.purge(LocalDateTime.now().minusYears(1)));
+  }
+
+  @Test
+  public void testRemoveDeletesWarehouse() {
+    String code = "REMOVE-" + System.currentTimeMillis();
+    createWarehouses(code, 1, LocalDateTime.now());
+
+    Warehouse warehouse = warehouseRepository.findByBusinessUnitCode(code + "0");
+    QuarkusTransaction.requiringNew().run(() -> warehouseRepository.remove(warehouse));
+
+    assertNull(warehouseRepository.findByBusinessUnitCode(code + "0"));
+  }
+
+  @Test
+  public void testRemoveArchivedPredecessorKeepsActiveSuccessor() {
+    String code = "REMOVE-REPLACED-" + System.currentTimeMillis();
+    createWarehouses(code, 1, null);
+    LocalDateTime archivedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    QuarkusTransaction.requiringNew()
+        .run(
+            () ->
+                assertTrue(
+                    warehouseRepository.replaceActive(
+                        WarehouseUnit.builder()
+                            .businessUnitCode(code + "0")
+                            .location("TILBURG-001")
+                            .capacity(20)
+                            .stock(2)
+                            .build()
+                            .activeFrom(archivedAt),
+                        archivedAt)));
+
+    Warehouse predecessor =
+        warehouseRepository
+            .find("businessUnitCode = ?1 and archivedAt is not null", code + "0")
+            .firstResult()
+            .toWarehouse();
+    QuarkusTransaction.requiringNew().run(() -> warehouseRepository.remove(predecessor));
+
+    assertEquals(1, warehouseRepository.count("businessUnitCode", code + "0"));
+    Warehouse successor = warehouseRepository.findActiveByBusinessUnitCode(code + "0");
+    assertNotNull(successor);
+    assertEquals(20, successor.capacity);
+  }
+
+  private void createWarehouses(String codePrefix, int count, LocalDateTime archivedAt) {
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              for (int i = 0; i < count; i++) {
+                DbWarehouse warehouse = new DbWarehouse();
+                warehouse.businessUnitCode = codePrefix + i;
+                warehouse.location = "TILBURG-001";
+                warehouse.capacity = 10;
+                warehouse.stock = 1;
+                warehouse.createdAt = LocalDateTime.now().minusYears(3);
+                warehouse.archivedAt = archivedAt;
+                warehouseRepository.persist(warehouse);
+              }
+            });
+  }
+}
@@ -0,0 +1,60 @@
+package com.fulfilment.application.monolith.warehouses.domain.models;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+/** What {@link WarehouseUnit.Builder} and the conversion from {@link Warehouse} reject. */
+public class WarehouseUnitTest {
+
+  @Test
+  public void testBuilderDefaultsStockAndRejectsMissingOrNegativeValues() {
+    WarehouseUnit unit =
+        WarehouseUnit.builder()
+            .businessUnitCode("MWH.1")
+            .location("ZWOLLE-001")
+            .capacity(5)
+            .build();
+    assertEquals(0, unit.stock());
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> WarehouseUnit.builder().businessUnitCode(" ").capacity(5).build());
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> WarehouseUnit.builder().businessUnitCode("MWH.1").build());
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> WarehouseUnit.builder().businessUnitCode("MWH.1").capacity(-1).build());
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> WarehouseUnit.builder().businessUnitCode("MWH.1").capacity(5).stock(-1).build());
+  }
+
+  @Test
+  public void testConversionFromMutableModel() {
+    Warehouse warehouse = new Warehouse();
+    warehouse.businessUnitCode = "MWH.1";
+    warehouse.location = "ZWOLLE-001";
+    warehouse.capacity = 40;
+    warehouse.archivedAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    IllegalArgumentException missingStock =
+        assertThrows(IllegalArgumentException.class, () -> WarehouseUnit.from(warehouse));
+    assertEquals("Warehouse stock is required", missingStock.getMessage());
+
+    warehouse.stock = 300;
+    WarehouseUnit unit = WarehouseUnit.from(warehouse);
+    assertEquals(300, unit.stock());
+    assertEquals(40, unit.capacity());
+
+    LocalDateTime now = LocalDateTime.now();
+    WarehouseUnit successor = unit.activeFrom(now);
+    assertEquals(now, successor.createdAt());
+    assertNull(successor.archivedAt());
+    assertEquals(300, successor.toWarehouse().stock);
+  }
+}
@@ -15,6 +15,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -78,6 +79,43 @@ public class ReplaceWarehouseUseCaseTest {
     assertEquals("ZWOLLE-001", updated.location);
     assertEquals(30, updated.capacity);
     assertEquals(15, updated.stock);
+    assertNull(updated.archivedAt);
+  }
+
+  /**
+   * Replacement keeps the predecessor as an archived row next to the new active one
+   */
+  @Test
+  @Transactional
+  public void testReplaceArchivesPredecessorAndCreatesSuccessor() {
+    createWarehouse("REPLACE-TEST-003", "AMSTERDAM-001", 80, 40);
+
+    Warehouse replacement = new Warehouse();
+    replacement.businessUnitCode = "REPLACE-TEST-003";
+    replacement.location = "ZWOLLE-001";
+    replacement.capacity = 30;
+    replacement.stock = 15;
+    replaceWarehouseUseCase.replace(replacement);
+
+    List<DbWarehouse> generations =
+        em.createQuery(
+                "FROM DbWarehouse WHERE businessUnitCode = :code ORDER BY id", DbWarehouse.class)
+            .setParameter("code", "REPLACE-TEST-003")
+            .getResultList();
+    assertEquals(2, generations.size());
+
+    DbWarehouse predecessor = generations.get(0);
+    assertEquals("AMSTERDAM-001", predecessor.location);
+    assertEquals(80, predecessor.capacity);
+    assertNotNull(predecessor.archivedAt);
+
+    DbWarehouse successor = generations.get(1);
+    assertEquals("ZWOLLE-001", successor.location);
+    assertNull(successor.archivedAt);
+    assertEquals(predecessor.archivedAt, successor.createdAt);
+
+    Warehouse active = warehouseRepository.findActiveByBusinessUnitCode("REPLACE-TEST-003");
+    assertEquals("ZWOLLE-001", active.location);
   }
 
   /**
@@ -0,0 +1,160 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationLoad;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseUnit;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import com.fulfilment.application.monolith.warehouses.domain.validation.WarehouseBatchVerdicts;
+import com.fulfilment.application.monolith.warehouses.domain.validation.WarehouseRule;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Batch validation against a stub store that only answers the up-front reads: the same verdicts
+ * as one-by-one validation, in input order, however the batch is split, and location loads that
+ * count only the valid warehouses.
+ */
+public class ValidateWarehouseBatchUseCaseTest {
+
+  private static final Location ZWOLLE = new Location("ZWOLLE-001", 1, 40);
+  private static final Location TILBURG = new Location("TILBURG-001", 2, 60);
+
+  private final AtomicInteger storeQueries = new AtomicInteger();
+
+  private final ValidateWarehouseBatchUseCase useCase =
+      new ValidateWarehouseBatchUseCase(
+          store(
+              Map.of("MWH.ACTIVE", true, "MWH.ARCHIVED", false),
+              List.of(active("MWH.ACTIVE", "ZWOLLE-001", 30))),
+          identifier ->
+              ZWOLLE.identifier().equals(identifier)
+                  ? ZWOLLE
+                  : TILBURG.identifier().equals(identifier) ? TILBURG : null);
+
+  @Test
+  public void testCreatesReportFirstViolationPerRecord() {
+    WarehouseBatchVerdicts verdicts =
+        useCase.validateCreates(
+            List.of(
+                unit("MWH.NEW", "ZWOLLE-001", 40, 40),
+                unit("MWH.ACTIVE", "ZWOLLE-001", 10, 0),
+                unit("MWH.STOCK", "ZWOLLE-001", 10, 11),
+                unit("MWH.NOWHERE", "NOWHERE-001", 10, 0),
+                unit("MWH.BIG", "ZWOLLE-001", 41, 0),
+                unit("MWH.NEW", "ZWOLLE-001", 10, 0)));
+
+    assertEquals(6, verdicts.size());
+    assertEquals(1, verdicts.validCount());
+    assertNull(verdicts.violation(0));
+    assertEquals(WarehouseRule.CODE_UNUSED, verdicts.violation(1));
+    assertEquals(WarehouseRule.STOCK_WITHIN_CAPACITY, verdicts.violation(2));
+    assertEquals(WarehouseRule.LOCATION_EXISTS, verdicts.violation(3));
+    assertEquals(WarehouseRule.CAPACITY_WITHIN_LOCATION, verdicts.violation(4));
+    assertEquals(WarehouseRule.CODE_UNIQUE_IN_BATCH, verdicts.violation(5));
+    assertEquals(
+        "Warehouse capacity (41) exceeds location max capacity (40)", verdicts.message(4));
+    assertEquals(2, storeQueries.get());
+
+    // Only the valid MWH.NEW is added to the active MWH.ACTIVE
+    assertEquals(
+        List.of(new LocationLoad("ZWOLLE-001", 1, 40, 1, 30, 2, 70)), verdicts.locationLoads());
+    assertFalse(verdicts.locationLoads().get(0).withinLimits());
+  }
+
+  @Test
+  public void testReplacementsNeedAnActiveCode() {
+    WarehouseBatchVerdicts verdicts =
+        useCase.validateReplacements(
+            List.of(
+                unit("MWH.ACTIVE", "ZWOLLE-001", 10, 0),
+                unit("MWH.ARCHIVED", "ZWOLLE-001", 10, 0),
+                unit("MWH.NEW", "ZWOLLE-001", 10, 0)));
+
+    assertTrue(verdicts.isValid(0));
+    assertEquals(WarehouseRule.CODE_ACTIVE, verdicts.violation(1));
+    assertEquals(WarehouseRule.CODE_EXISTS, verdicts.violation(2));
+    assertEquals(
+        List.of(new LocationLoad("ZWOLLE-001", 1, 40, 1, 30, 1, 10)), verdicts.locationLoads());
+  }
+
+  @Test
+  public void testReplacementMovingLocationLeavesTheOldOne() {
+    WarehouseBatchVerdicts verdicts =
+        useCase.validateReplacements(List.of(unit("MWH.ACTIVE", "TILBURG-001", 50, 0)));
+
+    assertEquals(
+        List.of(
+            new LocationLoad("ZWOLLE-001", 1, 40, 1, 30, 0, 0),
+            new LocationLoad("TILBURG-001", 2, 60, 0, 0, 1, 50)),
+        verdicts.locationLoads());
+    assertTrue(verdicts.locationLoads().get(1).withinLimits());
+  }
+
+  @Test
+  public void testLargeBatchIsSplitWithoutChangingVerdicts() {
+    // Every seventh record repeats the code of the one before it, every eleventh overfills
+    int size = ValidateWarehouseBatchUseCase.SLICE_SIZE * 25 + 17;
+    List<WarehouseUnit> batch = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      String code = "MWH.BATCH." + (i % 7 == 6 ? i - 1 : i);
+      batch.add(unit(code, "ZWOLLE-001", 20, i % 11 == 0 ? 21 : 20));
+    }
+
+    WarehouseBatchVerdicts verdicts = useCase.validateCreates(batch);
+
+    int invalid = 0;
+    for (int i = 0; i < size; i++) {
+      WarehouseRule expected =
+          i % 11 == 0
+              ? WarehouseRule.STOCK_WITHIN_CAPACITY
+              : i % 7 == 6 ? WarehouseRule.CODE_UNIQUE_IN_BATCH : null;
+      assertEquals(expected, verdicts.violation(i), "record " + i);
+      invalid += expected != null ? 1 : 0;
+    }
+    assertEquals(invalid, verdicts.invalidCount());
+    assertEquals(2, storeQueries.get());
+  }
+
+  private WarehouseStore store(Map<String, Boolean> codeStates, List<Warehouse> active) {
+    return (WarehouseStore)
+        Proxy.newProxyInstance(
+            WarehouseStore.class.getClassLoader(),
+            new Class<?>[] {WarehouseStore.class},
+            (proxy, method, args) -> {
+              storeQueries.incrementAndGet();
+              return switch (method.getName()) {
+                case "findBusinessUnitCodeStates" -> codeStates;
+                case "getAllActive" -> active;
+                default -> throw new AssertionError("Unexpected store call " + method.getName());
+              };
+            });
+  }
+
+  private static Warehouse active(String code, String location, int capacity) {
+    Warehouse warehouse = new Warehouse();
+    warehouse.businessUnitCode = code;
+    warehouse.location = location;
+    warehouse.capacity = capacity;
+    warehouse.stock = 0;
+    return warehouse;
+  }
+
+  private static WarehouseUnit unit(String code, String location, int capacity, int stock) {
+    return WarehouseUnit.builder()
+        .businessUnitCode(code)
+        .location(location)
+        .capacity(capacity)
+        .stock(stock)
+        .build();
+  }
+}
@@ -0,0 +1,110 @@
+package com.fulfilment.application.monolith.warehouses.domain.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseUnit;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Rule order and short-circuiting of {@link WarehouseValidator}: a cheap violation is reported
+ * without touching the store, and lookups happen at most once per subject.
+ */
+public class WarehouseValidatorTest {
+
+  private static final Location ZWOLLE = new Location("ZWOLLE-001", 1, 40);
+
+  private final AtomicInteger storeLookups = new AtomicInteger();
+  private final AtomicInteger locationLookups = new AtomicInteger();
+
+  @Test
+  public void testRulesRunCheapestFirst() {
+    assertEquals(
+        List.of(
+            WarehouseRule.STOCK_WITHIN_CAPACITY,
+            WarehouseRule.LOCATION_EXISTS,
+            WarehouseRule.CAPACITY_WITHIN_LOCATION,
+            WarehouseRule.CODE_EXISTS,
+            WarehouseRule.CODE_ACTIVE),
+        WarehouseValidator.REPLACE.rules());
+  }
+
+  @Test
+  public void testCheapViolationSkipsLookups() {
+    WarehouseSubject subject = subject(unit("ZWOLLE-001", 30, 31), null);
+
+    WarehouseValidationException exception =
+        assertThrows(
+            WarehouseValidationException.class, () -> WarehouseValidator.CREATE.validate(subject));
+
+    assertEquals("STOCK_WITHIN_CAPACITY", exception.code());
+    assertEquals("Warehouse stock (31) exceeds warehouse capacity (30)", exception.getMessage());
+    assertEquals(0, locationLookups.get());
+    assertEquals(0, storeLookups.get());
+  }
+
+  @Test
+  public void testLookupsHappenOncePerSubject() {
+    Warehouse archived = new Warehouse();
+    archived.archivedAt = LocalDateTime.now();
+    WarehouseSubject subject = subject(unit("ZWOLLE-001", 30, 10), archived);
+
+    assertEquals(WarehouseRule.CODE_ACTIVE, WarehouseValidator.REPLACE.firstViolation(subject));
+    assertEquals(WarehouseRule.CODE_UNUSED, WarehouseValidator.CREATE.firstViolation(subject));
+    assertEquals(1, locationLookups.get());
+    assertEquals(1, storeLookups.get());
+
+    assertNull(
+        WarehouseValidator.CAPACITY_AND_STOCK.firstViolation(
+            subject(unit("ZWOLLE-001", 40, 40), null)));
+  }
+
+  @Test
+  public void testMessageUsesResolvedLocation() {
+    WarehouseValidationException exception =
+        assertThrows(
+            WarehouseValidationException.class,
+            () -> WarehouseValidator.CREATE.validate(subject(unit("ZWOLLE-001", 41, 0), null)));
+
+    assertEquals(WarehouseRule.CAPACITY_WITHIN_LOCATION, exception.rule());
+    assertEquals(
+        "Warehouse capacity (41) exceeds location max capacity (40)", exception.getMessage());
+  }
+
+  private WarehouseSubject subject(WarehouseUnit warehouse, Warehouse existing) {
+    WarehouseStore store =
+        (WarehouseStore)
+            Proxy.newProxyInstance(
+                WarehouseStore.class.getClassLoader(),
+                new Class<?>[] {WarehouseStore.class},
+                (proxy, method, args) -> {
+                  assertEquals("findByBusinessUnitCode", method.getName());
+                  storeLookups.incrementAndGet();
+                  return existing;
+                });
+    return new WarehouseSubject(
+        warehouse,
+        identifier -> {
+          locationLookups.incrementAndGet();
+          return ZWOLLE.identifier().equals(identifier) ? ZWOLLE : null;
+        },
+        store);
+  }
+
+  private static WarehouseUnit unit(String location, int capacity, int stock) {
+    return WarehouseUnit.builder()
+        .businessUnitCode("MWH.RULES")
+        .location(location)
+        .capacity(capacity)
+        .stock(stock)
+        .build();
+  }
+}
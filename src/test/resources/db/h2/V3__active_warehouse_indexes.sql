@@ -0,0 +1,8 @@
+-- H2 has no partial indexes; FlywayMigrationTest uses these plain ones in place of
+-- db/postgresql/V3__active_warehouse_indexes.sql.
+
+CREATE INDEX IF NOT EXISTS warehouse_active_business_unit_code_idx
+    ON warehouse (businessUnitCode, archivedAt);
+
+CREATE INDEX IF NOT EXISTS warehouse_active_location_idx
+    ON warehouse (location, archivedAt, businessUnitCode);
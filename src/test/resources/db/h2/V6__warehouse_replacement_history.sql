@@ -0,0 +1,8 @@
+-- H2 has no partial indexes; FlywayMigrationTest uses this in place of
+-- db/postgresql/V6__warehouse_replacement_history.sql. Only one active warehouse per code is
+-- then enforced by ReplaceWarehouseUseCase alone.
+
+ALTER TABLE warehouse DROP CONSTRAINT IF EXISTS warehouse_businessUnitCode_key;
+
+CREATE INDEX IF NOT EXISTS warehouse_business_unit_code_idx
+    ON warehouse (businessUnitCode);
@@ -0,0 +1,5 @@
+-- H2 has no partial indexes; FlywayMigrationTest uses this plain one in place of
+-- db/postgresql/V7__archived_warehouse_index.sql.
+
+CREATE INDEX IF NOT EXISTS warehouse_archived_at_idx
+    ON warehouse (archivedAt);
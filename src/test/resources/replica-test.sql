@@ -0,0 +1,31 @@
+-- Stand-in read replica for ReadReplicaRoutingTest: its own rows, so a test can tell which
+-- database served a read. Runs on every new connection, hence idempotent.
+CREATE TABLE IF NOT EXISTS store (
+    id BIGINT PRIMARY KEY,
+    version BIGINT,
+    name VARCHAR(40) UNIQUE,
+    quantityProductsInStock INTEGER NOT NULL
+);
+CREATE TABLE IF NOT EXISTS product (
+    id BIGINT PRIMARY KEY,
+    name VARCHAR(40) UNIQUE,
+    description VARCHAR(255),
+    price NUMERIC(10, 2),
+    stock INTEGER NOT NULL
+);
+CREATE TABLE IF NOT EXISTS warehouse (
+    id BIGINT PRIMARY KEY,
+    version BIGINT,
+    businessUnitCode VARCHAR(255) NOT NULL,
+    location VARCHAR(255),
+    capacity INTEGER,
+    stock INTEGER,
+    createdAt TIMESTAMP(6),
+    archivedAt TIMESTAMP(6)
+);
+
+MERGE INTO store (id, version, name, quantityProductsInStock) KEY (id)
+VALUES (1001, 0, 'REPLICA-STORE', 1);
+MERGE INTO product (id, name, stock) KEY (id) VALUES (1001, 'REPLICA-PRODUCT', 1);
+MERGE INTO warehouse (id, businessUnitCode, location, capacity, stock) KEY (id)
+VALUES (1001, 'MWH.REPLICA', 'AMSTERDAM-001', 10, 1);